@@ -3,9 +3,11 @@ package core.framework.mongo.impl;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
 import core.framework.inject.Inject;
+import core.framework.mongo.BulkWriter;
 import core.framework.mongo.IntegrationTest;
 import core.framework.mongo.Mongo;
 import core.framework.mongo.MongoCollection;
+import core.framework.mongo.ParallelQuery;
 import core.framework.mongo.Query;
 import core.framework.util.Lists;
 import org.bson.Document;
@@ -146,6 +148,40 @@ class MongoIntegrationTest extends IntegrationTest {
         entities.forEach(entity -> assertThat(collection.get(entity.id)).isEmpty());
     }
 
+    @Test
+    void bulkWrite() {
+        TestMongoEntity entity = createEntity("value1", TestMongoEntity.TestEnum.VALUE1);
+        List<TestMongoEntity> entities = testEntities();
+
+        try (var writer = new BulkWriter<>(collection, 2)) {
+            entities.forEach(writer::insert);
+            writer.upsert(Filters.eq("string_field", "value3"), Updates.set("enum_field", TestMongoEntity.TestEnum.VALUE2));
+            writer.update(Filters.eq("_id", entity.id), Updates.set("string_field", "value2"));
+            writer.delete(new ObjectId());
+        }
+
+        entities.forEach(insertedEntity -> assertThat(collection.get(insertedEntity.id)).get()
+                .usingRecursiveComparison().isEqualTo(insertedEntity));
+        assertThat(collection.findOne(Filters.eq("string_field", "value3"))).get()
+                .satisfies(upsertedEntity -> assertThat(upsertedEntity.enumField).isEqualTo(TestMongoEntity.TestEnum.VALUE2));
+        assertThat(collection.get(entity.id)).get()
+                .satisfies(updatedEntity -> assertThat(updatedEntity.stringField).isEqualTo("value2"));
+    }
+
+    @Test
+    void bulkWriteInOrder() {
+        TestMongoEntity entity = createEntity("value1", TestMongoEntity.TestEnum.VALUE1);
+
+        try (var writer = new BulkWriter<>(collection, 10)) {
+            writer.delete(entity.id);
+            writer.insert(entity);
+            writer.update(Filters.eq("_id", entity.id), Updates.set("string_field", "value2"));
+            writer.delete(entity.id);
+        }
+
+        assertThat(collection.get(entity.id)).isEmpty();
+    }
+
     @Test
     void delete() {
         TestMongoEntity entity = createEntity("value1", TestMongoEntity.TestEnum.VALUE1);
@@ -184,6 +220,20 @@ class MongoIntegrationTest extends IntegrationTest {
         assertThat(returnedEntities).hasSize(2);
     }
 
+    @Test
+    void forEachParallel() {
+        List<TestMongoEntity> entities = testEntities();
+        collection.bulkInsert(entities);
+
+        var query = new ParallelQuery();
+        query.filter = Filters.eq("string_field", "string2");
+        query.ordered = true;
+        List<TestMongoEntity> returnedEntities = new ArrayList<>();
+        collection.forEach(query, returnedEntities::add);
+        assertThat(returnedEntities).hasSize(1).first()
+                .usingRecursiveComparison().isEqualTo(entities.get(1));
+    }
+
     private TestMongoEntity createEntity(String stringField, TestMongoEntity.TestEnum enumField) {
         TestMongoEntity entity = new TestMongoEntity();
         entity.id = new ObjectId();
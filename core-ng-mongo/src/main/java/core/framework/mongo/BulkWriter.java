@@ -0,0 +1,84 @@
+package core.framework.mongo;
+
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * buffer write models and flush thru MongoCollection.bulkWrite() when reaching batch size, bulkWrite() splits them into chunks by size,
+ * not thread safe, must call flush() or close() to write remaining models, e.g. try (var writer = new BulkWriter<>(collection, 10000)) { ... }
+ * models are written in order by default, unordered writes chunks in parallel, which is faster but operations on same key within batch may be applied in any order
+ *
+ * @author neo
+ */
+public final class BulkWriter<T> implements AutoCloseable {
+    private final MongoCollection<T> collection;
+    private final int batchSize;
+    private final boolean ordered;
+    private List<WriteModel<T>> models;
+    private long writes;
+
+    public BulkWriter(MongoCollection<T> collection, int batchSize) {
+        this(collection, batchSize, true);
+    }
+
+    public BulkWriter(MongoCollection<T> collection, int batchSize, boolean ordered) {
+        if (batchSize <= 0) throw new Error("batchSize must be greater than 0, batchSize=" + batchSize);
+        this.collection = collection;
+        this.batchSize = batchSize;
+        this.ordered = ordered;
+        models = new ArrayList<>(batchSize);
+    }
+
+    public void insert(T entity) {
+        add(new InsertOneModel<>(entity));
+    }
+
+    public void replace(Object id, T entity) {
+        add(new ReplaceOneModel<>(Filters.eq("_id", id), entity, new ReplaceOptions().upsert(true)));
+    }
+
+    public void update(Bson filter, Bson update) {
+        add(new UpdateManyModel<>(filter, update));
+    }
+
+    public void upsert(Bson filter, Bson update) {
+        add(new UpdateOneModel<>(filter, update, new UpdateOptions().upsert(true)));
+    }
+
+    public void delete(Object id) {
+        add(new DeleteOneModel<>(Filters.eq("_id", id)));
+    }
+
+    public void add(WriteModel<T> model) {
+        models.add(model);
+        if (models.size() >= batchSize) flush();
+    }
+
+    public void flush() {
+        if (models.isEmpty()) return;
+        collection.bulkWrite(models, ordered);
+        writes += models.size();
+        models = new ArrayList<>(batchSize);
+    }
+
+    // number of models written
+    public long writes() {
+        return writes;
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -1,5 +1,7 @@
 package core.framework.mongo;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.WriteModel;
 import org.bson.conversions.Bson;
 
 import java.util.List;
@@ -48,6 +50,8 @@ public interface MongoCollection<T> {
 
     void forEach(Query query, Consumer<T> consumer);    // mongo driver fetches results in batch
 
+    void forEach(ParallelQuery query, Consumer<T> consumer);    // scan by multiple cursors concurrently, for full collection backfill
+
     <V> List<V> aggregate(Aggregate<V> aggregate);
 
     <V> List<V> mapReduce(MapReduce<V> mapReduce);
@@ -56,6 +60,14 @@ public interface MongoCollection<T> {
 
     void bulkReplace(List<T> entities);
 
+    // mixed insert/replace/update/delete, split into chunks by count and size, written in order, stop at first failure
+    default BulkWriteResult bulkWrite(List<WriteModel<T>> models) {
+        return bulkWrite(models, true);
+    }
+
+    // if not ordered, chunks are written in parallel, models on same key within models, e.g. insert then delete, may be applied in any order
+    BulkWriteResult bulkWrite(List<WriteModel<T>> models, boolean ordered);
+
     long update(Bson filter, Bson update);
 
     boolean delete(Object id);
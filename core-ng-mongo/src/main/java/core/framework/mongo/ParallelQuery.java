@@ -0,0 +1,20 @@
+package core.framework.mongo;
+
+import com.mongodb.ReadPreference;
+import org.bson.conversions.Bson;
+
+/**
+ * scan collection by _id range segments with multiple cursors concurrently, consumer is called on caller thread,
+ * sort/skip/limit are not supported, as segments are scanned independently,
+ * split points are sampled from documents matching filter, collection is only split if estimated document count of whole collection is large enough
+ *
+ * @author neo
+ */
+public final class ParallelQuery {
+    public Bson filter;
+    public Bson projection;
+    public ReadPreference readPreference;
+    public int parallelism = 4;     // number of concurrent cursors
+    public int batchSize = 1000;    // records per batch handed to consumer thread, each cursor holds at most 2 batches in flight
+    public boolean ordered;         // deliver records in _id order, otherwise in arrival order of batches
+}
@@ -9,21 +9,46 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
+ * field path is tracked as stack of parent fields, and only built when logging unexpected type, not to concat string for every field or nested document
+ *
  * @author neo
  */
 public final class BsonReaderWrapper {      // used by generated entity decoder
     private final Logger logger = LoggerFactory.getLogger(BsonReaderWrapper.class);
     private final BsonReader reader;
+    private String[] parentFields = new String[8];
+    private int depth;
 
     public BsonReaderWrapper(BsonReader reader) {
         this.reader = reader;
     }
 
+    // called after start reading entity or map, field of root entity is empty
+    public void enterDocument(String field) {
+        if (depth == parentFields.length) parentFields = Arrays.copyOf(parentFields, depth * 2);
+        parentFields[depth++] = field;
+    }
+
+    public void exitDocument() {
+        depth--;
+    }
+
+    public String fieldPath(String field) {
+        if (depth == 0) return field;
+        var builder = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            if (i > 0) builder.append('.');
+            builder.append(parentFields[i]);
+        }
+        return builder.append('.').append(field).toString();
+    }
+
     public Integer readInteger(String field) {
         BsonType currentType = reader.getCurrentBsonType();
         if (currentType == BsonType.NULL) {
@@ -32,7 +57,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.INT32) {
             return reader.readInt32();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -46,7 +71,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.OBJECT_ID) {
             return reader.readObjectId();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -62,7 +87,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.INT64) {
             return reader.readInt64();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -76,7 +101,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.STRING) {
             return reader.readString();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -90,7 +115,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.DOUBLE) {
             return reader.readDouble();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -104,18 +129,18 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
         } else if (currentType == BsonType.BOOLEAN) {
             return reader.readBoolean();
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
     }
 
     public LocalDateTime readLocalDateTime(String field) {
-        return LocalDateTimeCodec.read(reader, field);
+        return LocalDateTimeCodec.read(reader, this, field);
     }
 
     public ZonedDateTime readZonedDateTime(String field) {
-        return ZonedDateTimeCodec.read(reader, field);
+        return ZonedDateTimeCodec.read(reader, this, field);
     }
 
     public List<?> startReadList(String field) {
@@ -125,7 +150,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
             return null;
         }
         if (currentType != BsonType.ARRAY) {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -139,7 +164,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
             return null;
         }
         if (currentType != BsonType.DOCUMENT) {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -153,7 +178,7 @@ public final class BsonReaderWrapper {      // used by generated entity decoder
             return false;
         }
         if (currentType != null && currentType != BsonType.DOCUMENT) {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", fieldPath(field), currentType);
             reader.skipValue();
             return false;
         }
@@ -34,6 +34,11 @@ public final class EntityCodecs {
         return idHandler.get(entity);
     }
 
+    @SuppressWarnings("unchecked")
+    <T> EntityCodec<T> codec(Class<T> entityClass) {
+        return (EntityCodec<T>) codecs.get(entityClass);
+    }
+
     private <T> void register(Class<T> entityClass, EntityIdHandler<T> idHandler) {
         EntityEncoderBuilder<T> builder = new EntityEncoderBuilder<>(entityClass);
         EntityEncoder<T> entityEncoder = builder.build();
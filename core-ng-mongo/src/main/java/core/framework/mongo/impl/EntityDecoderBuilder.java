@@ -14,7 +14,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static core.framework.internal.asm.Literal.type;
 import static core.framework.internal.asm.Literal.variable;
@@ -52,30 +55,40 @@ final class EntityDecoderBuilder<T> {
 
         methodName = "decode" + entityClass.getSimpleName() + (index++);
         CodeBuilder builder = new CodeBuilder();
-        builder.append("public {} {}(org.bson.BsonReader reader, {} wrapper, String parentField) {\n", type(entityClass), methodName, type(BsonReaderWrapper.class))
-               .indent(1).append("boolean hasContent = wrapper.startReadEntity(parentField);\n")
+        builder.append("public {} {}(org.bson.BsonReader reader, {} wrapper, String field) {\n", type(entityClass), methodName, type(BsonReaderWrapper.class))
+               .indent(1).append("boolean hasContent = wrapper.startReadEntity(field);\n")
                .indent(1).append("if (!hasContent) return null;\n")
                .indent(1).append("{} entity = new {}();\n", type(entityClass), type(entityClass))
+               .indent(1).append("wrapper.enterDocument(field);\n")
                .indent(1).append("reader.readStartDocument();\n")
                .indent(1).append("while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n")
                .indent(2).append("String fieldName = reader.readName();\n")
-               .indent(2).append("String fieldPath = parentField + \".\" + fieldName;\n");
+               .indent(2).append("switch (fieldName.hashCode()) {\n");
 
-        for (Field field : Classes.instanceFields(entityClass)) {
-            builder.indent(2).append("if ({}.equals(fieldName)) {\n", variable(mongoField(field)));
+        // dispatch by hash code of mongo field name, then compare only fields with same hash code
+        for (Map.Entry<Integer, List<Field>> entry : fieldsByHashCode(entityClass).entrySet()) {
+            builder.indent(3).append("case {}:\n", String.valueOf(entry.getKey()));
+            for (Field field : entry.getValue()) {
+                builder.indent(4).append("if ({}.equals(fieldName)) {\n", variable(mongoField(field)));
 
-            String variable = decodeValue(builder, field.getGenericType(), 3);
-            builder.indent(3).append("entity.{} = {};\n", field.getName(), variable);
+                String variable = decodeValue(builder, field.getGenericType(), 5, "fieldName");
+                builder.indent(5).append("entity.{} = {};\n", field.getName(), variable);
 
-            builder.indent(3).append("continue;\n")
-                   .indent(2).append("}\n");
+                builder.indent(5).append("continue;\n")
+                       .indent(4).append("}\n");
+            }
+            builder.indent(4).append("break;\n");
         }
+        builder.indent(3).append("default:\n")
+               .indent(4).append("break;\n")
+               .indent(2).append("}\n");
 
-        builder.indent(2).append("logger.warn({}, fieldPath, reader.getCurrentBsonType());\n", variable("undefined field, field={}, type={}"));
+        builder.indent(2).append("logger.warn({}, wrapper.fieldPath(fieldName), reader.getCurrentBsonType());\n", variable("undefined field, field={}, type={}"));
         builder.indent(2).append("reader.skipValue();\n");
         builder.indent(1).append("}\n");
 
         builder.indent(1).append("reader.readEndDocument();\n");
+        builder.indent(1).append("wrapper.exitDocument();\n");
         builder.indent(1).append("return entity;\n");
         builder.append('}');
         this.builder.addMethod(builder.build());
@@ -84,6 +97,14 @@ final class EntityDecoderBuilder<T> {
         return methodName;
     }
 
+    private Map<Integer, List<Field>> fieldsByHashCode(Class<?> entityClass) {
+        Map<Integer, List<Field>> fields = new TreeMap<>();
+        for (Field field : Classes.instanceFields(entityClass)) {
+            fields.computeIfAbsent(mongoField(field).hashCode(), key -> new ArrayList<>()).add(field);
+        }
+        return fields;
+    }
+
     private String mongoField(Field field) {
         if (field.isAnnotationPresent(Id.class)) return "_id";
         return field.getDeclaredAnnotation(core.framework.mongo.Field.class).name();
@@ -98,15 +119,15 @@ final class EntityDecoderBuilder<T> {
 
         methodName = "decodeMap" + keyClass.getSimpleName() + GenericTypes.rawClass(valueType).getSimpleName() + (index++);
         CodeBuilder builder = new CodeBuilder();
-        builder.append("private java.util.Map {}(org.bson.BsonReader reader, {} wrapper, String parentField) {\n", methodName, type(BsonReaderWrapper.class))
-               .indent(1).append("java.util.Map map = wrapper.startReadMap(parentField);\n")
+        builder.append("private java.util.Map {}(org.bson.BsonReader reader, {} wrapper, String field) {\n", methodName, type(BsonReaderWrapper.class))
+               .indent(1).append("java.util.Map map = wrapper.startReadMap(field);\n")
                .indent(1).append("if (map == null) return null;\n")
+               .indent(1).append("wrapper.enterDocument(field);\n")
                .indent(1).append("reader.readStartDocument();\n")
                .indent(1).append("while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n")
-               .indent(2).append("String fieldName = reader.readName();\n")
-               .indent(2).append("String fieldPath = parentField + \".\" + fieldName;\n");
+               .indent(2).append("String fieldName = reader.readName();\n");
 
-        String variable = decodeValue(builder, valueType, 2);
+        String variable = decodeValue(builder, valueType, 2, "fieldName");
 
         if (String.class.equals(keyClass)) {
             builder.indent(2).append("map.put(fieldName, {});\n", variable);
@@ -119,6 +140,7 @@ final class EntityDecoderBuilder<T> {
 
         builder.indent(1).append("}\n")
                .indent(1).append("reader.readEndDocument();\n")
+               .indent(1).append("wrapper.exitDocument();\n")
                .indent(1).append("return map;\n")
                .append('}');
         this.builder.addMethod(builder.build());
@@ -135,13 +157,13 @@ final class EntityDecoderBuilder<T> {
 
         methodName = "decodeList" + valueClass.getSimpleName() + (index++);
         CodeBuilder builder = new CodeBuilder();
-        builder.append("private java.util.List {}(org.bson.BsonReader reader, {} wrapper, String fieldPath) {\n", methodName, type(BsonReaderWrapper.class));
-        builder.indent(1).append("java.util.List list = wrapper.startReadList(fieldPath);\n")
+        builder.append("private java.util.List {}(org.bson.BsonReader reader, {} wrapper, String field) {\n", methodName, type(BsonReaderWrapper.class));
+        builder.indent(1).append("java.util.List list = wrapper.startReadList(field);\n")
                .indent(1).append("if (list == null) return null;\n");
         builder.indent(1).append("reader.readStartArray();\n");
         builder.indent(1).append("while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n");
 
-        String variable = decodeValue(builder, valueClass, 2);
+        String variable = decodeValue(builder, valueClass, 2, "field");     // list element has same field path as list
         builder.indent(2).append("list.add({});\n", variable);
 
         builder.indent(1).append("}\n");
@@ -154,39 +176,40 @@ final class EntityDecoderBuilder<T> {
         return methodName;
     }
 
-    private String decodeValue(CodeBuilder builder, Type valueType, int indent) {
+    // field is variable name of field, full path is built by wrapper only when logging unexpected type
+    private String decodeValue(CodeBuilder builder, Type valueType, int indent, String field) {
         String variable = "$" + (index++);
         builder.indent(indent);
         if (Integer.class.equals(valueType)) {
-            builder.append("java.lang.Integer {} = wrapper.readInteger(fieldPath);\n", variable);
+            builder.append("java.lang.Integer {} = wrapper.readInteger({});\n", variable, field);
         } else if (String.class.equals(valueType)) {
-            builder.append("java.lang.String {} = wrapper.readString(fieldPath);\n", variable);
+            builder.append("java.lang.String {} = wrapper.readString({});\n", variable, field);
         } else if (Long.class.equals(valueType)) {
-            builder.append("java.lang.Long {} = wrapper.readLong(fieldPath);\n", variable);
+            builder.append("java.lang.Long {} = wrapper.readLong({});\n", variable, field);
         } else if (LocalDateTime.class.equals(valueType)) {
-            builder.append("java.time.LocalDateTime {} = wrapper.readLocalDateTime(fieldPath);\n", variable);
+            builder.append("java.time.LocalDateTime {} = wrapper.readLocalDateTime({});\n", variable, field);
         } else if (ZonedDateTime.class.equals(valueType)) {
-            builder.append("java.time.ZonedDateTime {} = wrapper.readZonedDateTime(fieldPath);\n", variable);
+            builder.append("java.time.ZonedDateTime {} = wrapper.readZonedDateTime({});\n", variable, field);
         } else if (GenericTypes.rawClass(valueType).isEnum()) {
             Class<?> valueClass = GenericTypes.rawClass(valueType);
             String enumCodecVariable = registerEnumCodec(valueClass);
-            builder.append("{} {} = ({}) {}.read(reader, fieldPath);\n", type(valueClass), variable, type(valueClass), enumCodecVariable);
+            builder.append("{} {} = ({}) {}.read(reader, wrapper, {});\n", type(valueClass), variable, type(valueClass), enumCodecVariable, field);
         } else if (Double.class.equals(valueType)) {
-            builder.append("java.lang.Double {} = wrapper.readDouble(fieldPath);\n", variable);
+            builder.append("java.lang.Double {} = wrapper.readDouble({});\n", variable, field);
         } else if (ObjectId.class.equals(valueType)) {
-            builder.append("org.bson.types.ObjectId {} = wrapper.readObjectId(fieldPath);\n", variable);
+            builder.append("org.bson.types.ObjectId {} = wrapper.readObjectId({});\n", variable, field);
         } else if (Boolean.class.equals(valueType)) {
-            builder.append("java.lang.Boolean {} = wrapper.readBoolean(fieldPath);\n", variable);
+            builder.append("java.lang.Boolean {} = wrapper.readBoolean({});\n", variable, field);
         } else if (GenericTypes.isGenericList(valueType)) {
             String method = decodeListMethod(valueType);
-            builder.append("java.util.List {} = {}(reader, wrapper, fieldPath);\n", variable, method);
+            builder.append("java.util.List {} = {}(reader, wrapper, {});\n", variable, method, field);
         } else if (GenericTypes.isGenericMap(valueType)) {
             String method = decodeMapMethod(valueType);
-            builder.append("java.util.Map {} = {}(reader, wrapper, fieldPath);\n", variable, method);
+            builder.append("java.util.Map {} = {}(reader, wrapper, {});\n", variable, method, field);
         } else {
             Class<?> valueClass = GenericTypes.rawClass(valueType);
             String method = decodeEntityMethod(valueClass);
-            builder.append("{} {} = {}(reader, wrapper, fieldPath);\n", type(valueClass), variable, method);
+            builder.append("{} {} = {}(reader, wrapper, {});\n", type(valueClass), variable, method, field);
         }
         return variable;
     }
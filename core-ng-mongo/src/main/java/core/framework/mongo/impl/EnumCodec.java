@@ -49,7 +49,7 @@ public class EnumCodec<T extends Enum<T>> implements Codec<T> {
 
     @Override
     public T decode(BsonReader reader, DecoderContext context) {
-        return read(reader, reader.getCurrentName());
+        return read(reader, null, reader.getCurrentName());
     }
 
     @Override
@@ -68,7 +68,7 @@ public class EnumCodec<T extends Enum<T>> implements Codec<T> {
     }
 
     // used by EntityDecoder
-    public T read(BsonReader reader, String field) {
+    public T read(BsonReader reader, BsonReaderWrapper wrapper, String field) {
         BsonType currentType = reader.getCurrentBsonType();
         if (currentType == BsonType.NULL) {
             reader.readNull();
@@ -79,7 +79,7 @@ public class EnumCodec<T extends Enum<T>> implements Codec<T> {
             if (value == null) throw new Error(format("can not decode value to enum, enumClass={}, value={}", enumClass.getCanonicalName(), enumValue));
             return value;
         } else {
-            logger.warn("unexpected field type, field={}, type={}", field, currentType);
+            logger.warn("unexpected field type, field={}, type={}", wrapper == null ? field : wrapper.fieldPath(field), currentType);
             reader.skipValue();
             return null;
         }
@@ -0,0 +1,240 @@
+package core.framework.mongo.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import core.framework.internal.validate.Validator;
+import core.framework.log.ActionLogContext;
+import core.framework.log.Markers;
+import core.framework.util.StopWatch;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.CollectibleCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * write models are split into chunks by count and encoded size, if ordered, chunks are written one by one and stop at first failure,
+ * otherwise chunks are written unordered in parallel,
+ * documents of insert/replace are validated and encoded into RawBsonDocument once to measure size, driver sends raw bytes as is,
+ * update/delete models are not counted in size, as filter/update are small and bounded by chunk count
+ *
+ * @author neo
+ */
+final class MongoBulkWrite<T> {
+    final List<Chunk> chunks = new ArrayList<>();
+    private final Logger logger = LoggerFactory.getLogger(MongoBulkWrite.class);
+    private final MongoImpl mongo;
+    private final Validator<T> validator;
+    private final CollectibleCodec<T> codec;
+    private final boolean ordered;
+    private Chunk chunk;
+
+    MongoBulkWrite(MongoImpl mongo, Class<T> entityClass, Validator<T> validator, boolean ordered) {
+        this.mongo = mongo;
+        this.validator = validator;
+        this.ordered = ordered;
+        codec = mongo.codecs.codec(entityClass);
+    }
+
+    BulkWriteResult execute(MongoCollection<T> collection, List<WriteModel<T>> models) {
+        var watch = new StopWatch();
+        for (WriteModel<T> model : models) {
+            add(model);
+        }
+        try {
+            MongoCollection<RawBsonDocument> rawCollection = collection.withDocumentClass(RawBsonDocument.class);
+            if (ordered) return writeChunksInOrder(rawCollection);
+            return writeChunks(rawCollection, mongo.bulkWriteExecutor());
+        } finally {
+            long elapsed = watch.elapsed();
+            logger.debug("bulkWrite, collection={}, size={}, chunks={}, elapsed={}", collection.getNamespace().getCollectionName(), models.size(), chunks.size(), elapsed);
+            if (elapsed > mongo.slowOperationThresholdInNanos)
+                logger.warn(Markers.errorCode("SLOW_MONGODB"), "slow mongoDB query, elapsed={}", Duration.ofNanos(elapsed));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void add(WriteModel<T> model) {
+        WriteModel<RawBsonDocument> rawModel;
+        int bytes = 0;
+        if (model instanceof InsertOneModel) {
+            T entity = codec.generateIdIfAbsentFromDocument(((InsertOneModel<T>) model).getDocument());
+            RawBsonDocument document = encode(entity);
+            bytes = document.getByteBuffer().remaining();
+            rawModel = new InsertOneModel<>(document);
+        } else if (model instanceof ReplaceOneModel) {
+            var replaceModel = (ReplaceOneModel<T>) model;
+            RawBsonDocument document = encode(replaceModel.getReplacement());
+            bytes = document.getByteBuffer().remaining();
+            rawModel = new ReplaceOneModel<>(replaceModel.getFilter(), document, replaceModel.getReplaceOptions());
+        } else {
+            rawModel = rawModel(model);     // update and delete models don't carry document
+        }
+
+        if (chunk == null || chunk.bytes + bytes > mongo.bulkWriteChunkBytes || chunk.models.size() >= mongo.bulkWriteChunkSize) {
+            chunk = new Chunk();
+            chunks.add(chunk);
+        }
+        chunk.models.add(rawModel);
+        chunk.bytes += bytes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private WriteModel<RawBsonDocument> rawModel(WriteModel<T> model) {
+        return (WriteModel<RawBsonDocument>) (WriteModel<?>) model;
+    }
+
+    private RawBsonDocument encode(T entity) {
+        validator.validate(entity, false);
+        return new RawBsonDocument(entity, codec);
+    }
+
+    private BulkWriteResult writeChunksInOrder(MongoCollection<RawBsonDocument> collection) {
+        for (Chunk chunk : chunks) {
+            write(collection, chunk);
+            if (chunk.failure != null) break;   // following chunks are not written
+        }
+        return result();
+    }
+
+    private BulkWriteResult writeChunks(MongoCollection<RawBsonDocument> collection, ExecutorService executor) {
+        if (chunks.size() == 1) {
+            write(collection, chunks.get(0));
+        } else {
+            var futures = new CompletableFuture<?>[chunks.size()];
+            for (int i = 0; i < futures.length; i++) {
+                Chunk chunk = chunks.get(i);
+                acquire();      // bound in-flight chunks, virtual thread executor doesn't limit concurrency
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        write(collection, chunk);
+                    } finally {
+                        mongo.bulkWritePermits.release();
+                    }
+                }, executor);
+            }
+            CompletableFuture.allOf(futures).join();    // write() catches failure, so all chunks complete
+        }
+        return result();
+    }
+
+    private void acquire() {
+        try {
+            mongo.bulkWritePermits.acquire();
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for in-flight bulk write chunks", e);
+        }
+    }
+
+    private void write(MongoCollection<RawBsonDocument> collection, Chunk chunk) {
+        var watch = new StopWatch();
+        try {
+            chunk.result = collection.bulkWrite(chunk.models, new BulkWriteOptions().ordered(ordered));
+        } catch (RuntimeException e) {
+            chunk.failure = e;
+        } finally {
+            chunk.elapsed = watch.elapsed();
+        }
+    }
+
+    // track each chunk in caller thread, action log is bound to caller thread
+    // write errors of all chunks are merged into one MongoBulkWriteException with index of all models, other failures are attached to first one as suppressed
+    BulkWriteResult result() {
+        var result = new Result();
+        RuntimeException failure = null;
+        int offset = 0;     // index of result is within chunk, convert to index of all models
+        for (Chunk chunk : chunks) {
+            if (chunk.result == null && chunk.failure == null) break;   // not written in ordered mode after failure
+            int size = chunk.models.size();
+            ActionLogContext.track("mongo", chunk.elapsed, 0, chunk.result == null ? 0 : size);
+            logger.debug("bulkWrite chunk, size={}, bytes={}, elapsed={}", size, chunk.bytes, chunk.elapsed);
+            if (chunk.failure instanceof MongoBulkWriteException) {
+                result.add((MongoBulkWriteException) chunk.failure, offset);
+            } else if (chunk.failure != null) {
+                if (failure == null) failure = chunk.failure;
+                else failure.addSuppressed(chunk.failure);
+            } else {
+                result.add(chunk.result, offset);
+            }
+            offset += size;
+        }
+        MongoBulkWriteException writeException = result.writeException();
+        if (failure != null) {
+            if (writeException != null) failure.addSuppressed(writeException);
+            throw failure;
+        }
+        if (writeException != null) throw writeException;
+        return result.result();
+    }
+
+    static final class Result {
+        final List<BulkWriteUpsert> upserts = new ArrayList<>();
+        final List<BulkWriteInsert> inserts = new ArrayList<>();
+        final List<BulkWriteError> writeErrors = new ArrayList<>();
+        final Set<String> errorLabels = new HashSet<>();
+        int inserted;
+        int matched;
+        int deleted;
+        int modified;
+        WriteConcernError writeConcernError;
+        ServerAddress serverAddress;
+
+        void add(BulkWriteResult result, int offset) {
+            inserted += result.getInsertedCount();
+            matched += result.getMatchedCount();
+            deleted += result.getDeletedCount();
+            modified += result.getModifiedCount();
+            for (BulkWriteUpsert upsert : result.getUpserts()) {
+                upserts.add(new BulkWriteUpsert(upsert.getIndex() + offset, upsert.getId()));
+            }
+            for (BulkWriteInsert insert : result.getInserts()) {
+                inserts.add(new BulkWriteInsert(insert.getIndex() + offset, insert.getId()));
+            }
+        }
+
+        // models not in write errors are written, so partial result is merged as well
+        void add(MongoBulkWriteException e, int offset) {
+            add(e.getWriteResult(), offset);
+            for (BulkWriteError error : e.getWriteErrors()) {
+                writeErrors.add(new BulkWriteError(error.getCode(), error.getMessage(), error.getDetails(), error.getIndex() + offset));
+            }
+            if (writeConcernError == null) writeConcernError = e.getWriteConcernError();
+            errorLabels.addAll(e.getErrorLabels());
+            serverAddress = e.getServerAddress();
+        }
+
+        BulkWriteResult result() {
+            return BulkWriteResult.acknowledged(inserted, matched, deleted, modified, upserts, inserts);
+        }
+
+        MongoBulkWriteException writeException() {
+            if (serverAddress == null) return null;
+            return new MongoBulkWriteException(result(), writeErrors, writeConcernError, serverAddress, errorLabels);
+        }
+    }
+
+    static final class Chunk {
+        final List<WriteModel<RawBsonDocument>> models = new ArrayList<>();
+        long bytes;
+        long elapsed;
+        BulkWriteResult result;
+        RuntimeException failure;
+    }
+}
@@ -14,6 +14,7 @@ import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import core.framework.internal.validate.Validator;
@@ -26,6 +27,7 @@ import core.framework.mongo.FindOne;
 import core.framework.mongo.Get;
 import core.framework.mongo.MapReduce;
 import core.framework.mongo.MongoCollection;
+import core.framework.mongo.ParallelQuery;
 import core.framework.mongo.Query;
 import core.framework.util.Lists;
 import core.framework.util.StopWatch;
@@ -223,6 +225,11 @@ class MongoCollectionImpl<T> implements MongoCollection<T> {
         }
     }
 
+    @Override
+    public void forEach(ParallelQuery query, Consumer<T> consumer) {
+        new MongoParallelForEach<T>(query).forEach(collection(query.readPreference), consumer);
+    }
+
     @Override
     public <V> List<V> aggregate(Aggregate<V> aggregate) {
         var watch = new StopWatch();
@@ -342,6 +349,12 @@ class MongoCollectionImpl<T> implements MongoCollection<T> {
         }
     }
 
+    @Override
+    public BulkWriteResult bulkWrite(List<WriteModel<T>> models, boolean ordered) {
+        if (models == null || models.isEmpty()) throw new Error("models must not be empty");
+        return new MongoBulkWrite<>(mongo, entityClass, validator, ordered).execute(collection(), models);
+    }
+
     @Override
     public boolean delete(Object id) {
         var watch = new StopWatch();
@@ -9,6 +9,7 @@ import com.mongodb.client.model.IndexOptions;
 import com.mongodb.connection.ClusterSettings;
 import com.mongodb.connection.ConnectionPoolSettings;
 import com.mongodb.connection.SocketSettings;
+import core.framework.internal.async.ThreadPools;
 import core.framework.internal.log.LogManager;
 import core.framework.mongo.Collection;
 import core.framework.mongo.Mongo;
@@ -22,6 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,6 +32,7 @@ import java.util.concurrent.TimeUnit;
  */
 public class MongoImpl implements Mongo {
     final EntityCodecs codecs = new EntityCodecs();
+    final Semaphore bulkWritePermits = new Semaphore(4);    // max in-flight chunks of all bulk writes
     private final Logger logger = LoggerFactory.getLogger(MongoImpl.class);
     private final ConnectionPoolSettings.Builder connectionPoolSettings = ConnectionPoolSettings.builder()
                                                                                                 .maxConnectionIdleTime(Duration.ofMinutes(30).toMillis(), TimeUnit.MILLISECONDS);
@@ -37,8 +41,11 @@ public class MongoImpl implements Mongo {
     long timeoutInMs = Duration.ofSeconds(15).toMillis();
     long slowOperationThresholdInNanos = Duration.ofSeconds(5).toNanos();
     CodecRegistry registry;
+    int bulkWriteChunkSize = 1000;
+    long bulkWriteChunkBytes = 8_000_000;        // max message size of mongo is 48M, smaller chunks to write in parallel
     private MongoClient mongoClient;
     private MongoDatabase database;
+    private ExecutorService bulkWriteExecutor;
 
     public void initialize() {
         registry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry(), codecs.codecRegistry());
@@ -80,6 +87,9 @@ public class MongoImpl implements Mongo {
 
         logger.info("close mongodb client, uri={}", uri);
         mongoClient.close();
+        synchronized (this) {
+            if (bulkWriteExecutor != null) bulkWriteExecutor.shutdown();
+        }
     }
 
     @Override
@@ -151,6 +161,14 @@ public class MongoImpl implements Mongo {
         return database().getCollection(collection.name(), entityClass);
     }
 
+    // create on first bulk write, most apps don't write in bulk
+    ExecutorService bulkWriteExecutor() {
+        synchronized (this) {
+            if (bulkWriteExecutor == null) bulkWriteExecutor = ThreadPools.cachedThreadPool(4, "mongo-bulk-write-");
+            return bulkWriteExecutor;
+        }
+    }
+
     private MongoDatabase database() {
         if (database == null) initialize(); // lazy init for dev/test, initialize will be called in startup hook on server env
         return database;
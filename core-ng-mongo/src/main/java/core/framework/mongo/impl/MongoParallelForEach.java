@@ -0,0 +1,275 @@
+package core.framework.mongo.impl;
+
+import com.mongodb.MongoCursorNotFoundException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import core.framework.internal.async.ThreadPools;
+import core.framework.log.ActionLogContext;
+import core.framework.mongo.ParallelQuery;
+import core.framework.util.StopWatch;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * split collection into _id range segments by $sample-ed split points, each segment is scanned by one cursor on worker thread,
+ * records are handed to caller thread in batches thru bounded queues, so memory is bounded if consumer is slower than cursors,
+ * for ordered delivery, each segment has its own queue and is consumed in _id order, otherwise all segments share one queue,
+ * with ordered delivery, cursors of later segments wait until previous segments are consumed, which may exceed cursor idle timeout on server,
+ * so cursor reads raw documents to track last _id, and reopens rest of segment after last _id if cursor was killed
+ *
+ * @author neo
+ */
+final class MongoParallelForEach<T> {
+    private static final long MIN_SPLIT_DOCUMENTS = 100_000;    // not worth to split small collection
+    private static final int SEGMENTS_PER_THREAD = 4;           // more segments than threads to balance uneven segments
+    private static final int SAMPLES_PER_SEGMENT = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(MongoParallelForEach.class);
+    private final ParallelQuery query;
+    private final LongAdder mongoTook = new LongAdder();
+    private final LongAdder returnedDocs = new LongAdder();
+    private volatile boolean cancelled;
+
+    MongoParallelForEach(ParallelQuery query) {
+        if (query.parallelism <= 0) throw new Error("query.parallelism must be greater than 0, parallelism=" + query.parallelism);
+        if (query.batchSize <= 0) throw new Error("query.batchSize must be greater than 0, batchSize=" + query.batchSize);
+        this.query = query;
+    }
+
+    void forEach(MongoCollection<T> collection, Consumer<T> consumer) {
+        var watch = new StopWatch();
+        List<Bson> filters = List.of();
+        ExecutorService executor = ThreadPools.cachedThreadPool(query.parallelism, "mongo-for-each-");
+        try {
+            Codec<T> codec = collection.getCodecRegistry().get(collection.getDocumentClass());
+            MongoCollection<RawBsonDocument> rawCollection = collection.withDocumentClass(RawBsonDocument.class);
+            filters = filters(splitPoints(collection));
+            scan(filters, (filter, lastId) -> cursor(rawCollection, filter, lastId), document -> document.decode(codec), consumer, executor);
+        } finally {
+            cancelled = true;
+            executor.shutdownNow();
+            long elapsed = watch.elapsed();
+            long mongoTook = this.mongoTook.sum();
+            int returnedDocs = (int) this.returnedDocs.sum();
+            ActionLogContext.track("mongo", mongoTook, returnedDocs, 0);
+            logger.debug("forEach, collection={}, filter={}, projection={}, parallelism={}, segments={}, ordered={}, returnedDocs={}, mongoTook={}, elapsed={}",
+                    collection.getNamespace().getCollectionName(),
+                    new BsonLogParam(query.filter, collection.getCodecRegistry()),
+                    new BsonLogParam(query.projection, collection.getCodecRegistry()),
+                    query.parallelism,
+                    filters.size(),
+                    query.ordered,
+                    returnedDocs,
+                    mongoTook,
+                    elapsed);
+        }
+    }
+
+    // estimated count is of whole collection, samples are taken from documents matching filter, so segments are balanced by matched documents
+    private List<Object> splitPoints(MongoCollection<T> collection) {
+        if (query.parallelism == 1 || collection.estimatedDocumentCount() < MIN_SPLIT_DOCUMENTS) return List.of();
+        int segments = query.parallelism * SEGMENTS_PER_THREAD;
+        List<Bson> pipeline = new ArrayList<>(3);
+        if (query.filter != null) pipeline.add(Aggregates.match(query.filter));
+        pipeline.add(Aggregates.sample(segments * SAMPLES_PER_SEGMENT));
+        pipeline.add(Aggregates.project(Projections.include("_id")));
+        List<Object> ids = new ArrayList<>(segments * SAMPLES_PER_SEGMENT);
+        collection.withDocumentClass(Document.class)
+                  .aggregate(pipeline)
+                  .forEach(document -> ids.add(document.get("_id")));
+        return splitPoints(ids, segments);
+    }
+
+    // pick evenly distributed ids from sorted samples, return empty if ids are not comparable with each other
+    List<Object> splitPoints(List<Object> ids, int segments) {
+        if (ids.isEmpty()) return List.of();
+        Class<?> idClass = ids.get(0).getClass();
+        if (!Comparable.class.isAssignableFrom(idClass)) return List.of();
+        for (Object id : ids) {
+            if (!idClass.equals(id.getClass())) return List.of();
+        }
+        ids.sort(null);
+        List<Object> points = new ArrayList<>(segments);
+        for (int i = 1; i < segments; i++) {
+            Object point = ids.get(i * ids.size() / segments);
+            if (points.isEmpty() || !points.get(points.size() - 1).equals(point)) points.add(point);
+        }
+        return points;
+    }
+
+    List<Bson> filters(List<Object> splitPoints) {
+        Bson filter = query.filter == null ? new BsonDocument() : query.filter;
+        if (splitPoints.isEmpty()) return List.of(filter);
+        List<Bson> filters = new ArrayList<>(splitPoints.size() + 1);
+        Object lower = null;
+        for (Object point : splitPoints) {
+            filters.add(segmentFilter(filter, lower, point));
+            lower = point;
+        }
+        filters.add(segmentFilter(filter, lower, null));
+        return filters;
+    }
+
+    private Bson segmentFilter(Bson filter, Object lower, Object upper) {
+        List<Bson> conditions = new ArrayList<>(3);
+        conditions.add(filter);
+        if (lower != null) conditions.add(Filters.gte("_id", lower));
+        if (upper != null) conditions.add(Filters.lt("_id", upper));
+        return Filters.and(conditions);
+    }
+
+    private Iterator<RawBsonDocument> cursor(MongoCollection<RawBsonDocument> collection, Bson filter, Object lastId) {
+        Bson segmentFilter = lastId == null ? filter : Filters.and(filter, Filters.gt("_id", lastId));
+        FindIterable<RawBsonDocument> mongoQuery = collection.find(segmentFilter).batchSize(query.batchSize);
+        if (query.projection != null) mongoQuery.projection(query.projection);
+        if (query.ordered) mongoQuery.sort(Sorts.ascending("_id"));
+        return mongoQuery.iterator();
+    }
+
+    void scan(List<Bson> filters, BiFunction<Bson, Object, Iterator<RawBsonDocument>> cursors, Function<RawBsonDocument, T> decoder, Consumer<T> consumer, ExecutorService executor) {
+        BlockingQueue<Batch<T>> sharedQueue = query.ordered ? null : new ArrayBlockingQueue<>(query.parallelism * 2);
+        List<BlockingQueue<Batch<T>>> queues = new ArrayList<>(filters.size());
+        for (Bson filter : filters) {
+            BlockingQueue<Batch<T>> queue = query.ordered ? new ArrayBlockingQueue<>(2) : sharedQueue;
+            queues.add(queue);
+            executor.execute(() -> scanSegment(filter, cursors, decoder, queue));    // segments start in order, so first segment is always running for ordered delivery
+        }
+        if (query.ordered) {
+            for (BlockingQueue<Batch<T>> queue : queues) {
+                consume(queue, 1, consumer);
+            }
+        } else {
+            consume(sharedQueue, filters.size(), consumer);
+        }
+    }
+
+    private void scanSegment(Bson filter, BiFunction<Bson, Object, Iterator<RawBsonDocument>> cursors, Function<RawBsonDocument, T> decoder, BlockingQueue<Batch<T>> queue) {
+        Throwable failure = null;
+        try {
+            readSegment(filter, cursors, decoder, queue);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            put(queue, new Batch<>(null, true, failure));
+        }
+    }
+
+    private void readSegment(Bson filter, BiFunction<Bson, Object, Iterator<RawBsonDocument>> cursors, Function<RawBsonDocument, T> decoder, BlockingQueue<Batch<T>> queue) {
+        List<T> records = new ArrayList<>(query.batchSize);
+        Object lastId = null;
+        Object reopenedId = null;
+        while (true) {
+            Iterator<RawBsonDocument> cursor = cursors.apply(filter, lastId);
+            try {
+                long start = System.nanoTime();
+                while (!cancelled && cursor.hasNext()) {
+                    RawBsonDocument document = cursor.next();
+                    records.add(decoder.apply(document));
+                    if (query.ordered) lastId = document.get("_id");
+                    if (records.size() >= query.batchSize) {
+                        mongoTook.add(System.nanoTime() - start);
+                        if (!put(queue, new Batch<>(records, false, null))) return;
+                        records = new ArrayList<>(query.batchSize);
+                        start = System.nanoTime();
+                    }
+                }
+                mongoTook.add(System.nanoTime() - start);
+                break;
+            } catch (MongoCursorNotFoundException e) {
+                // only reopen if made progress since last reopen, _id could be excluded by projection
+                if (lastId == null || lastId.equals(reopenedId)) throw e;
+                logger.warn("cursor was killed while waiting for consumer, reopen segment after last _id, lastId={}", lastId, e);
+                reopenedId = lastId;
+            } finally {
+                close(cursor);
+            }
+        }
+        if (!records.isEmpty()) put(queue, new Batch<>(records, false, null));
+    }
+
+    // close cursor even if worker was interrupted, otherwise cursor is left on server until timeout
+    private void close(Iterator<RawBsonDocument> cursor) {
+        if (!(cursor instanceof Closeable)) return;
+        boolean interrupted = Thread.interrupted();
+        try {
+            ((Closeable) cursor).close();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to close cursor, error={}", e.getMessage(), e);
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    // return false if cancelled, e.g. consumer failed
+    private boolean put(BlockingQueue<Batch<T>> queue, Batch<T> batch) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void consume(BlockingQueue<Batch<T>> queue, int segments, Consumer<T> consumer) {
+        int completedSegments = 0;
+        while (completedSegments < segments) {
+            Batch<T> batch = take(queue);
+            if (batch.end) {
+                completedSegments++;
+                if (batch.failure instanceof RuntimeException) throw (RuntimeException) batch.failure;
+                if (batch.failure instanceof Error) throw (Error) batch.failure;
+            } else {
+                returnedDocs.add(batch.records.size());
+                for (T record : batch.records) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    private Batch<T> take(BlockingQueue<Batch<T>> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for next batch", e);
+        }
+    }
+
+    static final class Batch<T> {
+        final List<T> records;
+        final boolean end;          // last batch of segment
+        final Throwable failure;
+
+        Batch(List<T> records, boolean end, Throwable failure) {
+            this.records = records;
+            this.end = end;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package core.framework.mongo.impl;
+
+import org.bson.json.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class BsonReaderWrapperTest {
+    @Test
+    void fieldPath() {
+        var wrapper = new BsonReaderWrapper(new JsonReader("{}"));
+        assertThat(wrapper.fieldPath("field")).isEqualTo("field");
+
+        wrapper.enterDocument("");      // root entity
+        assertThat(wrapper.fieldPath("field")).isEqualTo(".field");
+
+        for (int i = 0; i < 10; i++) {
+            wrapper.enterDocument("child" + i);
+        }
+        assertThat(wrapper.fieldPath("field")).isEqualTo(".child0.child1.child2.child3.child4.child5.child6.child7.child8.child9.field");
+
+        for (int i = 0; i < 10; i++) {
+            wrapper.exitDocument();
+        }
+        assertThat(wrapper.fieldPath("field")).isEqualTo(".field");
+    }
+}
@@ -1,5 +1,7 @@
 package core.framework.mongo.impl;
 
+import core.framework.mongo.Field;
+import core.framework.mongo.Id;
 import core.framework.util.ClasspathResources;
 import org.bson.json.JsonReader;
 import org.bson.types.ObjectId;
@@ -50,4 +52,27 @@ class EntityDecoderBuilderTest {
         assertThat(entity.enumMapField).containsEntry(TestEnum.ITEM1, "V1");
         assertThat(entity.mapListField).containsOnly(entry("K1", List.of("V1")), entry("K2", List.of("V2", "V3")));
     }
+
+    @Test
+    void decodeFieldsWithSameHashCode() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        TestHashCodeEntity entity = new EntityDecoderBuilder<>(TestHashCodeEntity.class).build()
+            .decode(new JsonReader("{\"_id\": {\"$oid\": \"5627b47d54b92d03adb9e9cf\"}, \"Aa\": \"a\", \"BB\": \"b\"}"));
+
+        assertThat(entity.id).isEqualTo(new ObjectId("5627b47d54b92d03adb9e9cf"));
+        assertThat(entity.aa).isEqualTo("a");
+        assertThat(entity.bb).isEqualTo("b");
+    }
+
+    public static class TestHashCodeEntity {
+        @Id
+        public ObjectId id;
+
+        @Field(name = "Aa")
+        public String aa;
+
+        @Field(name = "BB")
+        public String bb;
+    }
 }
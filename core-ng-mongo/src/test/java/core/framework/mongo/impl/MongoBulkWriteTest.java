@@ -0,0 +1,167 @@
+package core.framework.mongo.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import core.framework.internal.validate.ValidationException;
+import core.framework.internal.validate.Validator;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class MongoBulkWriteTest {
+    private MongoImpl mongo;
+    private MongoBulkWrite<TestEntity> bulkWrite;
+
+    @BeforeEach
+    void createMongoBulkWrite() {
+        mongo = new MongoImpl();
+        mongo.codecs.registerEntity(TestEntity.class);
+        bulkWrite = new MongoBulkWrite<>(mongo, TestEntity.class, Validator.of(TestEntity.class), false);
+    }
+
+    @Test
+    void addWithChunkSize() {
+        mongo.bulkWriteChunkSize = 2;
+        for (int i = 0; i < 3; i++) {
+            bulkWrite.add(new InsertOneModel<>(entity()));
+        }
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+
+        assertThat(bulkWrite.chunks).hasSize(2);
+        assertThat(bulkWrite.chunks.get(0).models).hasSize(2)
+                .allSatisfy(model -> assertThat(((RawBsonDocument) ((InsertOneModel<?>) model).getDocument()).get("_id")).isInstanceOf(BsonObjectId.class));
+        assertThat(bulkWrite.chunks.get(1).models).hasSize(2);
+    }
+
+    @Test
+    void addWithChunkBytes() {
+        mongo.bulkWriteChunkBytes = 100;
+        TestEntity entity = entity();
+        entity.id = new ObjectId();
+        entity.stringField = "x".repeat(60);
+        bulkWrite.add(new ReplaceOneModel<>(Filters.eq("_id", entity.id), entity));
+        bulkWrite.add(new ReplaceOneModel<>(Filters.eq("_id", entity.id), entity));
+
+        assertThat(bulkWrite.chunks).hasSize(2);
+        assertThat(bulkWrite.chunks.get(0).bytes).isGreaterThan(60);
+    }
+
+    @Test
+    void addWithInvalidEntity() {
+        assertThatThrownBy(() -> bulkWrite.add(new InsertOneModel<>(new TestEntity())))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void result() {
+        mongo.bulkWriteChunkSize = 2;
+        for (int i = 0; i < 4; i++) {
+            bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        }
+        var id = new BsonObjectId(new ObjectId());
+        bulkWrite.chunks.get(0).result = BulkWriteResult.acknowledged(0, 1, 1, 1, List.of(), List.of());
+        bulkWrite.chunks.get(1).result = BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(new BulkWriteUpsert(1, id)), List.of());
+
+        BulkWriteResult result = bulkWrite.result();
+        assertThat(result.getDeletedCount()).isEqualTo(2);
+        assertThat(result.getModifiedCount()).isEqualTo(1);
+        assertThat(result.getUpserts()).singleElement().satisfies(upsert -> {
+            assertThat(upsert.getIndex()).isEqualTo(3);
+            assertThat(upsert.getId()).isEqualTo(id);
+        });
+    }
+
+    @Test
+    void resultWithFailure() {
+        mongo.bulkWriteChunkSize = 1;
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.chunks.get(0).failure = new MongoException("failed");
+        bulkWrite.chunks.get(1).result = BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of());
+
+        assertThatThrownBy(() -> bulkWrite.result())
+                .isInstanceOf(MongoException.class)
+                .hasMessage("failed");
+    }
+
+    @Test
+    void resultInOrderWithFailure() {
+        bulkWrite = new MongoBulkWrite<>(mongo, TestEntity.class, Validator.of(TestEntity.class), true);
+        mongo.bulkWriteChunkSize = 1;
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.chunks.get(0).result = BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of());
+        bulkWrite.chunks.get(1).failure = new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)), null, new ServerAddress(), Set.of());
+        // last chunk is not written after failure
+
+        assertThatThrownBy(() -> bulkWrite.result())
+                .isInstanceOf(MongoBulkWriteException.class)
+                .satisfies(e -> {
+                    var exception = (MongoBulkWriteException) e;
+                    assertThat(exception.getWriteErrors()).extracting(BulkWriteError::getIndex).containsExactly(1);
+                    assertThat(exception.getWriteResult().getDeletedCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void resultWithWriteErrors() {
+        mongo.bulkWriteChunkSize = 2;
+        for (int i = 0; i < 4; i++) {
+            bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        }
+        bulkWrite.chunks.get(0).failure = new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null, new ServerAddress(), Set.of());
+        bulkWrite.chunks.get(1).failure = new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)), null, new ServerAddress(), Set.of());
+
+        assertThatThrownBy(() -> bulkWrite.result())
+                .isInstanceOf(MongoBulkWriteException.class)
+                .satisfies(e -> {
+                    var exception = (MongoBulkWriteException) e;
+                    assertThat(exception.getWriteErrors()).extracting(BulkWriteError::getIndex).containsExactly(1, 2);
+                    assertThat(exception.getWriteResult().getDeletedCount()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void resultWithMultipleFailures() {
+        mongo.bulkWriteChunkSize = 1;
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.add(new DeleteOneModel<>(Filters.eq("_id", new ObjectId())));
+        bulkWrite.chunks.get(0).failure = new MongoException("failed1");
+        bulkWrite.chunks.get(1).failure = new MongoException("failed2");
+
+        assertThatThrownBy(() -> bulkWrite.result())
+                .isInstanceOf(MongoException.class)
+                .hasMessage("failed1")
+                .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("failed2"));
+    }
+
+    private TestEntity entity() {
+        var entity = new TestEntity();
+        entity.intField = 1;
+        return entity;
+    }
+}
@@ -0,0 +1,197 @@
+package core.framework.mongo.impl;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCursorNotFoundException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.model.Filters;
+import core.framework.mongo.ParallelQuery;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class MongoParallelForEachTest {
+    private ParallelQuery query;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void createParallelQuery() {
+        query = new ParallelQuery();
+        query.parallelism = 2;
+        query.batchSize = 3;
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void validate() {
+        query.batchSize = 0;
+        assertThatThrownBy(() -> new MongoParallelForEach<String>(query))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("batchSize must be greater than 0");
+    }
+
+    @Test
+    void splitPoints() {
+        var forEach = new MongoParallelForEach<String>(query);
+        List<Object> ids = IntStream.range(0, 20).map(i -> 19 - i).boxed().collect(Collectors.toList());
+        assertThat(forEach.splitPoints(ids, 4)).containsExactly(5, 10, 15);
+
+        assertThat(forEach.splitPoints(new ArrayList<>(List.of(1, 1, 1, 2)), 4)).containsExactly(1, 2);
+        assertThat(forEach.splitPoints(new ArrayList<>(List.of(1, "2")), 2)).isEmpty();
+        assertThat(forEach.splitPoints(new ArrayList<>(), 2)).isEmpty();
+    }
+
+    @Test
+    void filters() {
+        var forEach = new MongoParallelForEach<String>(query);
+        assertThat(forEach.filters(List.of())).containsExactly(new BsonDocument());
+
+        query.filter = Filters.eq("field", 1);
+        List<Bson> filters = forEach.filters(List.of(10, 20));
+        assertThat(filters).hasSize(3);
+        assertThat(filters.get(0).toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()).toJson()).contains("\"$lt\": 10").doesNotContain("$gte");
+        assertThat(filters.get(1).toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()).toJson()).contains("\"$gte\": 10", "\"$lt\": 20");
+        assertThat(filters.get(2).toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()).toJson()).contains("\"$gte\": 20").doesNotContain("$lt");
+    }
+
+    @Test
+    void scanOrdered() {
+        query.ordered = true;
+        Map<Bson, List<RawBsonDocument>> segments = segments();
+        List<String> records = new ArrayList<>();
+        new MongoParallelForEach<String>(query).scan(new ArrayList<>(segments.keySet()), (filter, lastId) -> new TestCursor(segments.get(filter), lastId, Long.MAX_VALUE), this::name, records::add, executor);
+
+        assertThat(records).containsExactly("a1", "a2", "a3", "a4", "b1", "c1", "c2");
+    }
+
+    @Test
+    void scanOrderedWithSlowConsumer() {
+        query.ordered = true;
+        query.batchSize = 1;
+        Map<Bson, List<RawBsonDocument>> segments = segments();
+        List<TestCursor> cursors = new ArrayList<>();
+        List<String> records = new ArrayList<>();
+        // cursor is killed if idle more than 20ms, later segments wait for consumer to finish first segment
+        new MongoParallelForEach<String>(query).scan(new ArrayList<>(segments.keySet()), (filter, lastId) -> {
+            var cursor = new TestCursor(segments.get(filter), lastId, 20);
+            synchronized (cursors) {
+                cursors.add(cursor);
+            }
+            return cursor;
+        }, this::name, record -> {
+            sleep(30);
+            records.add(record);
+        }, executor);
+
+        assertThat(records).containsExactly("a1", "a2", "a3", "a4", "b1", "c1", "c2");
+        assertThat(cursors).hasSizeGreaterThan(3).allMatch(cursor -> cursor.closed);
+    }
+
+    @Test
+    void scanUnordered() {
+        Map<Bson, List<RawBsonDocument>> segments = segments();
+        List<String> records = new ArrayList<>();
+        new MongoParallelForEach<String>(query).scan(new ArrayList<>(segments.keySet()), (filter, lastId) -> new TestCursor(segments.get(filter), lastId, Long.MAX_VALUE), this::name, records::add, executor);
+
+        assertThat(records).containsExactlyInAnyOrder("a1", "a2", "a3", "a4", "b1", "c1", "c2");
+    }
+
+    @Test
+    void scanWithFailure() {
+        Map<Bson, List<RawBsonDocument>> segments = segments();
+        List<Bson> filters = new ArrayList<>(segments.keySet());
+        var forEach = new MongoParallelForEach<String>(query);
+        assertThatThrownBy(() -> forEach.scan(filters, (filter, lastId) -> {
+            if (filter == filters.get(1)) throw new IllegalStateException("failed to scan");
+            return new TestCursor(segments.get(filter), lastId, Long.MAX_VALUE);
+        }, this::name, record -> {
+        }, executor))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failed to scan");
+    }
+
+    private Map<Bson, List<RawBsonDocument>> segments() {
+        var id = new AtomicInteger();
+        Map<Bson, List<RawBsonDocument>> segments = new LinkedHashMap<>();
+        segments.put(Filters.eq("segment", 1), List.of(document(id, "a1"), document(id, "a2"), document(id, "a3"), document(id, "a4")));
+        segments.put(Filters.eq("segment", 2), List.of(document(id, "b1")));
+        segments.put(Filters.eq("segment", 3), List.of(document(id, "c1"), document(id, "c2")));
+        return segments;
+    }
+
+    private RawBsonDocument document(AtomicInteger id, String name) {
+        var document = new BsonDocument("_id", new BsonInt32(id.incrementAndGet())).append("name", new BsonString(name));
+        return new RawBsonDocument(document, new BsonDocumentCodec());
+    }
+
+    private String name(RawBsonDocument document) {
+        return document.getString("name").getValue();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new Error(e);
+        }
+    }
+
+    // simulate server cursor, which is killed if idle longer than timeout
+    static final class TestCursor implements Iterator<RawBsonDocument>, Closeable {
+        private final Iterator<RawBsonDocument> iterator;
+        private final long idleTimeoutInMillis;
+        private long lastAccessTime = System.currentTimeMillis();
+        volatile boolean closed;
+
+        TestCursor(List<RawBsonDocument> documents, Object lastId, long idleTimeoutInMillis) {
+            iterator = documents.stream().filter(document -> lastId == null || document.getInt32("_id").getValue() > ((BsonInt32) lastId).getValue()).iterator();
+            this.idleTimeoutInMillis = idleTimeoutInMillis;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long now = System.currentTimeMillis();
+            if (now - lastAccessTime > idleTimeoutInMillis) throw new MongoCursorNotFoundException(1, new ServerAddress());
+            lastAccessTime = now;
+            return iterator.hasNext();
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -1,227 +1,281 @@
 public class EntityDecoder$TestEntity implements core.framework.mongo.impl.EntityDecoder {
     private final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(core.framework.mongo.impl.EntityDecoder.class);
 
-    private final core.framework.mongo.impl.EnumCodec enumCodecTestEnum19 = new core.framework.mongo.impl.EnumCodec(core.framework.mongo.impl.TestEnum.class);
+    private final core.framework.mongo.impl.EnumCodec enumCodecTestEnum6 = new core.framework.mongo.impl.EnumCodec(core.framework.mongo.impl.TestEnum.class);
 
-    private java.util.List decodeListString10(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String fieldPath) {
-        java.util.List list = wrapper.startReadList(fieldPath);
+    private java.util.List decodeListTestEnum8(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.List list = wrapper.startReadList(field);
         if (list == null) return null;
         reader.readStartArray();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
-            java.lang.String $11 = wrapper.readString(fieldPath);
-            list.add($11);
+            core.framework.mongo.impl.TestEnum $9 = (core.framework.mongo.impl.TestEnum) enumCodecTestEnum6.read(reader, wrapper, field);
+            list.add($9);
         }
         reader.readEndArray();
         return list;
     }
 
-    private java.util.Map decodeMapStringString13(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        java.util.Map map = wrapper.startReadMap(parentField);
-        if (map == null) return null;
+    public core.framework.mongo.impl.TestChildEntity decodeTestChildEntity3(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        boolean hasContent = wrapper.startReadEntity(field);
+        if (!hasContent) return null;
+        core.framework.mongo.impl.TestChildEntity entity = new core.framework.mongo.impl.TestChildEntity();
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            java.lang.String $14 = wrapper.readString(fieldPath);
-            map.put(fieldName, $14);
+            switch (fieldName.hashCode()) {
+                case -2139180509:
+                    if ("boolean_field".equals(fieldName)) {
+                        java.lang.Boolean $4 = wrapper.readBoolean(fieldName);
+                        entity.booleanField = $4;
+                        continue;
+                    }
+                    break;
+                case -1103293380:
+                    if ("enum_field".equals(fieldName)) {
+                        core.framework.mongo.impl.TestEnum $5 = (core.framework.mongo.impl.TestEnum) enumCodecTestEnum6.read(reader, wrapper, fieldName);
+                        entity.enumField = $5;
+                        continue;
+                    }
+                    break;
+                case 867404823:
+                    if ("enum_list_field".equals(fieldName)) {
+                        java.util.List $7 = decodeListTestEnum8(reader, wrapper, fieldName);
+                        entity.enumListField = $7;
+                        continue;
+                    }
+                    break;
+                case 1932787458:
+                    if ("ref_id_field".equals(fieldName)) {
+                        org.bson.types.ObjectId $10 = wrapper.readObjectId(fieldName);
+                        entity.refId = $10;
+                        continue;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            logger.warn("undefined field, field={}, type={}", wrapper.fieldPath(fieldName), reader.getCurrentBsonType());
+            reader.skipValue();
         }
         reader.readEndDocument();
-        return map;
-    }
-
-    private java.util.List decodeListTestEnum21(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String fieldPath) {
-        java.util.List list = wrapper.startReadList(fieldPath);
-        if (list == null) return null;
-        reader.readStartArray();
-        while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
-            core.framework.mongo.impl.TestEnum $22 = (core.framework.mongo.impl.TestEnum) enumCodecTestEnum19.read(reader, fieldPath);
-            list.add($22);
-        }
-        reader.readEndArray();
-        return list;
+        wrapper.exitDocument();
+        return entity;
     }
 
-    public core.framework.mongo.impl.TestChildEntity decodeTestChildEntity16(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        boolean hasContent = wrapper.startReadEntity(parentField);
-        if (!hasContent) return null;
-        core.framework.mongo.impl.TestChildEntity entity = new core.framework.mongo.impl.TestChildEntity();
+    private java.util.Map decodeMapStringTestChildEntity16(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.Map map = wrapper.startReadMap(field);
+        if (map == null) return null;
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            if ("boolean_field".equals(fieldName)) {
-                java.lang.Boolean $17 = wrapper.readBoolean(fieldPath);
-                entity.booleanField = $17;
-                continue;
-            }
-            if ("enum_field".equals(fieldName)) {
-                core.framework.mongo.impl.TestEnum $18 = (core.framework.mongo.impl.TestEnum) enumCodecTestEnum19.read(reader, fieldPath);
-                entity.enumField = $18;
-                continue;
-            }
-            if ("enum_list_field".equals(fieldName)) {
-                java.util.List $20 = decodeListTestEnum21(reader, wrapper, fieldPath);
-                entity.enumListField = $20;
-                continue;
-            }
-            if ("ref_id_field".equals(fieldName)) {
-                org.bson.types.ObjectId $23 = wrapper.readObjectId(fieldPath);
-                entity.refId = $23;
-                continue;
-            }
-            logger.warn("undefined field, field={}, type={}", fieldPath, reader.getCurrentBsonType());
-            reader.skipValue();
+            core.framework.mongo.impl.TestChildEntity $17 = decodeTestChildEntity3(reader, wrapper, fieldName);
+            map.put(fieldName, $17);
         }
         reader.readEndDocument();
-        return entity;
+        wrapper.exitDocument();
+        return map;
     }
 
-    private java.util.List decodeListTestChildEntity25(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String fieldPath) {
-        java.util.List list = wrapper.startReadList(fieldPath);
+    private java.util.List decodeListString21(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.List list = wrapper.startReadList(field);
         if (list == null) return null;
         reader.readStartArray();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
-            core.framework.mongo.impl.TestChildEntity $26 = decodeTestChildEntity16(reader, wrapper, fieldPath);
-            list.add($26);
+            java.lang.String $22 = wrapper.readString(field);
+            list.add($22);
         }
         reader.readEndArray();
         return list;
     }
 
-    private java.util.Map decodeMapStringTestChildEntity28(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        java.util.Map map = wrapper.startReadMap(parentField);
+    private java.util.Map decodeMapStringString25(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.Map map = wrapper.startReadMap(field);
         if (map == null) return null;
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            core.framework.mongo.impl.TestChildEntity $29 = decodeTestChildEntity16(reader, wrapper, fieldPath);
-            map.put(fieldName, $29);
+            java.lang.String $26 = wrapper.readString(fieldName);
+            map.put(fieldName, $26);
         }
         reader.readEndDocument();
+        wrapper.exitDocument();
         return map;
     }
 
-    private java.util.Map decodeMapTestEnumString32(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        java.util.Map map = wrapper.startReadMap(parentField);
+    private java.util.Map decodeMapStringList29(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.Map map = wrapper.startReadMap(field);
         if (map == null) return null;
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            java.lang.String $33 = wrapper.readString(fieldPath);
-            map.put(enumCodecTestEnum19.decodeMapKey(fieldName), $33);
+            java.util.List $30 = decodeListString21(reader, wrapper, fieldName);
+            map.put(fieldName, $30);
         }
         reader.readEndDocument();
+        wrapper.exitDocument();
         return map;
     }
 
-    private java.util.Map decodeMapStringList35(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        java.util.Map map = wrapper.startReadMap(parentField);
+    private java.util.List decodeListTestChildEntity32(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.List list = wrapper.startReadList(field);
+        if (list == null) return null;
+        reader.readStartArray();
+        while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
+            core.framework.mongo.impl.TestChildEntity $33 = decodeTestChildEntity3(reader, wrapper, field);
+            list.add($33);
+        }
+        reader.readEndArray();
+        return list;
+    }
+
+    private java.util.Map decodeMapTestEnumString35(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        java.util.Map map = wrapper.startReadMap(field);
         if (map == null) return null;
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            java.util.List $36 = decodeListString10(reader, wrapper, fieldPath);
-            map.put(fieldName, $36);
+            java.lang.String $36 = wrapper.readString(fieldName);
+            map.put(enumCodecTestEnum6.decodeMapKey(fieldName), $36);
         }
         reader.readEndDocument();
+        wrapper.exitDocument();
         return map;
     }
 
-    public core.framework.mongo.impl.TestEntity decodeTestEntity0(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String parentField) {
-        boolean hasContent = wrapper.startReadEntity(parentField);
+    public core.framework.mongo.impl.TestEntity decodeTestEntity0(org.bson.BsonReader reader, core.framework.mongo.impl.BsonReaderWrapper wrapper, String field) {
+        boolean hasContent = wrapper.startReadEntity(field);
         if (!hasContent) return null;
         core.framework.mongo.impl.TestEntity entity = new core.framework.mongo.impl.TestEntity();
+        wrapper.enterDocument(field);
         reader.readStartDocument();
         while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {
             String fieldName = reader.readName();
-            String fieldPath = parentField + "." + fieldName;
-            if ("_id".equals(fieldName)) {
-                org.bson.types.ObjectId $1 = wrapper.readObjectId(fieldPath);
-                entity.id = $1;
-                continue;
-            }
-            if ("int_field".equals(fieldName)) {
-                java.lang.Integer $2 = wrapper.readInteger(fieldPath);
-                entity.intField = $2;
-                continue;
-            }
-            if ("double_field".equals(fieldName)) {
-                java.lang.Double $3 = wrapper.readDouble(fieldPath);
-                entity.doubleField = $3;
-                continue;
-            }
-            if ("long_field".equals(fieldName)) {
-                java.lang.Long $4 = wrapper.readLong(fieldPath);
-                entity.longField = $4;
-                continue;
-            }
-            if ("boolean_field".equals(fieldName)) {
-                java.lang.Boolean $5 = wrapper.readBoolean(fieldPath);
-                entity.booleanField = $5;
-                continue;
-            }
-            if ("date_field".equals(fieldName)) {
-                java.time.LocalDateTime $6 = wrapper.readLocalDateTime(fieldPath);
-                entity.dateField = $6;
-                continue;
-            }
-            if ("zoned_date_time_field".equals(fieldName)) {
-                java.time.ZonedDateTime $7 = wrapper.readZonedDateTime(fieldPath);
-                entity.zonedDateTimeField = $7;
-                continue;
-            }
-            if ("string_field".equals(fieldName)) {
-                java.lang.String $8 = wrapper.readString(fieldPath);
-                entity.stringField = $8;
-                continue;
-            }
-            if ("list_field".equals(fieldName)) {
-                java.util.List $9 = decodeListString10(reader, wrapper, fieldPath);
-                entity.listField = $9;
-                continue;
-            }
-            if ("map_field".equals(fieldName)) {
-                java.util.Map $12 = decodeMapStringString13(reader, wrapper, fieldPath);
-                entity.mapField = $12;
-                continue;
-            }
-            if ("child".equals(fieldName)) {
-                core.framework.mongo.impl.TestChildEntity $15 = decodeTestChildEntity16(reader, wrapper, fieldPath);
-                entity.child = $15;
-                continue;
-            }
-            if ("children".equals(fieldName)) {
-                java.util.List $24 = decodeListTestChildEntity25(reader, wrapper, fieldPath);
-                entity.children = $24;
-                continue;
-            }
-            if ("children_map".equals(fieldName)) {
-                java.util.Map $27 = decodeMapStringTestChildEntity28(reader, wrapper, fieldPath);
-                entity.childrenMap = $27;
-                continue;
-            }
-            if ("null_child".equals(fieldName)) {
-                core.framework.mongo.impl.TestChildEntity $30 = decodeTestChildEntity16(reader, wrapper, fieldPath);
-                entity.nullChild = $30;
-                continue;
-            }
-            if ("enum_map_field".equals(fieldName)) {
-                java.util.Map $31 = decodeMapTestEnumString32(reader, wrapper, fieldPath);
-                entity.enumMapField = $31;
-                continue;
-            }
-            if ("map_list_field".equals(fieldName)) {
-                java.util.Map $34 = decodeMapStringList35(reader, wrapper, fieldPath);
-                entity.mapListField = $34;
-                continue;
+            switch (fieldName.hashCode()) {
+                case -2139180509:
+                    if ("boolean_field".equals(fieldName)) {
+                        java.lang.Boolean $1 = wrapper.readBoolean(fieldName);
+                        entity.booleanField = $1;
+                        continue;
+                    }
+                    break;
+                case -2034918300:
+                    if ("null_child".equals(fieldName)) {
+                        core.framework.mongo.impl.TestChildEntity $2 = decodeTestChildEntity3(reader, wrapper, fieldName);
+                        entity.nullChild = $2;
+                        continue;
+                    }
+                    break;
+                case -480448974:
+                    if ("zoned_date_time_field".equals(fieldName)) {
+                        java.time.ZonedDateTime $11 = wrapper.readZonedDateTime(fieldName);
+                        entity.zonedDateTimeField = $11;
+                        continue;
+                    }
+                    break;
+                case -336200329:
+                    if ("long_field".equals(fieldName)) {
+                        java.lang.Long $12 = wrapper.readLong(fieldName);
+                        entity.longField = $12;
+                        continue;
+                    }
+                    break;
+                case 94650:
+                    if ("_id".equals(fieldName)) {
+                        org.bson.types.ObjectId $13 = wrapper.readObjectId(fieldName);
+                        entity.id = $13;
+                        continue;
+                    }
+                    break;
+                case 94631196:
+                    if ("child".equals(fieldName)) {
+                        core.framework.mongo.impl.TestChildEntity $14 = decodeTestChildEntity3(reader, wrapper, fieldName);
+                        entity.child = $14;
+                        continue;
+                    }
+                    break;
+                case 178920220:
+                    if ("children_map".equals(fieldName)) {
+                        java.util.Map $15 = decodeMapStringTestChildEntity16(reader, wrapper, fieldName);
+                        entity.childrenMap = $15;
+                        continue;
+                    }
+                    break;
+                case 319859882:
+                    if ("int_field".equals(fieldName)) {
+                        java.lang.Integer $18 = wrapper.readInteger(fieldName);
+                        entity.intField = $18;
+                        continue;
+                    }
+                    break;
+                case 411194188:
+                    if ("string_field".equals(fieldName)) {
+                        java.lang.String $19 = wrapper.readString(fieldName);
+                        entity.stringField = $19;
+                        continue;
+                    }
+                    break;
+                case 695354905:
+                    if ("list_field".equals(fieldName)) {
+                        java.util.List $20 = decodeListString21(reader, wrapper, fieldName);
+                        entity.listField = $20;
+                        continue;
+                    }
+                    break;
+                case 862386473:
+                    if ("date_field".equals(fieldName)) {
+                        java.time.LocalDateTime $23 = wrapper.readLocalDateTime(fieldName);
+                        entity.dateField = $23;
+                        continue;
+                    }
+                    break;
+                case 1243231319:
+                    if ("map_field".equals(fieldName)) {
+                        java.util.Map $24 = decodeMapStringString25(reader, wrapper, fieldName);
+                        entity.mapField = $24;
+                        continue;
+                    }
+                    break;
+                case 1376821004:
+                    if ("double_field".equals(fieldName)) {
+                        java.lang.Double $27 = wrapper.readDouble(fieldName);
+                        entity.doubleField = $27;
+                        continue;
+                    }
+                    break;
+                case 1394427100:
+                    if ("map_list_field".equals(fieldName)) {
+                        java.util.Map $28 = decodeMapStringList29(reader, wrapper, fieldName);
+                        entity.mapListField = $28;
+                        continue;
+                    }
+                    break;
+                case 1659526655:
+                    if ("children".equals(fieldName)) {
+                        java.util.List $31 = decodeListTestChildEntity32(reader, wrapper, fieldName);
+                        entity.children = $31;
+                        continue;
+                    }
+                    break;
+                case 1941517977:
+                    if ("enum_map_field".equals(fieldName)) {
+                        java.util.Map $34 = decodeMapTestEnumString35(reader, wrapper, fieldName);
+                        entity.enumMapField = $34;
+                        continue;
+                    }
+                    break;
+                default:
+                    break;
             }
-            logger.warn("undefined field, field={}, type={}", fieldPath, reader.getCurrentBsonType());
+            logger.warn("undefined field, field={}, type={}", wrapper.fieldPath(fieldName), reader.getCurrentBsonType());
             reader.skipValue();
         }
         reader.readEndDocument();
+        wrapper.exitDocument();
         return entity;
     }
 
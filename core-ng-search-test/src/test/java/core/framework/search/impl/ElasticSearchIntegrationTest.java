@@ -2,6 +2,8 @@ package core.framework.search.impl;
 
 import core.framework.inject.Inject;
 import core.framework.json.JSON;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
 import core.framework.search.ClusterStateResponse;
 import core.framework.search.ElasticSearch;
 import core.framework.search.ElasticSearchType;
@@ -95,6 +97,42 @@ class ElasticSearchIntegrationTest extends IntegrationTest {
         assertThat(results).hasSize(30);
     }
 
+    @Test
+    void forEachWithSlices() {
+        documentType.bulkIndex(range(0, 30).mapToObj(i -> document(String.valueOf(i), String.valueOf(i), i, 0, null, null))
+                .collect(toMap(document -> document.id, identity())));
+        elasticSearch.refreshIndex("document");
+
+        List<TestDocument> results = Lists.newArrayList();
+
+        ForEach<TestDocument> forEach = new ForEach<>();
+        forEach.query = matchAllQuery();
+        forEach.limit = 7;
+        forEach.slices = 3;
+        forEach.consumer = results::add;
+
+        documentType.forEach(forEach);
+
+        assertThat(results).hasSize(30).extracting(document -> document.id).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void bulkIndexer() {
+        var options = new BulkIndexerOptions();
+        options.batchSize = 7;
+        try (BulkIndexer<TestDocument> indexer = documentType.bulkIndexer(options)) {
+            for (int i = 0; i < 30; i++) {
+                indexer.index(String.valueOf(i), document(String.valueOf(i), String.valueOf(i), i, 0, null, null));
+            }
+        }
+        elasticSearch.refreshIndex("document");
+
+        var request = new SearchRequest();
+        request.query = matchAllQuery();
+        request.trackTotalHits();
+        assertThat(documentType.search(request).totalHits).isEqualTo(30);
+    }
+
     @Test
     void complete() {
         documentType.bulkIndex(Map.of("1", document("1", "HashSet", 1, 0, null, null),
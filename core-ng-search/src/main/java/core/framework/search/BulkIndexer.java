@@ -0,0 +1,17 @@
+package core.framework.search;
+
+/**
+ * buffer documents and send bulk requests in background when reaching batch size or bytes, index() blocks if all concurrent requests are in flight,
+ * not thread safe, must call flush() or close() to send remaining documents, e.g. try (BulkIndexer<T> indexer = type.bulkIndexer(options)) { ... }
+ *
+ * @author neo
+ */
+public interface BulkIndexer<T> extends AutoCloseable {
+    void index(String id, T source);
+
+    // send buffered documents and wait until all in-flight requests complete
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,20 @@
+package core.framework.search;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * @author neo
+ */
+public class BulkIndexerOptions {
+    @Nullable
+    public String index;
+    public int batchSize = 1000;                        // send bulk request when number of documents reaches batch size
+    public long batchBytes = 5 * 1024 * 1024;           // or estimated request size reaches batch bytes
+    public int concurrentRequests = 2;                  // max in-flight bulk requests
+    public int maxRetries = 3;                          // only retry items rejected with 429 (too many requests)
+    public Duration retryBackoff = Duration.ofMillis(100);  // doubled on each retry
+    @Nullable
+    public BiConsumer<String, String> failureHandler;   // called with (id, failure message) on caller thread, if null, throw SearchException on failure
+}
@@ -45,6 +45,12 @@ public interface ElasticSearchType<T> {
         bulkIndex(request);
     }
 
+    BulkIndexer<T> bulkIndexer(BulkIndexerOptions options);
+
+    default BulkIndexer<T> bulkIndexer() {
+        return bulkIndexer(new BulkIndexerOptions());
+    }
+
     void update(UpdateRequest<T> request);
 
     default void update(String id, String script, @Nullable Map<String, Object> params) {
@@ -16,5 +16,6 @@ public class ForEach<T> {
     public QueryBuilder query = QueryBuilders.matchAllQuery();
     public Duration scrollTimeout = Duration.ofMinutes(1);
     public Integer limit = 1000;
+    public int slices = 1;      // split into sliced scrolls run in parallel, each slice on its own worker thread, consumer is still called on caller thread
     public Consumer<T> consumer;
 }
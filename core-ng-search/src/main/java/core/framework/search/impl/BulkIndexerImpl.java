@@ -0,0 +1,197 @@
+package core.framework.search.impl;
+
+import core.framework.internal.json.JSONWriter;
+import core.framework.internal.validate.Validator;
+import core.framework.log.ActionLogContext;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
+import core.framework.search.SearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * bulk requests are sent on worker threads, completed bulks are handed back thru queue,
+ * action log tracking and failure handling are processed on caller thread
+ *
+ * @author neo
+ */
+final class BulkIndexerImpl<T> implements BulkIndexer<T> {
+    private final Logger logger = LoggerFactory.getLogger(BulkIndexerImpl.class);
+    private final ElasticSearchImpl elasticSearch;
+    private final ExecutorService executor;
+    private final String index;
+    private final BulkIndexerOptions options;
+    private final JSONWriter<T> writer;
+    private final Validator<T> validator;
+    private final long slowOperationThresholdInNanos;
+    private final Semaphore permits;
+    private final Queue<Bulk> completedBulks = new ConcurrentLinkedQueue<>();
+    private BulkRequest request = new BulkRequest();
+
+    BulkIndexerImpl(ElasticSearchImpl elasticSearch, String index, BulkIndexerOptions options, JSONWriter<T> writer, Validator<T> validator) {
+        this.elasticSearch = elasticSearch;
+        executor = elasticSearch.bulkIndexExecutor();
+        slowOperationThresholdInNanos = elasticSearch.slowOperationThreshold.toNanos();
+        this.index = index;
+        this.options = options;
+        this.writer = writer;
+        this.validator = validator;
+        permits = new Semaphore(options.concurrentRequests);
+    }
+
+    @Override
+    public void index(String id, T source) {
+        validator.validate(source, false);
+        request.add(new IndexRequest(index).id(id).source(writer.toJSON(source), XContentType.JSON));
+        if (request.numberOfActions() >= options.batchSize || request.estimatedSizeInBytes() >= options.batchBytes) send();
+        processCompletedBulks();
+    }
+
+    @Override
+    public void flush() {
+        if (request.numberOfActions() > 0) send();
+        acquire(options.concurrentRequests);
+        permits.release(options.concurrentRequests);
+        processCompletedBulks();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void send() {
+        BulkRequest request = this.request;
+        this.request = new BulkRequest();
+        acquire(1);     // backpressure, block caller if all concurrent requests are in flight
+        executor.execute(() -> execute(request));
+    }
+
+    void execute(BulkRequest request) {
+        var bulk = new Bulk(request.numberOfActions());
+        long start = System.nanoTime();
+        try {
+            BulkRequest pendingRequest = request;
+            for (int attempts = 0; ; attempts++) {
+                BulkRequest retryRequest = bulk(pendingRequest, attempts, bulk);
+                if (retryRequest.numberOfActions() == 0) break;
+                bulk.retries += retryRequest.numberOfActions();
+                Thread.sleep(options.retryBackoff.toMillis() << attempts);
+                pendingRequest = retryRequest;
+            }
+        } catch (IOException e) {
+            bulk.failure = new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            bulk.failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bulk.failure = new SearchException("interrupted during waiting for retry");
+        } finally {
+            bulk.elapsed = System.nanoTime() - start;
+            completedBulks.add(bulk);
+            permits.release();
+        }
+    }
+
+    // return items to retry, which are rejected with 429
+    private BulkRequest bulk(BulkRequest request, int attempts, Bulk bulk) throws IOException {
+        var retryRequest = new BulkRequest();
+        boolean retry = attempts < options.maxRetries;
+        BulkResponse response;
+        try {
+            response = elasticSearch.bulk(request);
+        } catch (ElasticsearchStatusException e) {
+            if (!retry || e.status() != RestStatus.TOO_MANY_REQUESTS) throw e;
+            return request;
+        }
+        bulk.esTook += response.getTook().nanos();
+        for (BulkItemResponse item : response.getItems()) {
+            if (!item.isFailed()) continue;
+            if (retry && item.status() == RestStatus.TOO_MANY_REQUESTS) {
+                retryRequest.add(request.requests().get(item.getItemId()));
+            } else {
+                bulk.failures.add(new Failure(item.getId(), item.getFailureMessage()));
+            }
+        }
+        return retryRequest;
+    }
+
+    void processCompletedBulks() {
+        while (true) {
+            Bulk bulk = completedBulks.poll();
+            if (bulk == null) break;
+            int failures = bulk.failure == null ? bulk.failures.size() : bulk.size;
+            ActionLogContext.track("elasticsearch", bulk.elapsed, 0, bulk.size - failures);
+            logger.debug("bulkIndex, index={}, size={}, retries={}, failures={}, esTook={}, elapsed={}", index, bulk.size, bulk.retries, failures, bulk.esTook, bulk.elapsed);
+            if (bulk.elapsed > slowOperationThresholdInNanos) {
+                logger.warn(errorCode("SLOW_ES"), "slow elasticsearch operation, elapsed={}", Duration.ofNanos(bulk.elapsed));
+            }
+            if (bulk.failure instanceof RuntimeException) throw (RuntimeException) bulk.failure;
+            if (bulk.failure instanceof Error) throw (Error) bulk.failure;
+            if (failures > 0) handleFailures(bulk.failures);
+        }
+    }
+
+    private void handleFailures(List<Failure> failures) {
+        if (options.failureHandler == null) {
+            var builder = new StringBuilder("failed to index documents, index=").append(index);
+            for (Failure failure : failures) {
+                builder.append("\n[").append(failure.id).append("]: ").append(failure.message);
+            }
+            throw new SearchException(builder.toString());
+        }
+        for (Failure failure : failures) {
+            options.failureHandler.accept(failure.id, failure.message);
+        }
+    }
+
+    private void acquire(int permits) {
+        try {
+            this.permits.acquire(permits);
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for in-flight bulk requests", e);
+        }
+    }
+
+    static final class Bulk {
+        final int size;
+        final List<Failure> failures = new ArrayList<>();
+        int retries;
+        long esTook;
+        long elapsed;
+        Throwable failure;      // whole bulk request failed
+
+        Bulk(int size) {
+            this.size = size;
+        }
+    }
+
+    static final class Failure {
+        final String id;
+        final String message;
+
+        Failure(String id, String message) {
+            this.id = id;
+            this.message = message;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package core.framework.search.impl;
 
+import core.framework.internal.async.ThreadPools;
 import core.framework.json.JSON;
 import core.framework.search.ClusterStateResponse;
 import core.framework.search.ElasticSearch;
@@ -7,6 +8,8 @@ import core.framework.search.ElasticSearchType;
 import core.framework.util.StopWatch;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.client.IndicesClient;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
@@ -29,6 +32,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -42,6 +46,7 @@ public class ElasticSearchImpl implements ElasticSearch {
     public HttpHost[] hosts;
     public int maxResultWindow = 10000;
     private RestHighLevelClient client;
+    private ExecutorService bulkIndexExecutor;
 
     // initialize will be called in startup hook, so no need to synchronize
     public void initialize() {
@@ -69,6 +74,9 @@ public class ElasticSearchImpl implements ElasticSearch {
 
         logger.info("close elasticsearch client, host={}", hosts[0]);
         client.close();
+        synchronized (this) {
+            if (bulkIndexExecutor != null) bulkIndexExecutor.shutdown();
+        }
     }
 
     // this is generally used in es migration, to create index or update mapping if index exists, be aware of mapping fields can't be deleted in es, but can be removed from mapping json
@@ -161,6 +169,18 @@ public class ElasticSearchImpl implements ElasticSearch {
         }
     }
 
+    BulkResponse bulk(BulkRequest request) throws IOException {
+        return client().bulk(request, RequestOptions.DEFAULT);
+    }
+
+    // create on first bulk indexer, most apps don't index in bulk
+    ExecutorService bulkIndexExecutor() {
+        synchronized (this) {
+            if (bulkIndexExecutor == null) bulkIndexExecutor = ThreadPools.cachedThreadPool(4, "elasticsearch-bulk-index-");
+            return bulkIndexExecutor;
+        }
+    }
+
     RestHighLevelClient client() {
         if (client == null) initialize();
         return client;
@@ -8,6 +8,8 @@ import core.framework.log.ActionLogContext;
 import core.framework.search.AnalyzeRequest;
 import core.framework.search.BulkDeleteRequest;
 import core.framework.search.BulkIndexRequest;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
 import core.framework.search.CompleteRequest;
 import core.framework.search.DeleteRequest;
 import core.framework.search.ElasticSearchType;
@@ -241,6 +243,13 @@ public final class ElasticSearchTypeImpl<T> implements ElasticSearchType<T> {
         }
     }
 
+    @Override
+    public BulkIndexer<T> bulkIndexer(BulkIndexerOptions options) {
+        validate(options);
+        String index = options.index == null ? this.index : options.index;
+        return new BulkIndexerImpl<>(elasticSearch, index, options, writer, validator);
+    }
+
     @Override
     public void update(UpdateRequest<T> request) {
         var watch = new StopWatch();
@@ -327,13 +336,17 @@ public final class ElasticSearchTypeImpl<T> implements ElasticSearchType<T> {
 
     @Override
     public void forEach(ForEach<T> forEach) {
+        validate(forEach);
+        String index = forEach.index == null ? this.index : forEach.index;
+        if (forEach.slices > 1) {
+            new SlicedScroll<>(elasticSearch, reader, index, forEach).forEach();
+            return;
+        }
         var watch = new StopWatch();
         long start = System.nanoTime();
         long esClientTook = 0;
         long esServerTook = 0;
-        validate(forEach);
         TimeValue keepAlive = TimeValue.timeValueNanos(forEach.scrollTimeout.toNanos());
-        String index = forEach.index == null ? this.index : forEach.index;
         int totalHits = 0;
         try {
             var searchRequest = searchRequest(index).scroll(keepAlive);
@@ -378,6 +391,15 @@ public final class ElasticSearchTypeImpl<T> implements ElasticSearchType<T> {
         if (forEach.query == null) throw new Error("forEach.query must not be null");
         if (forEach.scrollTimeout == null) throw new Error("forEach.scrollTimeout must not be null");
         if (forEach.limit == null || forEach.limit <= 0) throw new Error("forEach.limit must not be null or less than one");
+        if (forEach.slices <= 0) throw new Error("forEach.slices must be greater than 0, slices=" + forEach.slices);
+    }
+
+    private void validate(BulkIndexerOptions options) {
+        if (options.batchSize <= 0) throw new Error("options.batchSize must be greater than 0, batchSize=" + options.batchSize);
+        if (options.batchBytes <= 0) throw new Error("options.batchBytes must be greater than 0, batchBytes=" + options.batchBytes);
+        if (options.concurrentRequests <= 0) throw new Error("options.concurrentRequests must be greater than 0, concurrentRequests=" + options.concurrentRequests);
+        if (options.maxRetries < 0) throw new Error("options.maxRetries must not be less than 0, maxRetries=" + options.maxRetries);
+        if (options.retryBackoff == null) throw new Error("options.retryBackoff must not be null");
     }
 
     private void checkSlowOperation(long elapsed) {
@@ -0,0 +1,166 @@
+package core.framework.search.impl;
+
+import core.framework.internal.async.ThreadPools;
+import core.framework.internal.json.JSONReader;
+import core.framework.log.ActionLogContext;
+import core.framework.search.ForEach;
+import core.framework.util.StopWatch;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Requests;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.slice.SliceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.elasticsearch.client.Requests.searchRequest;
+
+/**
+ * each slice is scrolled on its own worker thread, hits are parsed on worker and handed to caller thread in pages thru bounded queue,
+ * so memory is bounded if consumer is slower than scrolls
+ *
+ * @author neo
+ */
+final class SlicedScroll<T> {
+    private final Logger logger = LoggerFactory.getLogger(SlicedScroll.class);
+    private final ElasticSearchImpl elasticSearch;
+    private final JSONReader<T> reader;
+    private final String index;
+    private final ForEach<T> forEach;
+    private final TimeValue keepAlive;
+    private final BlockingQueue<Page<T>> queue;
+    private final LongAdder esServerTook = new LongAdder();
+    private volatile boolean cancelled;
+
+    SlicedScroll(ElasticSearchImpl elasticSearch, JSONReader<T> reader, String index, ForEach<T> forEach) {
+        this.elasticSearch = elasticSearch;
+        this.reader = reader;
+        this.index = index;
+        this.forEach = forEach;
+        keepAlive = TimeValue.timeValueNanos(forEach.scrollTimeout.toNanos());
+        queue = new ArrayBlockingQueue<>(forEach.slices * 2);
+    }
+
+    void forEach() {
+        var watch = new StopWatch();
+        int totalHits = 0;
+        ExecutorService executor = ThreadPools.cachedThreadPool(forEach.slices, "elasticsearch-for-each-");
+        try {
+            for (int i = 0; i < forEach.slices; i++) {
+                int slice = i;
+                executor.execute(() -> scroll(slice));
+            }
+            int completedSlices = 0;
+            while (completedSlices < forEach.slices) {
+                Page<T> page = take();
+                if (page.end) {
+                    completedSlices++;
+                    if (page.failure instanceof RuntimeException) throw (RuntimeException) page.failure;
+                    if (page.failure instanceof Error) throw (Error) page.failure;
+                } else {
+                    totalHits += page.documents.size();
+                    for (T document : page.documents) {
+                        forEach.consumer.accept(document);
+                    }
+                }
+            }
+        } finally {
+            cancelled = true;
+            executor.shutdownNow();
+            long elapsed = watch.elapsed();
+            ActionLogContext.track("elasticsearch", elapsed, totalHits, 0);
+            logger.debug("forEach, index={}, slices={}, totalHits={}, esServerTook={}, elapsed={}", index, forEach.slices, totalHits, esServerTook.sum(), elapsed);
+        }
+    }
+
+    private void scroll(int slice) {
+        Throwable failure = null;
+        String scrollId = null;
+        try {
+            var searchRequest = searchRequest(index).scroll(keepAlive);
+            searchRequest.source().query(forEach.query).sort(SortBuilders.fieldSort("_doc")).size(forEach.limit).slice(new SliceBuilder(slice, forEach.slices));
+            logger.debug("forEach, index={}, slice={}, request={}", index, slice, searchRequest);
+            SearchResponse response = elasticSearch.client().search(searchRequest, RequestOptions.DEFAULT);
+            while (!cancelled) {
+                scrollId = response.getScrollId();
+                esServerTook.add(response.getTook().nanos());
+                if (response.getFailedShards() > 0) logger.warn("some shard failed, slice={}, response={}", slice, response);
+
+                SearchHit[] hits = response.getHits().getHits();
+                if (hits.length == 0) break;
+                List<T> documents = new ArrayList<>(hits.length);
+                for (SearchHit hit : hits) {
+                    documents.add(reader.fromJSON(BytesReference.toBytes(hit.getSourceRef())));
+                }
+                if (!put(new Page<>(documents, false, null))) return;
+
+                response = elasticSearch.client().scroll(Requests.searchScrollRequest(scrollId).scroll(keepAlive), RequestOptions.DEFAULT);
+            }
+        } catch (IOException e) {
+            failure = new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            if (scrollId != null) clearScroll(scrollId);
+            put(new Page<>(null, true, failure));
+        }
+    }
+
+    // release search context early rather than waiting for keep alive timeout
+    private void clearScroll(String scrollId) {
+        try {
+            var request = new ClearScrollRequest();
+            request.addScrollId(scrollId);
+            elasticSearch.client().clearScroll(request, RequestOptions.DEFAULT);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to clear scroll, error={}", e.getMessage(), e);
+        }
+    }
+
+    // return false if cancelled, e.g. consumer failed
+    private boolean put(Page<T> page) {
+        try {
+            while (!queue.offer(page, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Page<T> take() {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for next page", e);
+        }
+    }
+
+    static final class Page<T> {
+        final List<T> documents;
+        final boolean end;          // last page of slice
+        final Throwable failure;
+
+        Page(List<T> documents, boolean end, Throwable failure) {
+            this.documents = documents;
+            this.end = end;
+            this.failure = failure;
+        }
+    }
+}
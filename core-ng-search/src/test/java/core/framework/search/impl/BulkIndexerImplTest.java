@@ -0,0 +1,181 @@
+package core.framework.search.impl;
+
+import core.framework.internal.json.JSONMapper;
+import core.framework.internal.validate.Validator;
+import core.framework.search.BulkIndexerOptions;
+import core.framework.search.SearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkIndexerImplTest {
+    @Mock
+    ElasticSearchImpl elasticSearch;
+    private ExecutorService executor;
+    private BulkIndexerOptions options;
+
+    @BeforeEach
+    void createBulkIndexerImpl() {
+        executor = Executors.newFixedThreadPool(2);
+        elasticSearch.slowOperationThreshold = Duration.ofSeconds(5);
+        when(elasticSearch.bulkIndexExecutor()).thenReturn(executor);
+        options = new BulkIndexerOptions();
+        options.batchSize = 2;
+        options.retryBackoff = Duration.ZERO;
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void indexWithBatchSize() throws IOException {
+        when(elasticSearch.bulk(any())).thenAnswer(invocation -> response(invocation.getArgument(0), null));
+
+        try (var indexer = indexer()) {
+            for (int i = 0; i < 5; i++) {
+                indexer.index(String.valueOf(i), document(String.valueOf(i)));
+            }
+        }
+
+        ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(elasticSearch, times(3)).bulk(captor.capture());
+        assertThat(captor.getAllValues()).extracting(BulkRequest::numberOfActions).containsExactlyInAnyOrder(2, 2, 1);
+    }
+
+    @Test
+    void indexWithBatchBytes() throws IOException {
+        when(elasticSearch.bulk(any())).thenAnswer(invocation -> response(invocation.getArgument(0), null));
+        options.batchSize = 100;
+        options.batchBytes = 10;
+
+        try (var indexer = indexer()) {
+            indexer.index("1", document("1"));
+            indexer.index("2", document("2"));
+        }
+
+        verify(elasticSearch, times(2)).bulk(any());
+    }
+
+    @Test
+    void retryRejectedItems() throws IOException {
+        List<Integer> sizes = new ArrayList<>();
+        when(elasticSearch.bulk(any())).thenAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            sizes.add(request.numberOfActions());
+            return response(request, sizes.size() == 1 ? RestStatus.TOO_MANY_REQUESTS : null);
+        });
+
+        try (var indexer = indexer()) {
+            indexer.index("1", document("1"));
+            indexer.index("2", document("2"));
+        }
+
+        assertThat(sizes).containsExactly(2, 1);
+    }
+
+    @Test
+    void retryRejectedRequest() throws IOException {
+        when(elasticSearch.bulk(any()))
+                .thenThrow(new ElasticsearchStatusException("rejected", RestStatus.TOO_MANY_REQUESTS))
+                .thenAnswer(invocation -> response(invocation.getArgument(0), null));
+
+        try (var indexer = indexer()) {
+            indexer.index("1", document("1"));
+        }
+
+        verify(elasticSearch, times(2)).bulk(any());
+    }
+
+    @Test
+    void handleFailures() throws IOException {
+        options.maxRetries = 1;
+        when(elasticSearch.bulk(any())).thenAnswer(invocation -> response(invocation.getArgument(0), RestStatus.TOO_MANY_REQUESTS));
+        List<String> failedIds = new ArrayList<>();
+        options.failureHandler = (id, message) -> failedIds.add(id);
+
+        try (var indexer = indexer()) {
+            indexer.index("1", document("1"));
+        }
+
+        verify(elasticSearch, times(2)).bulk(any());
+        assertThat(failedIds).containsExactly("1");
+    }
+
+    @Test
+    void failWithoutFailureHandler() throws IOException {
+        when(elasticSearch.bulk(any())).thenAnswer(invocation -> response(invocation.getArgument(0), RestStatus.BAD_REQUEST));
+
+        var indexer = indexer();
+        indexer.index("1", document("1"));
+        assertThatThrownBy(indexer::flush)
+                .isInstanceOf(SearchException.class)
+                .hasMessageContaining("[1]: ");
+    }
+
+    @Test
+    void failWithException() throws IOException {
+        when(elasticSearch.bulk(any())).thenThrow(new IOException("connection reset"));
+
+        var indexer = indexer();
+        indexer.index("1", document("1"));
+        assertThatThrownBy(indexer::flush)
+                .hasRootCauseInstanceOf(IOException.class)
+                .hasMessageContaining("connection reset");
+    }
+
+    private BulkIndexerImpl<ElasticSearchTypeImplTest.TestDocument> indexer() {
+        return new BulkIndexerImpl<>(elasticSearch, "document", options, JSONMapper.writer(ElasticSearchTypeImplTest.TestDocument.class), Validator.of(ElasticSearchTypeImplTest.TestDocument.class));
+    }
+
+    private ElasticSearchTypeImplTest.TestDocument document(String id) {
+        var document = new ElasticSearchTypeImplTest.TestDocument();
+        document.id = id;
+        return document;
+    }
+
+    // fail first item with status if not null
+    private BulkResponse response(BulkRequest request, RestStatus failedStatus) {
+        var items = new BulkItemResponse[request.numberOfActions()];
+        for (int i = 0; i < items.length; i++) {
+            String id = request.requests().get(i).id();
+            if (i == 0 && failedStatus != null) {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure("document", "_doc", id, new Exception("failed"), failedStatus));
+            } else {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse(new ShardId("document", "_na_", 0), "_doc", id, 1, 1, 1, true));
+            }
+        }
+        return new BulkResponse(items, 1);
+    }
+}
@@ -2,6 +2,7 @@ package core.framework.search.impl;
 
 import core.framework.api.json.Property;
 import core.framework.api.validate.NotNull;
+import core.framework.search.ForEach;
 import core.framework.search.Index;
 import core.framework.search.SearchRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +33,17 @@ class ElasticSearchTypeImplTest {
                 .hasMessageContaining("result window is too large");
     }
 
+    @Test
+    void forEach() {
+        var forEach = new ForEach<TestDocument>();
+        forEach.consumer = document -> {
+        };
+        forEach.slices = 0;
+        assertThatThrownBy(() -> searchType.forEach(forEach))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("forEach.slices must be greater than 0");
+    }
+
     @Index(name = "document")
     public static class TestDocument {
         @NotNull
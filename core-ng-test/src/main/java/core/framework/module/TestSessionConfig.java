@@ -8,4 +8,8 @@ public class TestSessionConfig extends SessionConfig {
     public void redis(String host) {
         local();
     }
+
+    @Override
+    public void indexKeys(String... keys) {     // local session store scans all sessions, index is not needed
+    }
 }
@@ -5,6 +5,7 @@ import core.framework.redis.RedisAdmin;
 import core.framework.redis.RedisHash;
 import core.framework.redis.RedisHyperLogLog;
 import core.framework.redis.RedisList;
+import core.framework.redis.RedisPipeline;
 import core.framework.redis.RedisSet;
 import core.framework.redis.RedisSortedSet;
 import core.framework.util.Maps;
@@ -130,4 +131,9 @@ public final class MockRedis implements Redis {
     public RedisSortedSet sortedSet() {
         return sortedSet;
     }
+
+    @Override
+    public RedisPipeline pipeline() {
+        return new MockRedisPipeline(this);
+    }
 }
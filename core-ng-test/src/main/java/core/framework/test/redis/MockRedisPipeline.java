@@ -0,0 +1,106 @@
+package core.framework.test.redis;
+
+import core.framework.redis.RedisPipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * @author neo
+ */
+public final class MockRedisPipeline implements RedisPipeline {
+    private final MockRedis redis;
+    private final List<Runnable> commands = new ArrayList<>();
+
+    MockRedisPipeline(MockRedis redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public CompletableFuture<String> get(String key) {
+        return add(() -> redis.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> set(String key, String value, Duration expiration, boolean onlyIfAbsent) {
+        return add(() -> redis.set(key, value, expiration, onlyIfAbsent));
+    }
+
+    @Override
+    public void expire(String key, Duration expiration) {
+        add(() -> {
+            redis.expire(key, expiration);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> del(String... keys) {
+        return add(() -> redis.del(keys));
+    }
+
+    @Override
+    public CompletableFuture<Long> increaseBy(String key, long increment) {
+        return add(() -> redis.increaseBy(key, increment));
+    }
+
+    @Override
+    public CompletableFuture<String> hashGet(String key, String field) {
+        return add(() -> redis.hash().get(key, field));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> hashGetAll(String key) {
+        return add(() -> redis.hash().getAll(key));
+    }
+
+    @Override
+    public void hashMultiSet(String key, Map<String, String> values) {
+        add(() -> {
+            redis.hash().multiSet(key, values);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> hashDel(String key, String... fields) {
+        return add(() -> redis.hash().del(key, fields));
+    }
+
+    @Override
+    public CompletableFuture<Long> addToSet(String key, String... values) {
+        return add(() -> redis.set().add(key, values));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> getSetMembers(String key) {
+        return add(() -> redis.set().members(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> removeFromSet(String key, String... values) {
+        return add(() -> redis.set().remove(key, values));
+    }
+
+    @Override
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public void execute() {
+        commands.forEach(Runnable::run);
+        commands.clear();
+    }
+
+    private <T> CompletableFuture<T> add(Supplier<T> command) {
+        var future = new CompletableFuture<T>();
+        commands.add(() -> future.complete(command.get()));
+        return future;
+    }
+}
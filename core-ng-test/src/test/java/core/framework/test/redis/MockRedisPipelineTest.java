@@ -0,0 +1,44 @@
+package core.framework.test.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author neo
+ */
+class MockRedisPipelineTest {
+    private MockRedis redis;
+
+    @BeforeEach
+    void createMockRedis() {
+        redis = new MockRedis();
+    }
+
+    @Test
+    void execute() {
+        redis.set("key1", "value1");
+
+        var pipeline = redis.pipeline();
+        CompletableFuture<String> value = pipeline.get("key1");
+        pipeline.hashMultiSet("key2", Map.of("field1", "value1"));
+        CompletableFuture<Map<String, String>> hash = pipeline.hashGetAll("key2");
+        pipeline.expire("key2", Duration.ofMinutes(1));
+        pipeline.addToSet("key3", "value1", "value2");
+        CompletableFuture<Set<String>> members = pipeline.getSetMembers("key3");
+        assertThat(value).isNotDone();
+
+        pipeline.execute();
+        assertThat(value.join()).isEqualTo("value1");
+        assertThat(hash.join()).containsExactly(entry("field1", "value1"));
+        assertThat(members.join()).containsOnly("value1", "value2");
+        assertThat(pipeline.size()).isZero();
+    }
+}
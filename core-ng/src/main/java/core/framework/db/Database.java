@@ -5,6 +5,7 @@ import core.framework.internal.log.LogManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @author neo
@@ -34,6 +35,10 @@ public interface Database {
 
     <T> Optional<T> selectOne(String sql, Class<T> viewClass, Object... params);
 
+    // stream rows to consumer one by one without loading all into memory, for large result set, e.g. export or reconciliation jobs
+    // with mysql, connection is occupied until all rows are read, so within transaction, consumer must not call db with same transaction
+    <T> void forEach(String sql, Class<T> viewClass, Consumer<T> consumer, Object... params);
+
     int execute(String sql, Object... params);
 
     // for bulk update operations, you may want to enclose it with Transaction to improve performance
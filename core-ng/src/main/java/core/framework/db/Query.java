@@ -2,6 +2,7 @@ package core.framework.db;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @author neo
@@ -19,6 +20,8 @@ public interface Query<T> {
 
     List<T> fetch();
 
+    void fetch(Consumer<T> consumer);   // stream results to consumer, refer to Database.forEach
+
     Optional<T> fetchOne();
 
     <P> Optional<P> project(String projection, Class<P> viewClass);
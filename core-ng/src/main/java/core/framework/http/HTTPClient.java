@@ -1,5 +1,11 @@
 package core.framework.http;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * @author neo
  */
@@ -9,4 +15,32 @@ public interface HTTPClient {
     }
 
     HTTPResponse execute(HTTPRequest request);
+
+    // stream body of 2xx response into file without holding it in memory, response.body is empty in that case, other responses are read as execute()
+    // download is not limited by call timeout, only by connect/read timeout
+    HTTPResponse download(HTTPRequest request, Path file);
+
+    // response is handled in http client thread, and tracked in action log of current thread
+    CompletableFuture<HTTPResponse> executeAsync(HTTPRequest request);
+
+    // execute requests concurrently, responses are in same order as requests, throw first failure after canceling others
+    default List<HTTPResponse> executeAll(List<HTTPRequest> requests) {
+        List<CompletableFuture<HTTPResponse>> futures = new ArrayList<>(requests.size());
+        for (HTTPRequest request : requests) {
+            futures.add(executeAsync(request));
+        }
+        List<HTTPResponse> responses = new ArrayList<>(requests.size());
+        for (CompletableFuture<HTTPResponse> future : futures) {
+            Throwable failure = future.handle((response, e) -> e).join();   // wait without wrapping exception
+            if (failure != null) {
+                for (CompletableFuture<HTTPResponse> other : futures) {
+                    other.cancel(false);
+                }
+                if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+                throw new CompletionException(failure);
+            }
+            responses.add(future.join());
+        }
+        return responses;
+    }
 }
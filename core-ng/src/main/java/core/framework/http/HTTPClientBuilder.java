@@ -1,5 +1,6 @@
 package core.framework.http;
 
+import core.framework.internal.http.ActionLogInterceptor;
 import core.framework.internal.http.CookieManager;
 import core.framework.internal.http.DefaultTrustManager;
 import core.framework.internal.http.FallbackDNSCache;
@@ -12,7 +13,9 @@ import core.framework.internal.http.TimeoutInterceptor;
 import core.framework.util.StopWatch;
 import core.framework.util.Threads;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +35,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -74,6 +78,9 @@ public final class HTTPClientBuilder {
     private KeyStore trustStore;
     private Integer maxRetries;
     private Duration retryWaitTime = Duration.ofMillis(500);
+    private Double hedgePercentile;
+    private int maxConnections = 64;
+    private boolean enableHTTP2;
 
     // force to use HTTPClient.builder()
     HTTPClientBuilder() {
@@ -87,25 +94,38 @@ public final class HTTPClientBuilder {
                     .readTimeout(timeout)
                     .writeTimeout(timeout)
                     .callTimeout(callTimeout()) // call timeout is only used as last defense, timeout for complete call includes connect/retry/etc
-                    .connectionPool(new ConnectionPool(100, keepAlive.toSeconds(), TimeUnit.SECONDS))
+                    .connectionPool(new ConnectionPool(Math.max(maxConnections, 100), keepAlive.toSeconds(), TimeUnit.SECONDS))
+                    .dispatcher(dispatcher())
                     .eventListenerFactory(new HTTPEventListenerFactory());
 
             configureHTTPS(builder);
 
+            builder.addInterceptor(new ActionLogInterceptor());
             builder.addInterceptor(new TimeoutInterceptor());
             if (maxRetries != null) {
                 builder.addNetworkInterceptor(new ServiceUnavailableInterceptor());
                 builder.addInterceptor(new RetryInterceptor(maxRetries, retryWaitTime, Threads::sleepRoughly));
             }
+            if (enableHTTP2) builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
             if (enableCookie) builder.cookieJar(new CookieManager());
             if (enableFallbackDNSCache) builder.dns(new FallbackDNSCache());
 
-            return new HTTPClientImpl(builder.build(), userAgent, slowOperationThreshold, timeout);
+            var client = new HTTPClientImpl(builder.build(), userAgent, slowOperationThreshold, timeout);
+            if (hedgePercentile != null) client.hedge(hedgePercentile);
+            return client;
         } finally {
             logger.info("create http client, elapsed={}", watch.elapsed());
         }
     }
 
+    // dispatcher is only used by async calls, default allows 5 concurrent requests per host, which is too small to fan out to internal services
+    private Dispatcher dispatcher() {
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(maxConnections * 4, 256));
+        dispatcher.setMaxRequestsPerHost(maxConnections);
+        return dispatcher;
+    }
+
     private void configureHTTPS(OkHttpClient.Builder builder) {
         if (!trustAll && trustStore == null) return;
         try {
@@ -163,6 +183,25 @@ public final class HTTPClientBuilder {
         return this;
     }
 
+    // for async GET, send hedged request if response doesn't arrive within the percentile of recent latency, e.g. 0.95
+    public HTTPClientBuilder hedge(double percentile) {
+        if (percentile <= 0 || percentile >= 1) throw new Error("percentile must be between 0 and 1, percentile=" + percentile);
+        hedgePercentile = percentile;
+        return this;
+    }
+
+    // max concurrent async requests per host, idle connections kept in pool is at least same
+    public HTTPClientBuilder maxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    // use http/2 with prior knowledge for plain http service (e.g. internal api), requests are multiplexed on one connection, https negotiates http/2 by default
+    public HTTPClientBuilder enableHTTP2() {
+        enableHTTP2 = true;
+        return this;
+    }
+
     public HTTPClientBuilder enableCookie() {
         enableCookie = true;
         return this;
@@ -1,6 +1,7 @@
 package core.framework.internal.async;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -13,10 +14,46 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author neo
  */
 public final class ThreadPools {
+    private static boolean virtualThread;
+
+    // virtual thread requires java 21+, framework targets older java version, so to create by reflection, only works if app runs with java 21+
+    // must be enabled before creating thread pools, e.g. at beginning of App.initialize()
+    public static void enableVirtualThread() {
+        virtualThreadFactory("virtual-thread-check-");  // fail fast if runtime does not support
+        virtualThread = true;
+    }
+
+    public static boolean virtualThread() {
+        return virtualThread;
+    }
+
+    // create new virtual thread for each task, it doesn't need pool size, as virtual thread is cheap to create and blocking io releases carrier thread
+    public static ExecutorService virtualThreadExecutor(String prefix) {
+        ThreadFactory factory = virtualThreadFactory(prefix);
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new Error("failed to create virtual thread executor", e);
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new Error("virtual thread is not supported, it requires java 21+, version=" + Runtime.version(), e);
+        }
+    }
+
     // provide thread pool with no limit task queue, and start at max pool size num of threads
     // with SynchronousQueue, it will only accept new tasks if there is an idle thread available (that's why Executors.newCachedThreadPool() uses Integer.MAX_VALUE as maximumPoolSize)
     // refer to java.util.concurrent.ThreadPoolExecutor.execute for how it determines to create new thread
+    // with virtual thread enabled, pool size is ignored
     public static ExecutorService cachedThreadPool(int poolSize, String prefix) {
+        if (virtualThread) return virtualThreadExecutor(prefix);
         var threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryImpl(prefix));
         threadPool.allowCoreThreadTimeOut(true);
         return threadPool;
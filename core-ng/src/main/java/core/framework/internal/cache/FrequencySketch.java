@@ -0,0 +1,88 @@
+package core.framework.internal.cache;
+
+/**
+ * count-min sketch with 4-bit counters to estimate access frequency of keys, refer to TinyLFU, https://arxiv.org/pdf/1512.00727.pdf
+ * each long holds 16 counters, one key maps to 4 counters of one long, counters are halved after sample size additions to keep history fresh
+ *
+ * not thread safe, must be guarded by caller
+ *
+ * @author neo
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    static int spread(int hashCode) {
+        int hash = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    final long[] table;
+    final int sampleSize;
+    int size;
+    private final int tableMask;
+
+    FrequencySketch(int maxSize) {
+        int capacity = tableSize(maxSize);
+        table = new long[capacity];
+        tableMask = capacity - 1;
+        sampleSize = 10 * Math.max(maxSize, 1);
+    }
+
+    int frequency(int hash) {
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            added |= incrementAt(index, start + i);
+        }
+        if (added) {
+            size++;
+            if (size >= sampleSize) reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    // halve all counters, to age out history
+    void reset() {
+        int count = 0;
+        for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (count >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        long value = (hash + SEEDS[depth]) * SEEDS[depth];
+        value += value >>> 32;
+        return (int) value & tableMask;
+    }
+
+    private int tableSize(int maxSize) {
+        int size = Math.min(Math.max(maxSize, 16), 1 << 30);
+        return Integer.highestOneBit(size - 1) << 1;    // next power of two
+    }
+}
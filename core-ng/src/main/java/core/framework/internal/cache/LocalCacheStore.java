@@ -8,15 +8,50 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * bounded local cache with W-TinyLFU policy, refer to https://arxiv.org/pdf/1512.00727.pdf
+ * new items enter small LRU window, then compete with victim of segmented LRU main space (probation + protected) by frequency sketch,
+ * read is lock free, hits are recorded into lossy read buffer, and applied to policy in batch under lock,
+ * write updates policy and evicts under lock, so maxSize is enforced on every write, expired items are removed by timer wheel
+ *
  * @author neo
  */
 public class LocalCacheStore implements CacheStore {
+    private static final byte WINDOW = 1;
+    private static final byte PROBATION = 2;
+    private static final byte PROTECTED = 3;
+
     final Map<String, CacheItem<?>> caches = Maps.newConcurrentHashMap();
+    long evictions;
+    private final ReentrantLock lock = new ReentrantLock();
     private final Logger logger = LoggerFactory.getLogger(LocalCacheStore.class);
-    public int maxSize = 10000;  // 10000 simple objects roughly takes 1M-10M heap + hashmap overhead
+    private final ReadBuffer<CacheItem<?>> readBuffer = new ReadBuffer<>();
+    private final CacheItem<?> window = sentinel();        // head is LRU, tail is MRU
+    private final CacheItem<?> probation = sentinel();
+    private final CacheItem<?> protectedItems = sentinel();
+    private final TimerWheel timerWheel = new TimerWheel(System.currentTimeMillis());
+    private int maxSize;
+    private FrequencySketch sketch;
+    private int maxWindowSize;
+    private int maxProtectedSize;
+    private int windowSize;
+    private int protectedSize;
+
+    public LocalCacheStore() {
+        resize(10000);    // 10000 simple objects roughly takes 1M-10M heap + hashmap overhead
+    }
+
+    public void maxSize(int maxSize) {
+        lock.lock();
+        try {
+            resize(maxSize);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
 
     @Override
     public <T> T get(String key, CacheContext<T> context) {
@@ -29,10 +64,16 @@ public class LocalCacheStore implements CacheStore {
         CacheItem<T> item = (CacheItem<T>) caches.get(key);
         if (item == null) return null;
         if (item.expired(now)) {
-            caches.remove(key);
+            remove(item);
             return null;
         }
-        item.hits++;
+        if (readBuffer.offer(item) && lock.tryLock()) {
+            try {
+                readBuffer.drain(this::onAccess);
+            } finally {
+                lock.unlock();
+            }
+        }
         return item.value;
     }
 
@@ -51,16 +92,32 @@ public class LocalCacheStore implements CacheStore {
     @Override
     public <T> void put(String key, T value, Duration expiration, CacheContext<T> context) {
         logger.debug("put, key={}, expiration={}", key, expiration);
-        long expirationTime = System.currentTimeMillis() + expiration.toMillis();
-        caches.put(key, new CacheItem<>(value, expirationTime));
+        long now = System.currentTimeMillis();
+        long expirationTime = now + expiration.toMillis();
+        lock.lock();
+        try {
+            maintain(now);
+            add(new CacheItem<>(key, value, expirationTime), now);
+            evict();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public <T> void putAll(List<Entry<T>> values, Duration expiration, CacheContext<T> context) {
         logger.debug("putAll, keys={}, expiration={}", new ArrayLogParam(keys(values)), expiration);
-        long expirationTime = System.currentTimeMillis() + expiration.toMillis();
-        for (Entry<T> value : values) {
-            caches.put(value.key, new CacheItem<>(value.value, expirationTime));
+        long now = System.currentTimeMillis();
+        long expirationTime = now + expiration.toMillis();
+        lock.lock();
+        try {
+            maintain(now);
+            for (Entry<T> value : values) {
+                add(new CacheItem<>(value.key, value.value, expirationTime), now);
+                evict();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -78,60 +135,187 @@ public class LocalCacheStore implements CacheStore {
     public boolean delete(String... keys) {
         logger.debug("delete, keys={}", new ArrayLogParam(keys));
         boolean deleted = false;
-        for (String key : keys) {
-            CacheItem<?> previous = caches.remove(key);
-            if (!deleted && previous != null) deleted = true;
+        lock.lock();
+        try {
+            for (String key : keys) {
+                CacheItem<?> previous = caches.remove(key);
+                if (previous != null) {
+                    unlink(previous);
+                    deleted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
         }
         return deleted;
     }
 
-    public void cleanup() {    // cleanup is only called by background thread with fixed delay, not need to synchronize
-        logger.info("clean up local cache store");
-        long now = System.currentTimeMillis();
-        caches.values().removeIf(item -> item.expired(now));
-        int size = caches.size();
-        if (size > maxSize) {
-            logger.info("evict least frequently used cache items, currentSize={}, maxSize={}", size, maxSize);
-            int evictSize = size - maxSize;
-            evictLeastFrequentlyUsedItems(evictSize);
-        }
-    }
-
-    // use LFU to trade off between simplicity and access efficiency,
-    // assume local cache is only used for rarely changed items, and tolerate stale data, or use message to notify updates
-    // cleanup is running in background thread, it maintains approximate maxSize loosely
-    private void evictLeastFrequentlyUsedItems(int evictSize) {
-        Map<Integer, Integer> sizes = new TreeMap<>();
-        for (CacheItem<?> item : caches.values()) {
-            int hits = item.hits;
-            int size = sizes.getOrDefault(hits, 0);
-            sizes.put(hits, size + 1);
-        }
-        int minHits = 0;
-        int currentEvictSize = 0;
-        for (Map.Entry<Integer, Integer> entry : sizes.entrySet()) {
-            currentEvictSize += entry.getValue();
-            if (currentEvictSize >= evictSize) {
-                minHits = entry.getKey();
-                break;
-            }
+    // expired items are removed by timer wheel on every write, this is to remove expired items if there is no write for long time
+    public void cleanup() {
+        logger.info("clean up local cache store, size={}, evictions={}", caches.size(), evictions);
+        lock.lock();
+        try {
+            maintain(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
         }
-        int targetHits = minHits;
-        caches.values().removeIf(item -> item.hits <= targetHits);
     }
 
     public void clear() {
-        caches.clear();
+        lock.lock();
+        try {
+            for (CacheItem<?> item : caches.values()) {
+                unlink(item);
+            }
+            caches.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resize(int maxSize) {
+        this.maxSize = maxSize;
+        maxWindowSize = Math.max(1, maxSize / 100);     // window takes 1%, main takes 99%, protected takes 80% of main
+        maxProtectedSize = (maxSize - maxWindowSize) * 4 / 5;
+        sketch = new FrequencySketch(maxSize);
+    }
+
+    private void remove(CacheItem<?> item) {
+        lock.lock();
+        try {
+            if (caches.remove(item.key, item)) unlink(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void maintain(long now) {
+        readBuffer.drain(this::onAccess);
+        timerWheel.advance(now, item -> {
+            if (caches.remove(item.key, item)) unlink(item);
+        });
+    }
+
+    private void add(CacheItem<?> item, long now) {
+        CacheItem<?> previous = item.expired(now) ? caches.remove(item.key) : caches.put(item.key, item);  // not to keep item already expired, e.g. expiration is zero
+        if (previous != null) unlink(previous);
+        if (item.expired(now)) return;
+        sketch.increment(item.hash);
+        item.queue = WINDOW;
+        linkLast(window, item);
+        windowSize++;
+        timerWheel.schedule(item);
+    }
+
+    private void onAccess(CacheItem<?> item) {
+        if (item.queue == 0) return;    // removed after access was recorded
+        sketch.increment(item.hash);
+        if (item.queue == WINDOW) {
+            moveToLast(window, item);
+        } else if (item.queue == PROBATION) {
+            unlinkFromQueue(item);
+            item.queue = PROTECTED;
+            linkLast(protectedItems, item);
+            protectedSize++;
+            demoteProtected();
+        } else {
+            moveToLast(protectedItems, item);
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedSize > maxProtectedSize) {
+            CacheItem<?> item = protectedItems.next;
+            unlinkFromQueue(item);
+            protectedSize--;
+            item.queue = PROBATION;
+            linkLast(probation, item);
+        }
+    }
+
+    // move overflowed window items into probation as candidates, then let each candidate compete with LRU victim of probation
+    private void evict() {
+        while (windowSize > maxWindowSize) {
+            CacheItem<?> item = window.next;
+            unlinkFromQueue(item);
+            windowSize--;
+            item.queue = PROBATION;
+            linkLast(probation, item);
+        }
+        while (caches.size() > maxSize) {
+            CacheItem<?> victim = victim();
+            CacheItem<?> candidate = probation.previous;    // sentinel has null key
+            boolean admit = candidate.key == null || candidate.key.equals(victim.key) || sketch.frequency(candidate.hash) > sketch.frequency(victim.hash);
+            evictItem(admit ? victim : candidate);
+        }
+    }
+
+    private CacheItem<?> victim() {
+        if (probation.next.key != null) return probation.next;
+        if (protectedItems.next.key != null) return protectedItems.next;
+        return window.next;
+    }
+
+    private void evictItem(CacheItem<?> item) {
+        caches.remove(item.key, item);
+        unlink(item);
+        evictions++;
+    }
+
+    private void unlink(CacheItem<?> item) {
+        if (item.queue == 0) return;
+        if (item.queue == WINDOW) {
+            windowSize--;
+        } else if (item.queue == PROTECTED) {
+            protectedSize--;
+        }
+        unlinkFromQueue(item);
+        item.queue = 0;
+        timerWheel.deschedule(item);
+    }
+
+    private void linkLast(CacheItem<?> sentinel, CacheItem<?> item) {
+        item.previous = sentinel.previous;
+        item.next = sentinel;
+        sentinel.previous.next = item;
+        sentinel.previous = item;
+    }
+
+    private void unlinkFromQueue(CacheItem<?> item) {
+        item.previous.next = item.next;
+        item.next.previous = item.previous;
+        item.previous = null;
+        item.next = null;
+    }
+
+    private void moveToLast(CacheItem<?> sentinel, CacheItem<?> item) {
+        unlinkFromQueue(item);
+        linkLast(sentinel, item);
+    }
+
+    private CacheItem<?> sentinel() {
+        CacheItem<?> sentinel = new CacheItem<>(null, null, Long.MAX_VALUE);
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
     }
 
     static class CacheItem<T> {
+        final String key;
         final T value;
         final long expirationTime;
-        int hits;
+        final int hash;
+        byte queue;     // access order queue the item is in, 0 means removed
+        CacheItem<?> previous;
+        CacheItem<?> next;
+        CacheItem<?> previousInTimer;
+        CacheItem<?> nextInTimer;
 
-        CacheItem(T value, long expirationTime) {
+        CacheItem(String key, T value, long expirationTime) {
+            this.key = key;
             this.value = value;
             this.expirationTime = expirationTime;
+            hash = key == null ? 0 : FrequencySketch.spread(key.hashCode());
         }
 
         boolean expired(long now) {
@@ -0,0 +1,71 @@
+package core.framework.internal.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * striped lossy ring buffers to record cache hits without taking policy lock,
+ * if stripe is full, the access is dropped, which only affects precision of eviction policy
+ *
+ * offer is thread safe, drain must be guarded by policy lock
+ *
+ * @author neo
+ */
+class ReadBuffer<T> {
+    static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final Stripe<T>[] stripes;
+    private final int stripeMask;
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int size = Integer.highestOneBit(Math.max(processors, 2) - 1) << 1;    // next power of two
+        stripes = (Stripe<T>[]) new Stripe<?>[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        stripeMask = size - 1;
+    }
+
+    // return true if the stripe is half full, so caller should try to drain
+    boolean offer(T item) {
+        Stripe<T> stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        long writeIndex = stripe.writeIndex.get();
+        long size = writeIndex - stripe.readIndex;
+        if (size >= BUFFER_SIZE) return true;
+        if (stripe.writeIndex.compareAndSet(writeIndex, writeIndex + 1)) {
+            stripe.buffer.lazySet((int) writeIndex & BUFFER_MASK, item);
+            return size + 1 >= BUFFER_SIZE / 2;
+        }
+        return false;   // contended with other thread on same stripe, drop the record
+    }
+
+    void drain(Consumer<T> consumer) {
+        for (Stripe<T> stripe : stripes) {
+            stripe.drain(consumer);
+        }
+    }
+
+    private static class Stripe<T> {
+        final AtomicReferenceArray<T> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        final AtomicLong writeIndex = new AtomicLong();
+        volatile long readIndex;
+
+        void drain(Consumer<T> consumer) {
+            long index = readIndex;
+            long writeIndex = this.writeIndex.get();
+            while (index < writeIndex) {
+                int slot = (int) index & BUFFER_MASK;
+                T item = buffer.get(slot);
+                if (item == null) break;    // writer claimed the slot but not published yet
+                buffer.lazySet(slot, null);
+                consumer.accept(item);
+                index++;
+            }
+            readIndex = index;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.cache.LocalCacheStore.CacheItem;
+
+import java.util.function.Consumer;
+
+/**
+ * hierarchical timer wheel to expire items in amortized O(1), refer to http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
+ * each level is array of buckets with circular doubly linked list, items are cascaded to lower level when wheel advances
+ *
+ * not thread safe, must be guarded by policy lock
+ *
+ * @author neo
+ */
+class TimerWheel {
+    // buckets span in millis, roughly 1s, 1m, 1h, 1.5d, 6d
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final int[] SHIFTS = {10, 16, 22, 27, 29};
+
+    final CacheItem<?>[][] wheel;
+    long time;
+
+    TimerWheel(long time) {
+        this.time = time;
+        wheel = new CacheItem<?>[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new CacheItem<?>[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = sentinel();
+            }
+        }
+    }
+
+    void schedule(CacheItem<?> item) {
+        CacheItem<?> sentinel = findBucket(item.expirationTime);
+        item.previousInTimer = sentinel.previousInTimer;
+        item.nextInTimer = sentinel;
+        sentinel.previousInTimer.nextInTimer = item;
+        sentinel.previousInTimer = item;
+    }
+
+    void deschedule(CacheItem<?> item) {
+        if (item.nextInTimer == null) return;
+        item.previousInTimer.nextInTimer = item.nextInTimer;
+        item.nextInTimer.previousInTimer = item.previousInTimer;
+        item.previousInTimer = null;
+        item.nextInTimer = null;
+    }
+
+    // call expire for all expired items, and cascade rest items of passed buckets to lower levels
+    void advance(long now, Consumer<CacheItem<?>> expire) {
+        long previous = time;
+        time = now;
+        for (int i = 0; i < SHIFTS.length; i++) {
+            long previousTicks = previous >>> SHIFTS[i];
+            long currentTicks = now >>> SHIFTS[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) break;
+            expire(i, previousTicks, delta, expire);
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta, Consumer<CacheItem<?>> expire) {
+        CacheItem<?>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            CacheItem<?> sentinel = buckets[i & mask];
+            CacheItem<?> item = sentinel.nextInTimer;
+            sentinel.previousInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+            while (item.key != null) {     // sentinel has null key
+                CacheItem<?> next = item.nextInTimer;
+                item.previousInTimer = null;
+                item.nextInTimer = null;
+                if (item.expirationTime <= time) {
+                    expire.accept(item);
+                } else {
+                    schedule(item);
+                }
+                item = next;
+            }
+        }
+    }
+
+    private CacheItem<?> findBucket(long expirationTime) {
+        long duration = expirationTime - time;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < 1L << SHIFTS[i + 1]) {
+                long ticks = expirationTime >>> SHIFTS[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    private CacheItem<?> sentinel() {
+        CacheItem<?> sentinel = new CacheItem<>(null, null, Long.MAX_VALUE);
+        sentinel.previousInTimer = sentinel;
+        sentinel.nextInTimer = sentinel;
+        return sentinel;
+    }
+}
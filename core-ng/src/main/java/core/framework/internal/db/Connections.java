@@ -30,5 +30,10 @@ final class Connections {
         if (e instanceof SQLTimeoutException) {
             connection.broken = true;
         }
+
+        // cached statements of broken connection must not be reused, they will be closed along with connection
+        if (connection.broken && connection.attachment != null) {
+            ((StatementCache) connection.attachment).clear();
+        }
     }
 }
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import static core.framework.log.Markers.errorCode;
 
@@ -135,6 +136,8 @@ public final class DatabaseImpl implements Database {
         logger.info("set database connection url, url={}", url);
         this.url = url;
         driver = driver(url);
+        // refer to https://dev.mysql.com/doc/connector-j/8.0/en/connector-j-reference-implementation-notes.html, ResultSet section
+        if (url.startsWith("jdbc:mysql:")) operation.fetchSize = Integer.MIN_VALUE;
     }
 
     private Driver driver(String url) {
@@ -218,6 +221,23 @@ public final class DatabaseImpl implements Database {
         }
     }
 
+    @Override
+    public <T> void forEach(String sql, Class<T> viewClass, Consumer<T> consumer, Object... params) {
+        var watch = new StopWatch();
+        validateAsterisk(sql);
+        validateStringValue(sql);
+        var timedConsumer = new TimedConsumer<>(consumer);
+        try {
+            operation.forEach(sql, rowMapper(viewClass), timedConsumer, params);
+        } finally {
+            long elapsed = watch.elapsed();
+            long dbTook = elapsed - timedConsumer.took;     // exclude time spent by consumer
+            int operations = ActionLogContext.track("db", dbTook, timedConsumer.rows, 0);
+            logger.debug("forEach, sql={}, params={}, returnedRows={}, dbTook={}, elapsed={}", sql, new SQLParams(operation.enumMapper, params), timedConsumer.rows, dbTook, elapsed);
+            checkOperation(dbTook, operations);
+        }
+    }
+
     @Override
     public int execute(String sql, Object... params) {
         var watch = new StopWatch();
@@ -294,4 +314,25 @@ public final class DatabaseImpl implements Database {
         if (sql.indexOf('\'') != -1)
             throw new Error("sql must not contain single quote('), please use prepared statement and question mark(?), sql=" + sql);
     }
+
+    private static final class TimedConsumer<T> implements Consumer<T> {
+        private final Consumer<T> consumer;
+        int rows;
+        long took;
+
+        TimedConsumer(Consumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(T result) {
+            rows++;
+            long start = System.nanoTime();
+            try {
+                consumer.accept(result);
+            } finally {
+                took += System.nanoTime() - start;
+            }
+        }
+    }
 }
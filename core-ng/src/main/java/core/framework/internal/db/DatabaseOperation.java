@@ -19,6 +19,8 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 import static core.framework.util.Strings.format;
 
@@ -30,6 +32,10 @@ public class DatabaseOperation {
     final EnumDBMapper enumMapper = new EnumDBMapper();
     public int batchSize = 1000;   // use 1000 as default batch size by considering actual use cases
     int queryTimeoutInSeconds;
+    final LongAdder statementCacheHits = new LongAdder();
+    final LongAdder statementCacheMisses = new LongAdder();
+    public int statementCacheSize = 100;    // max cached prepared statements per connection, 0 to disable
+    int fetchSize = 1000;      // for forEach, mysql driver only streams with Integer.MIN_VALUE (unless useCursorFetch=true), otherwise it reads all rows into memory
 
     DatabaseOperation(Pool<Connection> pool) {
         transactionManager = new TransactionManager(pool);
@@ -39,14 +45,20 @@ public class DatabaseOperation {
     // it's harder to trace and read if creating a lot of lambda or template pattern, also impact the mem usage and GC
     int update(String sql, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
-        try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
+        PreparedStatement statement = null;
+        boolean succeeded = false;
+        try {
+            statement = prepareStatement(connection, sql, null);
             statement.setQueryTimeout(queryTimeoutInSeconds);
             setParams(statement, params);
-            return statement.executeUpdate();
+            int result = statement.executeUpdate();
+            succeeded = true;
+            return result;
         } catch (SQLException e) {
             Connections.checkConnectionState(connection, e);
             throw new UncheckedSQLException(e);
         } finally {
+            releaseStatement(connection, sql, null, statement, succeeded);
             transactionManager.returnConnection(connection);
         }
     }
@@ -55,7 +67,10 @@ public class DatabaseOperation {
         int size = params.size();
         int[] results = new int[size];
         PoolItem<Connection> connection = transactionManager.getConnection();
-        try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
+        PreparedStatement statement = null;
+        boolean succeeded = false;
+        try {
+            statement = prepareStatement(connection, sql, null);
             statement.setQueryTimeout(queryTimeoutInSeconds);
             int index = 1;
             for (Object[] batchParams : params) {
@@ -67,35 +82,65 @@ public class DatabaseOperation {
                 }
                 index++;
             }
+            succeeded = true;
             return results;
         } catch (SQLException e) {
             Connections.checkConnectionState(connection, e);
             throw new UncheckedSQLException(e);
         } finally {
+            releaseStatement(connection, sql, null, statement, succeeded);
             transactionManager.returnConnection(connection);
         }
     }
 
     <T> Optional<T> selectOne(String sql, RowMapper<T> mapper, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
-        try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
+        PreparedStatement statement = null;
+        boolean succeeded = false;
+        try {
+            statement = prepareStatement(connection, sql, null);
             statement.setQueryTimeout(queryTimeoutInSeconds);
             setParams(statement, params);
-            return fetchOne(statement, mapper);
+            Optional<T> result = fetchOne(statement, mapper);
+            succeeded = true;
+            return result;
         } catch (SQLException e) {
             Connections.checkConnectionState(connection, e);
             throw new UncheckedSQLException(e);
         } finally {
+            releaseStatement(connection, sql, null, statement, succeeded);
             transactionManager.returnConnection(connection);
         }
     }
 
     <T> List<T> select(String sql, RowMapper<T> mapper, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
-        try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
+        PreparedStatement statement = null;
+        boolean succeeded = false;
+        try {
+            statement = prepareStatement(connection, sql, null);
             statement.setQueryTimeout(queryTimeoutInSeconds);
             setParams(statement, params);
-            return fetch(statement, mapper);
+            List<T> result = fetch(statement, mapper);
+            succeeded = true;
+            return result;
+        } catch (SQLException e) {
+            Connections.checkConnectionState(connection, e);
+            throw new UncheckedSQLException(e);
+        } finally {
+            releaseStatement(connection, sql, null, statement, succeeded);
+            transactionManager.returnConnection(connection);
+        }
+    }
+
+    // not to cache statement for forEach, streaming statement holds connection until all rows are read, and uses different fetch size
+    <T> void forEach(String sql, RowMapper<T> mapper, Consumer<T> consumer, Object... params) {
+        PoolItem<Connection> connection = transactionManager.getConnection();
+        try (PreparedStatement statement = connection.resource.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setFetchSize(fetchSize);
+            setParams(statement, params);
+            fetch(statement, mapper, consumer);
         } catch (SQLException e) {
             Connections.checkConnectionState(connection, e);
             throw new UncheckedSQLException(e);
@@ -106,23 +151,55 @@ public class DatabaseOperation {
 
     OptionalLong insert(String sql, Object[] params, String generatedColumn) {
         PoolItem<Connection> connection = transactionManager.getConnection();
-        try (PreparedStatement statement = insertStatement(connection.resource, sql, generatedColumn)) {
+        PreparedStatement statement = null;
+        boolean succeeded = false;
+        try {
+            statement = prepareStatement(connection, sql, generatedColumn);
             statement.setQueryTimeout(queryTimeoutInSeconds);
             setParams(statement, params);
             statement.executeUpdate();
-            if (generatedColumn == null) return OptionalLong.empty();
-            return fetchGeneratedKey(statement);
+            OptionalLong result = generatedColumn == null ? OptionalLong.empty() : fetchGeneratedKey(statement);
+            succeeded = true;
+            return result;
         } catch (SQLException e) {
             Connections.checkConnectionState(connection, e);
             throw new UncheckedSQLException(e);
         } finally {
+            releaseStatement(connection, sql, generatedColumn, statement, succeeded);
             transactionManager.returnConnection(connection);
         }
     }
 
-    private PreparedStatement insertStatement(Connection connection, String sql, String generatedColumn) throws SQLException {
-        if (generatedColumn == null) return connection.prepareStatement(sql);
-        return connection.prepareStatement(sql, new String[]{generatedColumn});
+    private PreparedStatement prepareStatement(PoolItem<Connection> connection, String sql, String generatedColumn) throws SQLException {
+        if (statementCacheSize > 0) {
+            var cache = (StatementCache) connection.attachment;
+            if (cache == null) {
+                cache = new StatementCache(statementCacheSize);
+                connection.attachment = cache;
+            }
+            PreparedStatement statement = cache.take(sql, generatedColumn);
+            if (statement != null) {
+                statementCacheHits.increment();
+                return statement;
+            }
+            statementCacheMisses.increment();
+        }
+        if (generatedColumn == null) return connection.resource.prepareStatement(sql);
+        return connection.resource.prepareStatement(sql, new String[]{generatedColumn});
+    }
+
+    // put statement back to cache only if operation succeeded, otherwise statement may be in unexpected state, e.g. with pending batch
+    private void releaseStatement(PoolItem<Connection> connection, String sql, String generatedColumn, PreparedStatement statement, boolean succeeded) {
+        if (statement == null) return;
+        if (succeeded && !connection.broken && statementCacheSize > 0) {
+            ((StatementCache) connection.attachment).put(sql, generatedColumn, statement);
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            Connections.checkConnectionState(connection, e);
+        }
     }
 
     private <T> Optional<T> fetchOne(PreparedStatement statement, RowMapper<T> mapper) throws SQLException {
@@ -149,6 +226,16 @@ public class DatabaseOperation {
         }
     }
 
+    private <T> void fetch(PreparedStatement statement, RowMapper<T> mapper, Consumer<T> consumer) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            var wrapper = new ResultSetWrapper(resultSet);
+            while (resultSet.next()) {
+                T result = mapper.map(wrapper);
+                consumer.accept(result);
+            }
+        }
+    }
+
     // the LAST_INSERT_ID() function of mysql returns BIGINT, so here it uses Long
     // http://dev.mysql.com/doc/refman/5.7/en/information-functions.html
     private OptionalLong fetchGeneratedKey(PreparedStatement statement) throws SQLException {
@@ -7,6 +7,7 @@ import core.framework.util.Strings;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @author neo
@@ -69,6 +70,15 @@ public class QueryImpl<T> implements Query<T> {
         return database.select(sql, entityClass, params);
     }
 
+    @Override
+    public void fetch(Consumer<T> consumer) {
+        if (groupBy != null) throw new Error("fetch must not be used with groupBy, groupBy=" + groupBy);
+        if (limit != null && limit == 0) return;
+        String sql = selectQuery.fetchSQL(whereClause, sort, skip, limit);
+        Object[] params = selectQuery.fetchParams(this.params, skip, limit);
+        database.forEach(sql, entityClass, consumer, params);
+    }
+
     @Override
     public Optional<T> fetchOne() {
         if (groupBy != null) throw new Error("fetch must not be used with groupBy, groupBy=" + groupBy);
@@ -24,6 +24,7 @@ final class ResultSetWrapper {
 
     // JDBC ResultSet doesn't support to ignore non-existed column, this to build index
     private final Map<String, Integer> columnIndex;
+    private int[] columnIndexes;
 
     ResultSetWrapper(ResultSet resultSet) {
         this.resultSet = resultSet;
@@ -34,10 +35,6 @@ final class ResultSetWrapper {
         }
     }
 
-    private Integer index(String column) {
-        return columnIndex.get(ASCII.toLowerCase(column));
-    }
-
     // different db are using various of rules to return column name/label, some of reserved case, some does not
     // here we have to make name/column case insensitive for view mapping
     // http://hsqldb.org/doc/guide/databaseobjects-chapt.html#dbc_collations
@@ -56,105 +53,73 @@ final class ResultSetWrapper {
         return columnIndex.size();
     }
 
-    Integer getInt(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getInt(index);
+    // resolve column positions once per result set, wrapper is only used by one row mapper, 0 means column not returned
+    int[] columnIndexes(String[] columns) {
+        if (columnIndexes == null) {
+            int[] indexes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Integer index = columnIndex.get(ASCII.toLowerCase(columns[i]));
+                if (index != null) indexes[i] = index;
+            }
+            columnIndexes = indexes;
+        }
+        return columnIndexes;
     }
 
     Integer getInt(int index) throws SQLException {
+        if (index == 0) return null;
         int value = resultSet.getInt(index);
         if (resultSet.wasNull()) return null;
         return value;
     }
 
-    Boolean getBoolean(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getBoolean(index);
-    }
-
     Boolean getBoolean(int index) throws SQLException {
+        if (index == 0) return null;
         boolean value = resultSet.getBoolean(index);
         if (resultSet.wasNull()) return null;
         return value;
     }
 
-    Long getLong(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getLong(index);
-    }
-
     Long getLong(int index) throws SQLException {
+        if (index == 0) return null;
         long value = resultSet.getLong(index);
         if (resultSet.wasNull()) return null;
         return value;
     }
 
-    Double getDouble(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getDouble(index);
-    }
-
     Double getDouble(int index) throws SQLException {
+        if (index == 0) return null;
         double value = resultSet.getDouble(index);
         if (resultSet.wasNull()) return null;
         return value;
     }
 
-    String getString(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getString(index);
-    }
-
     String getString(int index) throws SQLException {
+        if (index == 0) return null;
         return resultSet.getString(index);
     }
 
-    BigDecimal getBigDecimal(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getBigDecimal(index);
-    }
-
     BigDecimal getBigDecimal(int index) throws SQLException {
+        if (index == 0) return null;
         return resultSet.getBigDecimal(index);
     }
 
-    LocalDateTime getLocalDateTime(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getLocalDateTime(index);
-    }
-
     LocalDateTime getLocalDateTime(int index) throws SQLException {
+        if (index == 0) return null;
         Timestamp timestamp = resultSet.getTimestamp(index);
         if (timestamp == null) return null;
         return LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
     }
 
-    LocalDate getLocalDate(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getLocalDate(index);
-    }
-
     LocalDate getLocalDate(int index) throws SQLException {
+        if (index == 0) return null;
         Date date = resultSet.getDate(index);
         if (date == null) return null;
         return date.toLocalDate();
     }
 
-    ZonedDateTime getZonedDateTime(String column) throws SQLException {
-        Integer index = index(column);
-        if (index == null) return null;
-        return getZonedDateTime(index);
-    }
-
     ZonedDateTime getZonedDateTime(int index) throws SQLException {
+        if (index == 0) return null;
         Timestamp timestamp = resultSet.getTimestamp(index);
         if (timestamp == null) return null;
         return ZonedDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
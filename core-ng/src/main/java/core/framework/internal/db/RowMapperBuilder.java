@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import static core.framework.internal.asm.Literal.type;
 import static core.framework.internal.asm.Literal.variable;
@@ -36,38 +37,46 @@ final class RowMapperBuilder<T> {
     private String mapMethod() {
         var builder = new CodeBuilder().append("public Object map({} resultSet) {\n", type(ResultSetWrapper.class));
         String entityClassLiteral = type(entityClass);
+        builder.indent(1).append("int[] indexes = resultSet.columnIndexes(columns);\n");
         builder.indent(1).append("{} entity = new {}();\n", entityClassLiteral, entityClassLiteral);
 
-        for (Field field : Classes.instanceFields(entityClass)) {
+        List<Field> fields = Classes.instanceFields(entityClass);
+        var columns = new CodeBuilder().append("private final String[] columns = new String[]{");
+        int index = 0;
+        for (Field field : fields) {
             String fieldName = field.getName();
             Class<?> fieldClass = field.getType();
-            String column = field.getDeclaredAnnotation(Column.class).name();
+            if (index > 0) columns.append(", ");
+            columns.append(variable(field.getDeclaredAnnotation(Column.class).name()));
+            String column = "indexes[" + index + "]";
+            index++;
             if (Integer.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getInt(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getInt({});\n", fieldName, column);
             } else if (String.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getString(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getString({});\n", fieldName, column);
             } else if (Boolean.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getBoolean(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getBoolean({});\n", fieldName, column);
             } else if (Long.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getLong(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getLong({});\n", fieldName, column);
             } else if (LocalDateTime.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getLocalDateTime(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getLocalDateTime({});\n", fieldName, column);
             } else if (LocalDate.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getLocalDate(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getLocalDate({});\n", fieldName, column);
             } else if (ZonedDateTime.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getZonedDateTime(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getZonedDateTime({});\n", fieldName, column);
             } else if (fieldClass.isEnum()) {
                 registerEnumClass(fieldClass);
                 this.builder.addField("private final {} {}Mappings = new {}({});", type(DBEnumMapper.class), fieldName, type(DBEnumMapper.class), variable(fieldClass));
-                builder.indent(1).append("entity.{} = ({}){}Mappings.getEnum(resultSet.getString(\"{}\"));\n", fieldName, type(fieldClass), fieldName, column);
+                builder.indent(1).append("entity.{} = ({}){}Mappings.getEnum(resultSet.getString({}));\n", fieldName, type(fieldClass), fieldName, column);
             } else if (Double.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getDouble(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getDouble({});\n", fieldName, column);
             } else if (BigDecimal.class.equals(fieldClass)) {
-                builder.indent(1).append("entity.{} = resultSet.getBigDecimal(\"{}\");\n", fieldName, column);
+                builder.indent(1).append("entity.{} = resultSet.getBigDecimal({});\n", fieldName, column);
             }
         }
         builder.indent(1).append("return entity;\n");
         builder.append("}");
+        this.builder.addField("{}", columns.append("};").build());
 
         return builder.build();
     }
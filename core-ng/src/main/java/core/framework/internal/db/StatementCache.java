@@ -0,0 +1,73 @@
+package core.framework.internal.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * prepared statements of one connection keyed by sql, connection is only used by one thread at a time, so it's not thread safe
+ * statement is taken out during use and put back after succeeded, so failed statement is closed rather than reused, and put back moves it to tail as LRU
+ *
+ * @author neo
+ */
+final class StatementCache {
+    private final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+    private final Map<String, CachedStatement> statements = new LinkedHashMap<>();
+    private final int maxSize;
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // generatedColumn must match, to not reuse statement prepared without generated keys for insert, or vice versa
+    PreparedStatement take(String sql, String generatedColumn) {
+        CachedStatement cached = statements.remove(sql);
+        if (cached == null) return null;
+        if (generatedColumn == null ? cached.generatedColumn == null : generatedColumn.equals(cached.generatedColumn)) return cached.statement;
+        close(cached.statement);
+        return null;
+    }
+
+    void put(String sql, String generatedColumn, PreparedStatement statement) {
+        CachedStatement previous = statements.put(sql, new CachedStatement(statement, generatedColumn));
+        if (previous != null) close(previous.statement);   // same sql was prepared again during use, e.g. nested query within forEach
+        if (statements.size() > maxSize) {
+            Iterator<CachedStatement> iterator = statements.values().iterator();
+            CachedStatement eldest = iterator.next();
+            iterator.remove();
+            close(eldest.statement);
+        }
+    }
+
+    // for broken connection, statements will be closed along with connection
+    void clear() {
+        statements.clear();
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("failed to close statement", e);
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+        final String generatedColumn;
+
+        CachedStatement(PreparedStatement statement, String generatedColumn) {
+            this.statement = statement;
+            this.generatedColumn = generatedColumn;
+        }
+    }
+}
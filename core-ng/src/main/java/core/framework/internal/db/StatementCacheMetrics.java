@@ -0,0 +1,28 @@
+package core.framework.internal.db;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+/**
+ * @author neo
+ */
+public class StatementCacheMetrics implements Metrics {
+    private final DatabaseOperation operation;
+    private final String name;
+
+    public StatementCacheMetrics(DatabaseOperation operation, String name) {
+        this.operation = operation;
+        this.name = name;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        // count within collect interval
+        stats.put(statName("hits"), operation.statementCacheHits.sumThenReset());
+        stats.put(statName("misses"), operation.statementCacheMisses.sumThenReset());
+    }
+
+    String statName(String statName) {
+        return name + "_statement_cache_" + statName;
+    }
+}
@@ -0,0 +1,27 @@
+package core.framework.internal.http;
+
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.LogManager;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * async call runs in okhttp dispatcher thread, bind action log of caller, so logs/tracking of retry, dns and connect are recorded in caller's action
+ *
+ * @author neo
+ */
+public class ActionLogInterceptor implements Interceptor {
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        ActionLog actionLog = chain.request().tag(ActionLog.class);
+        if (actionLog == null || LogManager.CURRENT_ACTION_LOG.get() != null) return chain.proceed(chain.request());
+        LogManager.CURRENT_ACTION_LOG.set(actionLog);
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            LogManager.CURRENT_ACTION_LOG.remove();
+        }
+    }
+}
@@ -7,10 +7,14 @@ import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.LogManager;
 import core.framework.internal.log.filter.FieldMapLogParam;
 import core.framework.log.ActionLogContext;
 import core.framework.util.StopWatch;
 import core.framework.util.Strings;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -23,9 +27,16 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static core.framework.log.Markers.errorCode;
 import static java.lang.String.CASE_INSENSITIVE_ORDER;
@@ -40,6 +51,7 @@ public final class HTTPClientImpl implements HTTPClient {
     private final String userAgent;
     private final long slowOperationThresholdInNanos;
     private final OkHttpClient client;
+    RequestHedger hedger;
 
     public HTTPClientImpl(OkHttpClient client, String userAgent, Duration slowOperationThreshold, Duration timeout) {
         this.client = client;
@@ -48,22 +60,90 @@ public final class HTTPClientImpl implements HTTPClient {
         timeoutInNano = timeout.toNanos();
     }
 
+    // send hedged GET request if no response within percentile of latency, e.g. 0.95, GET must be idempotent
+    public void hedge(double percentile) {
+        hedger = new RequestHedger(percentile);
+    }
+
     @Override
     public HTTPResponse execute(HTTPRequest request) {
         var watch = new StopWatch();
         Request httpRequest = httpRequest(request);
         try (Response httpResponse = client.newCall(httpRequest).execute()) {
-            return response(httpResponse);
+            HTTPResponse response = response(httpResponse);
+            if (hedger != null && request.method == HTTPMethod.GET) hedger.record(watch.elapsed());
+            return response;
+        } catch (IOException e) {
+            throw failed(request, e);
+        } finally {
+            completed(request, watch.elapsed());
+        }
+    }
+
+    @Override
+    public HTTPResponse download(HTTPRequest request, Path file) {
+        var watch = new StopWatch();
+        Request httpRequest = httpRequest(request);
+        Call call = client.newCall(httpRequest);
+        call.timeout().clearTimeout();      // large file may take longer than call timeout, stalled transfer is still bounded by read timeout
+        try (Response httpResponse = call.execute()) {
+            return downloadResponse(httpResponse, file);
         } catch (IOException e) {
-            throw new HTTPClientException(Strings.format("http request failed, uri={}, error={}", request.uri, e.getMessage()), "HTTP_REQUEST_FAILED", e);
+            throw failed(request, e);
         } finally {
-            long elapsed = watch.elapsed();
-            ActionLogContext.track("http", elapsed);
-            logger.debug("execute, elapsed={}", elapsed);
-            if (elapsed > slowOperationThresholdInNanos(request)) {
-                logger.warn(errorCode("SLOW_HTTP"), "slow http operation, method={}, uri={}, elapsed={}", request.method, request.uri, Duration.ofNanos(elapsed));
+            completed(request, watch.elapsed());
+        }
+    }
+
+    @Override
+    public CompletableFuture<HTTPResponse> executeAsync(HTTPRequest request) {
+        long start = System.nanoTime();
+        ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
+        Request httpRequest = httpRequest(request);
+        if (actionLog != null) httpRequest = httpRequest.newBuilder().tag(ActionLog.class, actionLog).build();
+        var future = new CompletableFuture<HTTPResponse>();
+        var callback = new ResponseCallback(request, actionLog, future, start);
+        Call call = enqueue(httpRequest, callback);
+        if (hedger != null && request.method == HTTPMethod.GET) {
+            long delay = hedger.delayInNanos();
+            if (delay > 0) {
+                Request hedgedRequest = httpRequest;
+                CompletableFuture.runAsync(() -> sendHedgedRequest(hedgedRequest, call, callback), CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
             }
         }
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        return future;
+    }
+
+    private void sendHedgedRequest(Request httpRequest, Call originalCall, ResponseCallback callback) {
+        if (callback.future.isDone()) return;
+        logger.debug("send hedged request, uri={}", callback.request.uri);
+        callback.pendingCalls.incrementAndGet();
+        Call call = enqueue(httpRequest, callback);
+        callback.future.whenComplete((response, e) -> {     // cancel slower one, it's no-op if call is completed
+            originalCall.cancel();
+            call.cancel();
+        });
+    }
+
+    private Call enqueue(Request httpRequest, ResponseCallback callback) {
+        Call call = client.newCall(httpRequest);
+        call.enqueue(callback);
+        return call;
+    }
+
+    private HTTPClientException failed(HTTPRequest request, IOException e) {
+        return new HTTPClientException(Strings.format("http request failed, uri={}, error={}", request.uri, e.getMessage()), "HTTP_REQUEST_FAILED", e);
+    }
+
+    private void completed(HTTPRequest request, long elapsed) {
+        ActionLogContext.track("http", elapsed);
+        logger.debug("execute, elapsed={}", elapsed);
+        if (elapsed > slowOperationThresholdInNanos(request)) {
+            logger.warn(errorCode("SLOW_HTTP"), "slow http operation, method={}, uri={}, elapsed={}", request.method, request.uri, Duration.ofNanos(elapsed));
+        }
     }
 
     long slowOperationThresholdInNanos(HTTPRequest request) {
@@ -74,22 +154,14 @@ public final class HTTPClientImpl implements HTTPClient {
     HTTPResponse response(Response httpResponse) throws IOException {
         int statusCode = httpResponse.code();
         logger.debug("[response] status={}", statusCode);
-
-        Map<String, String> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
-        Headers httpHeaders = httpResponse.headers();
-        for (int i = 0; i < httpHeaders.size(); i++) {
-            headers.put(httpHeaders.name(i), httpHeaders.value(i));
-        }
-        logger.debug("[response] headers={}", new FieldMapLogParam(headers));
+        Map<String, String> headers = headers(httpResponse);
 
         byte[] body;
         if (statusCode == 204) {
             // refer to https://tools.ietf.org/html/rfc7230#section-3.3.2, with 204, server won't send body and content-length, hence no need to read it, and body will be quietly closed by response.close()
             body = new byte[0];
         } else {
-            ResponseBody responseBody = httpResponse.body();
-            if (responseBody == null) throw new Error("unexpected response body"); // refer to okhttp3.Response.body(), call.execute always return non-null body except for cachedResponse/networkResponse
-            body = responseBody.bytes();
+            body = body(httpResponse).bytes();
         }
 
         var response = new HTTPResponse(statusCode, headers, body);
@@ -97,6 +169,43 @@ public final class HTTPClientImpl implements HTTPClient {
         return response;
     }
 
+    // only write body of successful response into file, other responses are read into memory, e.g. error message
+    // body is written into temp file under same dir then moved to target, so existing file is never replaced with partial content
+    HTTPResponse downloadResponse(Response httpResponse, Path file) throws IOException {
+        int statusCode = httpResponse.code();
+        if (statusCode < 200 || statusCode >= 300 || statusCode == 204) return response(httpResponse);
+
+        logger.debug("[response] status={}", statusCode);
+        Map<String, String> headers = headers(httpResponse);
+        Path target = file.toAbsolutePath();
+        Path tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".download");
+        try (InputStream stream = body(httpResponse).byteStream()) {
+            long size = Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("[response] file={}, size={}", file, size);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return new HTTPResponse(statusCode, headers, new byte[0]);
+    }
+
+    private Map<String, String> headers(Response httpResponse) {
+        Map<String, String> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        Headers httpHeaders = httpResponse.headers();
+        for (int i = 0; i < httpHeaders.size(); i++) {
+            headers.put(httpHeaders.name(i), httpHeaders.value(i));
+        }
+        logger.debug("[response] headers={}", new FieldMapLogParam(headers));
+        return headers;
+    }
+
+    private ResponseBody body(Response httpResponse) {
+        ResponseBody body = httpResponse.body();
+        if (body == null) throw new Error("unexpected response body"); // refer to okhttp3.Response.body(), call.execute always return non-null body except for cachedResponse/networkResponse
+        return body;
+    }
+
     Request httpRequest(HTTPRequest request) {
         var builder = new Request.Builder();
 
@@ -145,4 +254,60 @@ public final class HTTPClientImpl implements HTTPClient {
         if (ContentType.APPLICATION_JSON.equals(contentType)) return MEDIA_TYPE_APPLICATION_JSON; // avoid parsing as application/json is most used type
         return MediaType.get(contentType.toString());   // use get() not parse() to fail if passed invalid contentType
     }
+
+    // runs in okhttp dispatcher thread, handle response within action log of caller
+    private final class ResponseCallback implements Callback {
+        final HTTPRequest request;
+        final CompletableFuture<HTTPResponse> future;
+        final AtomicInteger pendingCalls = new AtomicInteger(1);    // with hedging, only fail if all calls failed
+        private final ActionLog actionLog;
+        private final long start;
+
+        ResponseCallback(HTTPRequest request, ActionLog actionLog, CompletableFuture<HTTPResponse> future, long start) {
+            this.request = request;
+            this.actionLog = actionLog;
+            this.future = future;
+            this.start = start;
+        }
+
+        @Override
+        public void onResponse(Call call, Response httpResponse) {
+            boolean bound = bindActionLog();
+            try (httpResponse) {
+                if (future.isDone()) return;    // the other hedged call completed first
+                HTTPResponse response = response(httpResponse);
+                if (hedger != null && request.method == HTTPMethod.GET) hedger.record(System.nanoTime() - start);
+                completed(request, System.nanoTime() - start);
+                future.complete(response);
+            } catch (IOException e) {
+                fail(e);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                if (bound) LogManager.CURRENT_ACTION_LOG.remove();
+            }
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            boolean bound = bindActionLog();
+            try {
+                fail(e);
+            } finally {
+                if (bound) LogManager.CURRENT_ACTION_LOG.remove();
+            }
+        }
+
+        private void fail(IOException e) {
+            if (pendingCalls.decrementAndGet() > 0 || future.isDone()) return;
+            completed(request, System.nanoTime() - start);
+            future.completeExceptionally(failed(request, e));
+        }
+
+        private boolean bindActionLog() {
+            if (actionLog == null || LogManager.CURRENT_ACTION_LOG.get() != null) return false;
+            LogManager.CURRENT_ACTION_LOG.set(actionLog);
+            return true;
+        }
+    }
 }
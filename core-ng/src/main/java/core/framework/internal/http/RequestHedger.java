@@ -0,0 +1,36 @@
+package core.framework.internal.http;
+
+import core.framework.internal.stat.Histogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * track latency of GET requests, hedged request is sent if response doesn't arrive within the percentile of latency,
+ * percentile is recalculated every window of requests, hedging is disabled until first window is filled
+ *
+ * @author neo
+ */
+final class RequestHedger {
+    private static final int WINDOW = 200;
+
+    private final Histogram latency = new Histogram();
+    private final AtomicInteger samples = new AtomicInteger();
+    private final double percentile;
+    private volatile long delayInNanos;
+
+    RequestHedger(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long elapsed) {
+        latency.record(elapsed);
+        if (samples.incrementAndGet() % WINDOW == 0) {
+            delayInNanos = latency.snapshot().percentile(percentile);
+        }
+    }
+
+    // return 0 if not to hedge
+    long delayInNanos() {
+        return delayInNanos;
+    }
+}
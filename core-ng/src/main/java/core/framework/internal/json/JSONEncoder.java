@@ -0,0 +1,13 @@
+package core.framework.internal.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * @author neo
+ */
+@FunctionalInterface
+interface JSONEncoder<T> {
+    void encode(JsonGenerator generator, T bean) throws IOException;
+}
@@ -0,0 +1,172 @@
+package core.framework.internal.json;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import core.framework.api.json.Property;
+import core.framework.internal.asm.CodeBuilder;
+import core.framework.internal.asm.DynamicInstanceBuilder;
+import core.framework.internal.reflect.Classes;
+import core.framework.internal.reflect.GenericTypes;
+import core.framework.util.Maps;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static core.framework.internal.asm.Literal.type;
+import static core.framework.internal.asm.Literal.variable;
+
+/**
+ * generate encoder to write bean thru jackson generator directly, with pre-encoded field names and enum values,
+ * to skip bean serializer lookup and property introspection of databind
+ *
+ * @author neo
+ */
+final class JSONEncoderBuilder<T> {
+    private static final Set<Class<?>> VALUE_CLASSES = Set.of(String.class, Boolean.class, Integer.class, Long.class, Double.class, BigDecimal.class,
+            LocalDate.class, LocalDateTime.class, LocalTime.class, ZonedDateTime.class, Instant.class);
+
+    final DynamicInstanceBuilder<JSONEncoder<T>> builder;
+    private final Class<T> beanClass;
+    private final String helper = type(JSONEncoderHelper.class);
+    private final Map<Type, String> encodeMethods = Maps.newHashMap();
+    private final Map<String, String> fieldNames = Maps.newHashMap();
+    private final Map<Class<?>, String> enumValues = Maps.newHashMap();
+    private int index;
+
+    JSONEncoderBuilder(Class<T> beanClass) {
+        this.beanClass = beanClass;
+        builder = new DynamicInstanceBuilder<>(JSONEncoder.class, JSONEncoder.class.getCanonicalName() + "$" + beanClass.getSimpleName());
+    }
+
+    JSONEncoder<T> build() {
+        String methodName = encodeBeanMethod(beanClass);
+        var builder = new CodeBuilder();
+        builder.append("public void encode(com.fasterxml.jackson.core.JsonGenerator generator, Object bean) throws java.io.IOException {\n")
+                .indent(1).append("if (bean == null) generator.writeNull();\n")
+                .indent(1).append("else {}(generator, ({}) bean);\n", methodName, type(beanClass))
+                .append('}');
+        this.builder.addMethod(builder.build());
+        return this.builder.build();
+    }
+
+    private String encodeBeanMethod(Class<?> beanClass) {
+        String methodName = encodeMethods.get(beanClass);
+        if (methodName != null) return methodName;
+        if (beanClass.getPackageName().startsWith("java"))     // class must be validated before building encoder
+            throw new Error("bean class is not supported, class=" + beanClass.getCanonicalName());
+
+        methodName = "encode" + beanClass.getSimpleName() + (index++);
+        var builder = new CodeBuilder();
+        builder.append("private void {}(com.fasterxml.jackson.core.JsonGenerator generator, {} bean) throws java.io.IOException {\n", methodName, type(beanClass));
+        builder.indent(1).append("generator.writeStartObject();\n");
+        for (Field field : Classes.instanceFields(beanClass)) {
+            builder.indent(1).append("generator.writeFieldName(this.{});\n", fieldName(propertyName(field)));
+            encodeValue(builder, "bean." + field.getName(), field.getGenericType(), 1);
+        }
+        builder.indent(1).append("generator.writeEndObject();\n")
+                .append('}');
+        this.builder.addMethod(builder.build());
+
+        encodeMethods.put(beanClass, methodName);
+        return methodName;
+    }
+
+    private String encodeListMethod(Type listType) {
+        String methodName = encodeMethods.get(listType);
+        if (methodName != null) return methodName;
+
+        Class<?> valueClass = GenericTypes.listValueClass(listType);
+        methodName = "encodeList" + valueClass.getSimpleName() + (index++);
+        var builder = new CodeBuilder();
+        builder.append("private void {}(com.fasterxml.jackson.core.JsonGenerator generator, java.util.List list) throws java.io.IOException {\n", methodName);
+        builder.indent(1).append("generator.writeStartArray();\n")
+                .indent(1).append("for (java.util.Iterator iterator = list.iterator(); iterator.hasNext(); ) {\n")
+                .indent(2).append("{} value = ({}) iterator.next();\n", type(valueClass), type(valueClass));
+        encodeValue(builder, "value", valueClass, 2);
+        builder.indent(1).append("}\n")
+                .indent(1).append("generator.writeEndArray();\n")
+                .append('}');
+        this.builder.addMethod(builder.build());
+
+        encodeMethods.put(listType, methodName);
+        return methodName;
+    }
+
+    private String encodeMapMethod(Type mapType) {
+        String methodName = encodeMethods.get(mapType);
+        if (methodName != null) return methodName;
+
+        Class<?> keyClass = GenericTypes.mapKeyClass(mapType);
+        Type valueType = GenericTypes.mapValueType(mapType);
+        Class<?> valueClass = GenericTypes.rawClass(valueType);
+        methodName = "encodeMap" + keyClass.getSimpleName() + valueClass.getSimpleName() + (index++);
+        var builder = new CodeBuilder();
+        builder.append("private void {}(com.fasterxml.jackson.core.JsonGenerator generator, java.util.Map map) throws java.io.IOException {\n", methodName);
+        builder.indent(1).append("generator.writeStartObject();\n")
+                .indent(1).append("for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {\n")
+                .indent(2).append("java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();\n");
+        if (keyClass.isEnum()) {
+            builder.indent(2).append("generator.writeFieldName(this.{}[(({}) entry.getKey()).ordinal()]);\n", enumValues(keyClass), type(keyClass));
+        } else {
+            builder.indent(2).append("generator.writeFieldName((String) entry.getKey());\n");
+        }
+        builder.indent(2).append("{} value = ({}) entry.getValue();\n", type(valueClass), type(valueClass));
+        encodeValue(builder, "value", valueType, 2);
+        builder.indent(1).append("}\n")
+                .indent(1).append("generator.writeEndObject();\n")
+                .append('}');
+        this.builder.addMethod(builder.build());
+
+        encodeMethods.put(mapType, methodName);
+        return methodName;
+    }
+
+    private void encodeValue(CodeBuilder builder, String variable, Type valueType, int indent) {
+        Class<?> valueClass = GenericTypes.rawClass(valueType);
+        if (VALUE_CLASSES.contains(valueClass)) {
+            builder.indent(indent).append("{}.write(generator, {});\n", helper, variable);
+            return;
+        }
+
+        builder.indent(indent).append("if ({} == null) generator.writeNull();\n", variable);
+        if (valueClass.isEnum()) {
+            builder.indent(indent).append("else generator.writeString(this.{}[{}.ordinal()]);\n", enumValues(valueClass), variable);
+        } else if (GenericTypes.isList(valueType)) {
+            builder.indent(indent).append("else {}(generator, {});\n", encodeListMethod(valueType), variable);
+        } else if (GenericTypes.isMap(valueType)) {
+            builder.indent(indent).append("else {}(generator, {});\n", encodeMapMethod(valueType), variable);
+        } else {
+            builder.indent(indent).append("else {}(generator, {});\n", encodeBeanMethod(valueClass), variable);
+        }
+    }
+
+    // cache class doesn't require @Property, use field name same as jackson default
+    private String propertyName(Field field) {
+        Property property = field.getDeclaredAnnotation(Property.class);
+        if (property == null) return field.getName();
+        return property.name();
+    }
+
+    private String fieldName(String name) {
+        return fieldNames.computeIfAbsent(name, key -> {
+            String field = "fieldName" + (index++);
+            builder.addField("private final {} {} = new {}({});", type(SerializedString.class), field, type(SerializedString.class), variable(name));
+            return field;
+        });
+    }
+
+    private String enumValues(Class<?> enumClass) {
+        return enumValues.computeIfAbsent(enumClass, key -> {
+            String field = "enumValues" + enumClass.getSimpleName() + (index++);
+            builder.addField("private final {}[] {} = {}.enumValues({});", type(SerializedString.class), field, helper, variable(enumClass));
+            return field;
+        });
+    }
+}
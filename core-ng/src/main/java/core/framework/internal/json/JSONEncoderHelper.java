@@ -0,0 +1,100 @@
+package core.framework.internal.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import core.framework.api.json.Property;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+
+import static java.time.format.DateTimeFormatter.ISO_INSTANT;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
+
+/**
+ * used by generated json encoder, output must be same as jackson with JSONMapper config
+ *
+ * @author neo
+ */
+final class JSONEncoderHelper {
+    // enum value in ordinal order, json name is pre-encoded
+    static SerializedString[] enumValues(Class<? extends Enum<?>> enumClass) {
+        Enum<?>[] constants = enumClass.getEnumConstants();
+        var values = new SerializedString[constants.length];
+        for (Enum<?> constant : constants) {
+            values[constant.ordinal()] = new SerializedString(enumValue(enumClass, constant));
+        }
+        return values;
+    }
+
+    private static String enumValue(Class<?> enumClass, Enum<?> constant) {
+        try {
+            Field field = enumClass.getDeclaredField(constant.name());
+            Property property = field.getDeclaredAnnotation(Property.class);
+            if (property == null || property.name().isEmpty()) return constant.name();     // same as JSONAnnotationIntrospector
+            return property.name();
+        } catch (NoSuchFieldException e) {
+            throw new Error(e);
+        }
+    }
+
+    static void write(JsonGenerator generator, String value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(value);
+    }
+
+    static void write(JsonGenerator generator, Boolean value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeBoolean(value);
+    }
+
+    static void write(JsonGenerator generator, Integer value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeNumber(value);
+    }
+
+    static void write(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeNumber(value);
+    }
+
+    static void write(JsonGenerator generator, Double value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeNumber(value);
+    }
+
+    static void write(JsonGenerator generator, BigDecimal value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeNumber(value);
+    }
+
+    static void write(JsonGenerator generator, LocalDate value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(ISO_LOCAL_DATE.format(value));
+    }
+
+    static void write(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(JSONMapper.LOCAL_DATE_TIME_FORMATTER.format(value));
+    }
+
+    static void write(JsonGenerator generator, LocalTime value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(JSONMapper.LOCAL_TIME_FORMATTER.format(value));
+    }
+
+    static void write(JsonGenerator generator, ZonedDateTime value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(ISO_INSTANT.format(value));
+    }
+
+    static void write(JsonGenerator generator, Instant value) throws IOException {
+        if (value == null) generator.writeNull();
+        else generator.writeString(ISO_INSTANT.format(value));
+    }
+}
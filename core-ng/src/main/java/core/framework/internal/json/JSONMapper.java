@@ -33,6 +33,14 @@ import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
  * @author neo
  */
 public class JSONMapper {
+    // formatters are shared by jackson module and generated json encoder, to keep output consistent
+    static final DateTimeFormatter LOCAL_TIME_FORMATTER = new DateTimeFormatterBuilder().parseStrict().append(localTimeFormatter()).toFormatter();
+    static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+            .parseStrict()
+            .append(ISO_LOCAL_DATE)
+            .appendLiteral('T')
+            .append(localTimeFormatter())
+            .toFormatter();
     public static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
     private static Map<Class<?>, JSONReader<?>> readers = new HashMap<>();
     private static Map<Class<?>, JSONWriter<?>> writers = new HashMap<>();
@@ -72,9 +80,15 @@ public class JSONMapper {
 
     private static JavaTimeModule timeModule() {
         var module = new JavaTimeModule();
+        module.addSerializer(ZonedDateTime.class, new ZonedDateTimeSerializer(ISO_INSTANT));
+        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(LOCAL_DATE_TIME_FORMATTER));
+        module.addSerializer(LocalTime.class, new LocalTimeSerializer(LOCAL_TIME_FORMATTER));
+        return module;
+    }
 
+    private static DateTimeFormatter localTimeFormatter() {
         // redefine date time formatter to output nano seconds in at least 3 digits, which inline with ISO standard and ES standard
-        DateTimeFormatter localTimeFormatter = new DateTimeFormatterBuilder()
+        return new DateTimeFormatterBuilder()
                 .parseStrict()
                 .appendValue(HOUR_OF_DAY, 2)
                 .appendLiteral(':')
@@ -83,18 +97,5 @@ public class JSONMapper {
                 .appendValue(SECOND_OF_MINUTE, 2)
                 .appendFraction(NANO_OF_SECOND, 3, 9, true) // always output 3 digits of nano seconds (iso date format doesn't specify how many digits it should present, here always keep 3)
                 .toFormatter();
-
-        module.addSerializer(ZonedDateTime.class, new ZonedDateTimeSerializer(ISO_INSTANT));
-        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(new DateTimeFormatterBuilder()
-                .parseStrict()
-                .append(ISO_LOCAL_DATE)
-                .appendLiteral('T')
-                .append(localTimeFormatter)
-                .toFormatter()));
-        module.addSerializer(LocalTime.class, new LocalTimeSerializer(new DateTimeFormatterBuilder()
-                .parseStrict()
-                .append(localTimeFormatter)
-                .toFormatter()));
-        return module;
     }
 }
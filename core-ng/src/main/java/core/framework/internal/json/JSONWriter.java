@@ -1,37 +1,60 @@
 package core.framework.internal.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import core.framework.util.Strings;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 
-
 /**
  * @author neo
  */
 public final class JSONWriter<T> {
-    private final ObjectWriter writer;
+    private final JsonFactory factory = JSONMapper.OBJECT_MAPPER.getFactory();
+    private final JSONEncoder<T> encoder;
 
     public JSONWriter(Class<T> instanceClass) {
-        this.writer = JSONMapper.OBJECT_MAPPER.writerFor(instanceClass);
+        encoder = new JSONEncoderBuilder<>(instanceClass).build();
     }
 
-    // with jdk 11, write to String then covert to byte[] is faster than write to byte[]
+    // encode to utf-8 bytes directly with generated encoder, not thru String
     // toJSON won't throw exception especially instance class will be validated before
     public byte[] toJSON(T instance) {
+        var builder = new ByteArrayBuilder(factory._getBufferRecycler());
         try {
-            return Strings.bytes(writer.writeValueAsString(instance));
-        } catch (JsonProcessingException e) {
+            write(factory.createGenerator(builder, JsonEncoding.UTF8), instance);
+            byte[] json = builder.toByteArray();
+            builder.release();
+            return json;
+        } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    // serialize incrementally thru jackson generator, for large value, stream is not closed after written
+    public void writeJSON(T instance, OutputStream stream) throws IOException {
+        JsonGenerator generator = factory.createGenerator(stream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        write(generator, instance);
+    }
+
     public String toJSONString(T instance) {
+        var writer = new SegmentedStringWriter(factory._getBufferRecycler());
         try {
-            return writer.writeValueAsString(instance);
-        } catch (JsonProcessingException e) {
+            write(factory.createGenerator(writer), instance);
+            return writer.getAndClear();
+        } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
+
+    private void write(JsonGenerator generator, T instance) throws IOException {
+        try (generator) {
+            encoder.encode(generator, instance);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package core.framework.internal.kafka;
 
+import core.framework.internal.async.ThreadPools;
 import core.framework.internal.log.LogManager;
 import core.framework.kafka.BulkMessageHandler;
 import core.framework.kafka.MessageHandler;
@@ -19,6 +20,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -36,6 +38,7 @@ public class MessageListener {
     private final Set<String> topics = new HashSet<>();
 
     public int poolSize = Runtime.getRuntime().availableProcessors() * 4;
+    public int concurrency = 1;                 // num of workers per listener thread to handle records in parallel, 1 means handle on listener thread
     public Duration maxProcessTime = Duration.ofMinutes(30);
     public Duration longConsumerDelayThreshold = Duration.ofSeconds(60);
     public int maxPollRecords = 500;            // default kafka setting, refer to org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG
@@ -45,6 +48,7 @@ public class MessageListener {
     public String groupId = LogManager.APP_NAME;
 
     volatile boolean shutdown;
+    ExecutorService handlerExecutor;
     private MessageListenerThread[] threads;
 
     public MessageListener(KafkaURI uri, String name, LogManager logManager) {
@@ -61,6 +65,7 @@ public class MessageListener {
     }
 
     public void start() {
+        if (concurrency > 1) handlerExecutor = ThreadPools.cachedThreadPool(poolSize * concurrency, "kafka-handler-" + (name == null ? "" : name + "-"));
         threads = new MessageListenerThread[poolSize];
         for (int i = 0; i < poolSize; i++) {
             String name = listenerThreadName(this.name, i);
@@ -96,6 +101,7 @@ public class MessageListener {
                     logger.warn(e.getMessage(), e);
                 }
             }
+            if (handlerExecutor != null) handlerExecutor.shutdown();   // listener threads wait for all submitted records, so executor is idle here
             logger.info("kafka listener stopped, uri={}, topics={}, name={}", uri, topics, name);
         }
     }
@@ -11,6 +11,8 @@ import core.framework.util.Threads;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
 import org.slf4j.Logger;
@@ -19,11 +21,14 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static core.framework.log.Markers.errorCode;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -120,14 +125,18 @@ class MessageListenerThread extends Thread {
                 count++;
                 size += record.value().length;
             }
-            for (Map.Entry<String, List<ConsumerRecord<byte[], byte[]>>> entry : messages.entrySet()) {
-                String topic = entry.getKey();
-                List<ConsumerRecord<byte[], byte[]>> records = entry.getValue();
-                MessageProcess<?> process = listener.processes.get(topic);
-                if (process.bulkHandler != null) {
-                    handleBulk(topic, process, records, maxProcessTime(maxProcessTimeInNano, records.size(), count));
-                } else {
-                    handle(topic, process, records, maxProcessTime(maxProcessTimeInNano, 1, count));
+            if (listener.concurrency > 1) {
+                processConcurrently(messages, count);
+            } else {
+                for (Map.Entry<String, List<ConsumerRecord<byte[], byte[]>>> entry : messages.entrySet()) {
+                    String topic = entry.getKey();
+                    List<ConsumerRecord<byte[], byte[]>> records = entry.getValue();
+                    MessageProcess<?> process = listener.processes.get(topic);
+                    if (process.bulkHandler != null) {
+                        handleBulk(topic, process, records, maxProcessTime(maxProcessTimeInNano, records.size(), count));
+                    } else {
+                        handle(topic, process, records, maxProcessTime(maxProcessTimeInNano, 1, count));
+                    }
                 }
             }
         } finally {
@@ -136,6 +145,70 @@ class MessageListenerThread extends Thread {
         }
     }
 
+    // dispatch records of single message handlers to lanes by key (or partition if no key), records in one lane are handled in order by one worker,
+    // bulk handlers still run on poll thread, and commit contiguous completed offsets while waiting, next poll starts after all lanes complete
+    private void processConcurrently(Map<String, List<ConsumerRecord<byte[], byte[]>>> messages, int count) {
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>(count);
+        for (List<ConsumerRecord<byte[], byte[]>> topicRecords : messages.values()) {
+            if (listener.processes.get(topicRecords.get(0).topic()).bulkHandler == null) records.addAll(topicRecords);
+        }
+        List<List<ConsumerRecord<byte[], byte[]>>> lanes = lanes(records, listener.concurrency);
+        var tracker = new OffsetTracker(records);
+        var latch = new CountDownLatch(lanes.size());
+        for (List<ConsumerRecord<byte[], byte[]>> lane : lanes) {
+            listener.handlerExecutor.execute(() -> handleLane(lane, tracker, latch));
+        }
+        for (Map.Entry<String, List<ConsumerRecord<byte[], byte[]>>> entry : messages.entrySet()) {
+            String topic = entry.getKey();
+            MessageProcess<?> process = listener.processes.get(topic);
+            if (process.bulkHandler != null) {
+                List<ConsumerRecord<byte[], byte[]>> topicRecords = entry.getValue();
+                handleBulk(topic, process, topicRecords, maxProcessTime(maxProcessTimeInNano, topicRecords.size(), count));
+            }
+        }
+        awaitLanes(latch, tracker);
+    }
+
+    private void handleLane(List<ConsumerRecord<byte[], byte[]>> lane, OffsetTracker tracker, CountDownLatch latch) {
+        try {
+            long maxProcessTimeInNano = maxProcessTime(this.maxProcessTimeInNano, 1, lane.size());   // lanes run in parallel, each lane has full budget
+            for (ConsumerRecord<byte[], byte[]> record : lane) {
+                String topic = record.topic();
+                handle(topic, listener.processes.get(topic), List.of(record), maxProcessTimeInNano);
+                tracker.complete(record);
+            }
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    // must wait all lanes to complete before committing position of this poll, so interruption is ignored
+    private void awaitLanes(CountDownLatch latch, OffsetTracker tracker) {
+        while (!await(latch)) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = tracker.committableOffsets();
+            if (!offsets.isEmpty()) consumer.commitAsync(offsets, null);    // commit progress, in case slow handlers block for long time
+        }
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            logger.warn("interrupted while waiting for records to be handled", e);
+            return false;
+        }
+    }
+
+    List<List<ConsumerRecord<byte[], byte[]>>> lanes(List<ConsumerRecord<byte[], byte[]>> records, int concurrency) {
+        Map<Integer, List<ConsumerRecord<byte[], byte[]>>> lanes = new HashMap<>();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            byte[] key = record.key();
+            int hash = 31 * record.topic().hashCode() + (key == null ? record.partition() : Arrays.hashCode(key));
+            lanes.computeIfAbsent(Math.floorMod(hash, concurrency), index -> new ArrayList<>()).add(record);
+        }
+        return new ArrayList<>(lanes.values());
+    }
+
     <T> void handle(String topic, MessageProcess<T> process, List<ConsumerRecord<byte[], byte[]>> records, long maxProcessTimeInNano) {
         for (ConsumerRecord<byte[], byte[]> record : records) {
             ActionLog actionLog = logManager.begin("=== message handling begin ===", null);
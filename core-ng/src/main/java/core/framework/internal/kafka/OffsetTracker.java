@@ -0,0 +1,87 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * track in-flight offsets of one poll, records complete out of order across partitions/keys,
+ * only contiguous completed offsets of each partition can be committed, to not skip unprocessed records if process crashes
+ *
+ * @author neo
+ */
+class OffsetTracker {
+    private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
+    private final Object lock = new Object();
+
+    OffsetTracker(List<ConsumerRecord<byte[], byte[]>> records) {
+        Map<TopicPartition, List<Long>> offsets = new HashMap<>();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            offsets.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), key -> new ArrayList<>()).add(record.offset());
+        }
+        for (Map.Entry<TopicPartition, List<Long>> entry : offsets.entrySet()) {
+            partitions.put(entry.getKey(), new PartitionOffsets(entry.getValue()));
+        }
+    }
+
+    void complete(ConsumerRecord<byte[], byte[]> record) {
+        PartitionOffsets offsets = partitions.get(new TopicPartition(record.topic(), record.partition()));
+        synchronized (lock) {
+            offsets.complete(record.offset());
+        }
+    }
+
+    // return next offsets to commit for partitions which made progress since last call
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> results = new HashMap<>();
+        synchronized (lock) {
+            for (Map.Entry<TopicPartition, PartitionOffsets> entry : partitions.entrySet()) {
+                long offset = entry.getValue().committableOffset();
+                if (offset >= 0) results.put(entry.getKey(), new OffsetAndMetadata(offset));
+            }
+        }
+        return results;
+    }
+
+    private static class PartitionOffsets {
+        final long[] offsets;   // records of one partition are in order
+        final boolean[] completed;
+        int committed;          // index of first not committed offset
+
+        PartitionOffsets(List<Long> offsets) {
+            this.offsets = new long[offsets.size()];
+            for (int i = 0; i < this.offsets.length; i++) {
+                this.offsets[i] = offsets.get(i);
+            }
+            completed = new boolean[this.offsets.length];
+        }
+
+        void complete(long offset) {
+            int index = (int) (offset - offsets[0]);   // offsets are usually continuous, unless compacted or transactional markers
+            if (index >= offsets.length || offsets[index] != offset) index = indexOf(offset);
+            completed[index] = true;
+        }
+
+        private int indexOf(long offset) {
+            for (int i = 0; i < offsets.length; i++) {
+                if (offsets[i] == offset) return i;
+            }
+            throw new Error("offset not found, offset=" + offset);
+        }
+
+        long committableOffset() {
+            int index = committed;
+            while (index < offsets.length && completed[index]) {
+                index++;
+            }
+            if (index == committed) return -1;
+            committed = index;
+            return offsets[index - 1] + 1;     // committed offset is the next record to consume
+        }
+    }
+}
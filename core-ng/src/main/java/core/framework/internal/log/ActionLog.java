@@ -17,6 +17,10 @@ import static core.framework.internal.log.LogLevel.WARN;
 import static core.framework.util.Strings.format;
 
 /**
+ * action log can be updated by async http client threads along with action thread, so changes of events/context/stats are synchronized,
+ * lock is uncontended in common case, after action ended, updates are ignored, e.g. late callback of async http call,
+ * so action log message can be created without lock
+ *
  * @author neo
  */
 public final class ActionLog {
@@ -48,6 +52,7 @@ public final class ActionLog {
 
     private LogLevel result = LogLevel.INFO;
     private String errorCode;
+    private boolean ended;
 
     public ActionLog(String message, String id) {
         startTime = System.nanoTime();
@@ -70,26 +75,34 @@ public final class ActionLog {
     }
 
     void process(LogEvent event) {
-        if (event.level.value > result.value) {
-            result = event.level;
-            errorCode = event.errorCode();      // only update errorCode/message if level raised, so errorCode will be first WARN or ERROR
-            errorMessage = Strings.truncate(event.message(), MAX_CONTEXT_VALUE_LENGTH);     // limit error message length in action log
-        }
-        if (event.level.value >= WARN.value || events.size() < SOFT_EVENTS_LIMIT) {       // after reach max holding lines, only add warning/error events
-            add(event);
+        synchronized (this) {
+            if (ended) return;
+            if (event.level.value > result.value) {
+                result = event.level;
+                errorCode = event.errorCode();      // only update errorCode/message if level raised, so errorCode will be first WARN or ERROR
+                errorMessage = Strings.truncate(event.message(), MAX_CONTEXT_VALUE_LENGTH);     // limit error message length in action log
+            }
+            if (event.level.value >= WARN.value || events.size() < SOFT_EVENTS_LIMIT) {       // after reach max holding lines, only add warning/error events
+                add(event);
+            }
         }
     }
 
     long complete() {
         double cpuTime = THREAD.getCurrentThreadCpuTime() - startCPUTime;
-        stats.put("cpu_time", cpuTime);
+        synchronized (this) {
+            stats.put("cpu_time", cpuTime);
+        }
         elapsed = elapsed();
         add(event("elapsed={}", elapsed));
         return elapsed;
     }
 
     void end(String message) {
-        add(event(message));
+        synchronized (this) {
+            add(event(message));
+            ended = true;
+        }
     }
 
     public void maxProcessTime(long maxProcessTimeInNano) {
@@ -102,9 +115,12 @@ public final class ActionLog {
     }
 
     private void add(LogEvent event) {  // log inside action log will call this to add log event directly, so internal message won't be suspended
-        events.add(event);
-        if (events.size() == SOFT_EVENTS_LIMIT) {
-            events.add(event("...(soft trace limit reached)"));
+        synchronized (this) {
+            if (ended) return;
+            events.add(event);
+            if (events.size() == SOFT_EVENTS_LIMIT) {
+                events.add(event("...(soft trace limit reached)"));
+            }
         }
     }
 
@@ -129,31 +145,45 @@ public final class ActionLog {
     }
 
     public void context(String key, Object... values) {
-        List<String> contextValues = context.computeIfAbsent(key, k -> new ArrayList<>(Math.max(2, values.length)));    // at least use 2 as init capacity, 0 capacity will result in size 10 array after adding
-        for (Object value : values) {
-            String contextValue = String.valueOf(value);
-            if (contextValue.length() > MAX_CONTEXT_VALUE_LENGTH) { // prevent application code from putting large blob as context, e.g. xml or json response
-                throw new Error(format("context value is too long, key={}, value={}...(truncated)", key, contextValue.substring(0, MAX_CONTEXT_VALUE_LENGTH)));
+        synchronized (this) {
+            if (ended) return;
+            List<String> contextValues = context.computeIfAbsent(key, k -> new ArrayList<>(Math.max(2, values.length)));    // at least use 2 as init capacity, 0 capacity will result in size 10 array after adding
+            for (Object value : values) {
+                String contextValue = String.valueOf(value);
+                if (contextValue.length() > MAX_CONTEXT_VALUE_LENGTH) { // prevent application code from putting large blob as context, e.g. xml or json response
+                    throw new Error(format("context value is too long, key={}, value={}...(truncated)", key, contextValue.substring(0, MAX_CONTEXT_VALUE_LENGTH)));
+                }
+                contextValues.add(contextValue);
+                add(event("[context] {}={}", key, contextValue));
             }
-            contextValues.add(contextValue);
-            add(event("[context] {}={}", key, contextValue));
         }
     }
 
     public void stat(String key, double value) {
-        stats.compute(key, (k, oldValue) -> (oldValue == null) ? value : oldValue + value);
+        synchronized (this) {
+            if (ended) return;
+            stats.compute(key, (k, oldValue) -> (oldValue == null) ? value : oldValue + value);
+        }
         var format = new DecimalFormat();
         add(event("[stat] {}={}", key, format.format(value)));
     }
 
     public int track(String operation, long elapsed, int readEntries, int writeEntries) {
-        PerformanceStat stat = performanceStats.computeIfAbsent(operation, key -> new PerformanceStat());
-        stat.count += 1;
-        stat.totalElapsed += elapsed;
-        stat.readEntries += readEntries;
-        stat.writeEntries += writeEntries;
-        // not to add event to keep trace log concise
-        return stat.count;
+        return track(operation, elapsed, readEntries, writeEntries, 1);
+    }
+
+    // operations is count of operations done in one call, e.g. commands of redis pipeline
+    public int track(String operation, long elapsed, int readEntries, int writeEntries, int operations) {
+        synchronized (this) {
+            if (ended) return 0;
+            PerformanceStat stat = performanceStats.computeIfAbsent(operation, key -> new PerformanceStat());
+            stat.count += operations;
+            stat.totalElapsed += elapsed;
+            stat.readEntries += readEntries;
+            stat.writeEntries += writeEntries;
+            // not to add event to keep trace log concise
+            return stat.count;
+        }
     }
 
     public String correlationId() {
@@ -3,6 +3,7 @@ package core.framework.internal.log.appender;
 import core.framework.internal.json.JSONWriter;
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.kafka.ProducerMetrics;
+import core.framework.log.OverflowPolicy;
 import core.framework.log.message.ActionLogMessage;
 import core.framework.log.message.LogTopics;
 import core.framework.log.message.StatMessage;
@@ -14,32 +15,61 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.record.CompressionType;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * queued records are bounded by total bytes, overflow is handled by policy,
+ * log forwarder thread drains queue in batch, if log kafka is not available, records are spilled to local disk (if enabled) or dropped, and retry in 30 seconds
+ *
  * @author neo
  */
 public final class KafkaAppender implements LogAppender {
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long BLOCK_TIMEOUT_IN_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long RETRY_INTERVAL_IN_MS = Duration.ofSeconds(30).toMillis();
+
     public final ProducerMetrics producerMetrics = new ProducerMetrics("log-forwarder");
 
     final BlockingQueue<ProducerRecord<byte[], byte[]>> records = new LinkedBlockingQueue<>();
+    final AtomicLong queueSize = new AtomicLong();     // total bytes of queued records
+    final LongAdder droppedRecords = new LongAdder();
+    final LongAdder failedRecords = new LongAdder();
+    final LongAdder spilledRecords = new LongAdder();
     private final Logger logger = LoggerFactory.getLogger(KafkaAppender.class);
     private final Thread logForwarderThread;
     private final JSONWriter<ActionLogMessage> actionLogWriter = new JSONWriter<>(ActionLogMessage.class);
     private final JSONWriter<StatMessage> statWriter = new JSONWriter<>(StatMessage.class);
     private final Callback callback = new KafkaCallback();
     private final KafkaURI uri;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    public long maxQueueSize = 50 * 1024 * 1024;    // 50M
+    public OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+    LogSpill spill;
 
     private Producer<byte[], byte[]> producer;
     private volatile boolean stop;
+    private volatile boolean available = true;
+    private volatile long retryTime;
 
     public KafkaAppender(KafkaURI uri) {
         this.uri = uri;
@@ -50,6 +80,10 @@ public final class KafkaAppender implements LogAppender {
         }, "log-forwarder");
     }
 
+    public void spill(Path dir, long maxSize) {
+        spill = new LogSpill(dir, maxSize);
+    }
+
     void initialize() {
         while (!stop) {
             if (uri.resolveURI()) {
@@ -57,26 +91,89 @@ public final class KafkaAppender implements LogAppender {
                 break;
             }
             logger.warn("failed to resolve log kafka uri, retry in 10 seconds, uri={}", this.uri);
-            records.clear();    // throw away records, to prevent from high heap usage
-            Threads.sleepRoughly(Duration.ofSeconds(10));
+            Threads.sleepRoughly(Duration.ofSeconds(10));   // queue is bounded, records overflowed are handled by policy
         }
+        if (spill != null && !spill.isEmpty()) available = false;  // replay spilled records of previous run first
     }
 
     private void process() {
+        List<ProducerRecord<byte[], byte[]>> batch = new ArrayList<>(MAX_BATCH_SIZE);
         while (!stop) {
             try {
-                ProducerRecord<byte[], byte[]> record = records.take();
-                producer.send(record, callback);
+                batch.clear();
+                ProducerRecord<byte[], byte[]> record = records.poll(10, TimeUnit.SECONDS);    // wake up periodically to retry if log kafka is not available
+                if (record != null) {
+                    batch.add(record);
+                    records.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    dequeued(batch);
+                    forward(batch);
+                }
+                if (!available && System.currentTimeMillis() >= retryTime) recover();
             } catch (Throwable e) {
-                if (!stop) {    // if during stop and records.take() is interrupted, not clear records and sleep
-                    logger.warn("failed to send log message, retry in 30 seconds", e);
-                    records.clear();
+                if (!stop) {    // if during stop and records.poll() is interrupted, not sleep
+                    logger.warn("failed to forward log messages, retry in 30 seconds", e);
                     Threads.sleepRoughly(Duration.ofSeconds(30));
                 }
             }
         }
     }
 
+    private void forward(List<ProducerRecord<byte[], byte[]>> batch) throws IOException {
+        for (ProducerRecord<byte[], byte[]> record : batch) {
+            if (available && send(record)) continue;
+            if (spill != null && spill.write(record)) spilledRecords.increment();
+            else droppedRecords.increment();
+        }
+    }
+
+    private boolean send(ProducerRecord<byte[], byte[]> record) {
+        try {
+            producer.send(record, callback);
+            return true;
+        } catch (KafkaException e) {    // e.g. failed to get metadata within max.block.ms
+            unavailable(e);
+            return false;
+        }
+    }
+
+    private void recover() throws IOException {
+        if (spill != null) {
+            while (true) {
+                List<ProducerRecord<byte[], byte[]>> segmentRecords = spill.read();
+                if (segmentRecords == null) break;
+                if (!replay(segmentRecords)) {
+                    retryTime = System.currentTimeMillis() + RETRY_INTERVAL_IN_MS;
+                    return;
+                }
+                spill.delete();
+            }
+        }
+        logger.info("resume forwarding log messages, uri={}", uri);
+        available = true;
+    }
+
+    private boolean replay(List<ProducerRecord<byte[], byte[]>> records) {
+        logger.info("replay spilled log messages, size={}", records.size());
+        var callback = new ReplayCallback();
+        for (ProducerRecord<byte[], byte[]> record : records) {
+            try {
+                producer.send(record, callback);
+            } catch (KafkaException e) {
+                logger.warn("failed to replay spilled log messages, retry in 30 seconds", e);
+                return false;
+            }
+        }
+        producer.flush();   // wait until all records are sent or failed
+        return callback.failures.get() == 0;
+    }
+
+    // called by log forwarder thread or kafka producer network thread
+    private void unavailable(Exception e) {
+        if (available) logger.warn("failed to send log message, retry in 30 seconds", e);
+        retryTime = System.currentTimeMillis() + RETRY_INTERVAL_IN_MS;
+        available = false;
+    }
+
     KafkaProducer<byte[], byte[]> createProducer(KafkaURI uri) {
         var watch = new StopWatch();
         try {
@@ -102,12 +199,80 @@ public final class KafkaAppender implements LogAppender {
     public void append(ActionLogMessage message) {
         // not specify message key for sticky partition, StickyPartitionCache will be used if key is null
         // refer to org.apache.kafka.clients.producer.internals.DefaultPartitioner.partition
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, actionLogWriter.toJSON(message)));
+        enqueue(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, actionLogWriter.toJSON(message)));
     }
 
     @Override
     public void append(StatMessage message) {
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON(message)));    // not specify message key for sticky partition
+        enqueue(new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON(message)));    // not specify message key for sticky partition
+    }
+
+    void enqueue(ProducerRecord<byte[], byte[]> record) {
+        int size = record.value().length;
+        if (reserve(size) || makeRoom(size)) {
+            records.add(record);
+        } else {
+            droppedRecords.increment();
+        }
+    }
+
+    private boolean reserve(int size) {
+        while (true) {
+            long current = queueSize.get();
+            if (current + size > maxQueueSize) return false;
+            if (queueSize.compareAndSet(current, current + size)) return true;
+        }
+    }
+
+    // return true if queue size is reserved after applying overflow policy
+    private boolean makeRoom(int size) {
+        if (size > maxQueueSize) return false;
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            while (true) {
+                ProducerRecord<byte[], byte[]> oldest = records.poll();
+                if (oldest == null) return reserve(size);
+                queueSize.addAndGet(-oldest.value().length);
+                droppedRecords.increment();
+                if (reserve(size)) return true;
+            }
+        } else if (overflowPolicy == OverflowPolicy.BLOCK) {
+            return awaitRoom(size);
+        }
+        return false;
+    }
+
+    private boolean awaitRoom(int size) {
+        long deadline = System.nanoTime() + BLOCK_TIMEOUT_IN_NANOS;
+        lock.lock();
+        try {
+            while (!reserve(size)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dequeued(List<ProducerRecord<byte[], byte[]>> batch) {
+        long size = 0;
+        for (ProducerRecord<byte[], byte[]> record : batch) {
+            size += record.value().length;
+        }
+        queueSize.addAndGet(-size);
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            lock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     // during startup, if it encounters configuration runtime error, logForwarderThread won't start as all startup tasks will be skipped,
@@ -120,13 +285,39 @@ public final class KafkaAppender implements LogAppender {
         logger.info("stop log forwarder");
         stop = true;
         logForwarderThread.interrupt();
+        awaitLogForwarderThread(timeoutInMs);   // to not access spill concurrently
 
+        List<ProducerRecord<byte[], byte[]>> remainingRecords = new ArrayList<>(records.size());
+        records.drainTo(remainingRecords);
+        dequeued(remainingRecords);
         if (producer == null && uri.resolveURI()) producer = createProducer(uri);           // producer can be null if app failed to start (exception thrown by configure(), startup hook will not run)
-        if (producer != null) {                                         // producer can be null if uri is not resolved
-            for (ProducerRecord<byte[], byte[]> record : records) {     // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
+        if (producer != null && (available || spill == null)) {        // producer can be null if uri is not resolved
+            for (ProducerRecord<byte[], byte[]> record : remainingRecords) {     // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
                 producer.send(record);
             }
-            producer.close(Duration.ofMillis(timeoutInMs));
+        } else if (spill != null) {
+            spillRecords(remainingRecords);
+        }
+        if (producer != null) producer.close(Duration.ofMillis(timeoutInMs));
+        if (spill != null) spill.close();
+    }
+
+    private void awaitLogForwarderThread(long timeoutInMs) {
+        try {
+            logForwarderThread.join(timeoutInMs);
+        } catch (InterruptedException e) {
+            logger.warn("interrupted during waiting for log forwarder thread", e);
+        }
+    }
+
+    private void spillRecords(List<ProducerRecord<byte[], byte[]>> records) {
+        try {
+            for (ProducerRecord<byte[], byte[]> record : records) {
+                if (spill.write(record)) spilledRecords.increment();
+                else droppedRecords.increment();
+            }
+        } catch (IOException e) {
+            logger.warn("failed to spill log messages", e);
         }
     }
 
@@ -136,9 +327,18 @@ public final class KafkaAppender implements LogAppender {
         @Override
         public void onCompletion(RecordMetadata metadata, Exception exception) {
             if (exception != null) {
-                logger.warn("failed to send log message", exception);
-                records.clear();
+                failedRecords.increment();
+                unavailable(exception);
             }
         }
     }
+
+    static class ReplayCallback implements Callback {
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void onCompletion(RecordMetadata metadata, Exception exception) {
+            if (exception != null) failures.incrementAndGet();
+        }
+    }
 }
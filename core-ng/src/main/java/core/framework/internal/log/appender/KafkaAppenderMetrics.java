@@ -0,0 +1,27 @@
+package core.framework.internal.log.appender;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+/**
+ * @author neo
+ */
+public class KafkaAppenderMetrics implements Metrics {
+    private final KafkaAppender appender;
+
+    public KafkaAppenderMetrics(KafkaAppender appender) {
+        this.appender = appender;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        stats.put("log_forwarder_queue_size", appender.queueSize.get());
+        // count within collect interval
+        stats.put("log_forwarder_dropped", appender.droppedRecords.sumThenReset());
+        stats.put("log_forwarder_failed", appender.failedRecords.sumThenReset());
+        if (appender.spill != null) {
+            stats.put("log_forwarder_spilled", appender.spilledRecords.sumThenReset());
+            stats.put("log_forwarder_spill_size", appender.spill.size);     // not accurate as it's updated by log forwarder thread, it's ok for metrics
+        }
+    }
+}
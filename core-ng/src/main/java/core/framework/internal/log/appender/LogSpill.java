@@ -0,0 +1,155 @@
+package core.framework.internal.log.appender;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * spill log records to local segment files when log kafka is not available, segments are replayed in order once it's back,
+ * record format is [topic length(short)][topic][value length(int)][value], total size of segments is bounded by maxSize,
+ * segment is deleted only after all its records are sent, so records may be sent more than once if replay is interrupted
+ *
+ * not thread safe, only used by log forwarder thread, or by stop() after log forwarder thread ended
+ *
+ * @author neo
+ */
+final class LogSpill {
+    private static final String SUFFIX = ".spill";
+
+    final NavigableMap<Long, Path> segments = new TreeMap<>();   // sequence -> segment
+    private final Logger logger = LoggerFactory.getLogger(LogSpill.class);
+    private final Path dir;
+    private final long maxSize;
+    private final long maxSegmentSize;
+    long size;
+    private long sequence;
+    private DataOutputStream output;    // output of last segment, null if not opened
+    private long segmentSize;
+
+    LogSpill(Path dir, long maxSize) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+        maxSegmentSize = Math.min(maxSize, 16 * 1024 * 1024);    // to limit memory usage for replay
+        try {
+            Files.createDirectories(dir);
+            loadSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // segments left by previous run will be replayed
+    private void loadSegments() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path segment : stream) {
+                String name = segment.getFileName().toString();
+                long sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segments.put(sequence, segment);
+                size += Files.size(segment);
+                this.sequence = Math.max(this.sequence, sequence);
+            }
+        }
+        if (!segments.isEmpty()) logger.info("found log spill segments, dir={}, segments={}, size={}", dir, segments.size(), size);
+    }
+
+    // return false if exceeds max size
+    boolean write(ProducerRecord<byte[], byte[]> record) throws IOException {
+        byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+        byte[] value = record.value();
+        int recordSize = 6 + topic.length + value.length;
+        if (size + recordSize > maxSize) return false;
+        if (output == null || segmentSize + recordSize > maxSegmentSize) nextSegment();
+        try {
+            output.writeShort(topic.length);
+            output.write(topic);
+            output.writeInt(value.length);
+            output.write(value);
+        } catch (IOException e) {
+            closeOutput();    // segment may be partially written, start new segment for next write
+            throw e;
+        }
+        segmentSize += recordSize;
+        size += recordSize;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    // read records of oldest segment, return null if there is no segment
+    List<ProducerRecord<byte[], byte[]>> read() throws IOException {
+        if (segments.isEmpty()) return null;
+        if (segments.size() == 1) closeOutput();   // oldest segment is being written, close and read it
+        Path segment = segments.firstEntry().getValue();
+        List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+        try (var input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(segment)))) {
+            while (input.available() > 0) {
+                records.add(readRecord(input));
+            }
+        } catch (IOException e) {
+            logger.warn("failed to read log spill segment, segment={}", segment, e);   // e.g. last record was partially written or corrupted during crash, keep records read
+        }
+        return records;
+    }
+
+    private ProducerRecord<byte[], byte[]> readRecord(DataInputStream input) throws IOException {
+        byte[] topic = new byte[length(input, input.readShort())];
+        input.readFully(topic);
+        byte[] value = new byte[length(input, input.readInt())];
+        input.readFully(value);
+        return new ProducerRecord<>(new String(topic, StandardCharsets.UTF_8), value);
+    }
+
+    // corrupted length must not allocate array, treat as truncated record
+    private int length(DataInputStream input, int length) throws IOException {
+        if (length < 0 || length > input.available()) throw new IOException("invalid record length, length=" + length);
+        return length;
+    }
+
+    // delete oldest segment after all records are sent
+    void delete() throws IOException {
+        Path segment = segments.pollFirstEntry().getValue();
+        size = Math.max(size - Files.size(segment), 0);     // partially written bytes of failed write are not counted
+        Files.delete(segment);
+    }
+
+    void close() {
+        closeOutput();
+    }
+
+    private void nextSegment() throws IOException {
+        closeOutput();
+        sequence++;
+        Path segment = dir.resolve(sequence + SUFFIX);
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment)));
+        segments.put(sequence, segment);
+        segmentSize = 0;
+    }
+
+    private void closeOutput() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                logger.warn("failed to close log spill segment", e);
+            }
+            output = null;
+        }
+    }
+}
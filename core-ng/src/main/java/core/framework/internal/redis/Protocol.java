@@ -72,6 +72,7 @@ final class Protocol {
         static final byte[] MGET = Strings.bytes("MGET");
         static final byte[] MSET = Strings.bytes("MSET");
         static final byte[] SCAN = Strings.bytes("SCAN");
+        static final byte[] EVAL = Strings.bytes("EVAL");
 
         static final byte[] HGET = Strings.bytes("HGET");
         static final byte[] HGETALL = Strings.bytes("HGETALL");
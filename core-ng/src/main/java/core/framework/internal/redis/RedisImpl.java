@@ -13,6 +13,7 @@ import core.framework.redis.RedisAdmin;
 import core.framework.redis.RedisHash;
 import core.framework.redis.RedisHyperLogLog;
 import core.framework.redis.RedisList;
+import core.framework.redis.RedisPipeline;
 import core.framework.redis.RedisSet;
 import core.framework.redis.RedisSortedSet;
 import core.framework.util.Maps;
@@ -426,6 +427,11 @@ public class RedisImpl implements Redis {
         }
     }
 
+    @Override
+    public RedisPipeline pipeline() {
+        return new RedisPipelineImpl(this);
+    }
+
     public RedisPubSub pubSub() {
         return pubSub;
     }
@@ -435,7 +441,7 @@ public class RedisImpl implements Redis {
             logger.warn(Markers.errorCode("SLOW_REDIS"), "slow redis operation, elapsed={}", Duration.ofNanos(elapsed));
     }
 
-    private byte[] expirationValue(Duration expiration) {
+    byte[] expirationValue(Duration expiration) {
         long expirationTime = expiration.toMillis();
         if (expirationTime <= 0) throw new Error("expiration time must be longer than 0ms");
         return encode(expirationTime);
@@ -0,0 +1,293 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.log.filter.ArrayLogParam;
+import core.framework.internal.resource.PoolItem;
+import core.framework.log.ActionLogContext;
+import core.framework.redis.RedisPipeline;
+import core.framework.util.Maps;
+import core.framework.util.Sets;
+import core.framework.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static core.framework.internal.redis.Protocol.Command.DEL;
+import static core.framework.internal.redis.Protocol.Command.GET;
+import static core.framework.internal.redis.Protocol.Command.HDEL;
+import static core.framework.internal.redis.Protocol.Command.HGET;
+import static core.framework.internal.redis.Protocol.Command.HGETALL;
+import static core.framework.internal.redis.Protocol.Command.HMSET;
+import static core.framework.internal.redis.Protocol.Command.INCRBY;
+import static core.framework.internal.redis.Protocol.Command.PEXPIRE;
+import static core.framework.internal.redis.Protocol.Command.SADD;
+import static core.framework.internal.redis.Protocol.Command.SET;
+import static core.framework.internal.redis.Protocol.Command.SMEMBERS;
+import static core.framework.internal.redis.Protocol.Command.SREM;
+import static core.framework.internal.redis.Protocol.Keyword.NX;
+import static core.framework.internal.redis.Protocol.Keyword.PX;
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static core.framework.internal.redis.RedisEncodings.encode;
+import static core.framework.internal.redis.RedisEncodings.validate;
+
+/**
+ * not thread safe, commands are written to connection buffer and flushed once, then all replies are read in order
+ *
+ * @author neo
+ */
+public final class RedisPipelineImpl implements RedisPipeline {
+    private final Logger logger = LoggerFactory.getLogger(RedisPipelineImpl.class);
+    private final RedisImpl redis;
+    private final List<Command<?>> commands = new ArrayList<>();
+
+    RedisPipelineImpl(RedisImpl redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public CompletableFuture<String> get(String key) {
+        validate("key", key);
+        return add("get", key, false, -1, response -> decode((byte[]) response), GET, encode(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> set(String key, String value, Duration expiration, boolean onlyIfAbsent) {
+        validate("key", key);
+        validate("value", value);
+        byte[][] arguments = new byte[3 + (onlyIfAbsent ? 1 : 0) + (expiration != null ? 2 : 0)][];
+        arguments[0] = SET;
+        arguments[1] = encode(key);
+        arguments[2] = encode(value);
+        int index = 3;
+        if (onlyIfAbsent) {
+            arguments[index] = NX;
+            index++;
+        }
+        if (expiration != null) {
+            arguments[index] = PX;
+            arguments[index + 1] = redis.expirationValue(expiration);
+        }
+        return add("set", key, true, -1, "OK"::equals, arguments);
+    }
+
+    @Override
+    public void expire(String key, Duration expiration) {
+        validate("key", key);
+        add("pexpire", key, true, 1, response -> response, PEXPIRE, encode(key), encode(expiration.toMillis()));
+    }
+
+    @Override
+    public CompletableFuture<Long> del(String... keys) {
+        validate("keys", keys);
+        byte[][] arguments = new byte[1 + keys.length][];
+        arguments[0] = DEL;
+        for (int i = 0; i < keys.length; i++) {
+            arguments[i + 1] = encode(keys[i]);
+        }
+        return add("del", keys[0], true, -1, response -> (Long) response, arguments);
+    }
+
+    @Override
+    public CompletableFuture<Long> increaseBy(String key, long increment) {
+        validate("key", key);
+        return add("incrby", key, true, 1, response -> (Long) response, INCRBY, encode(key), encode(increment));
+    }
+
+    @Override
+    public CompletableFuture<String> hashGet(String key, String field) {
+        validate("key", key);
+        validate("field", field);
+        return add("hget", key, false, -1, response -> decode((byte[]) response), HGET, encode(key), encode(field));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> hashGetAll(String key) {
+        validate("key", key);
+        return add("hgetall", key, false, -1, response -> {
+            Object[] values = (Object[]) response;
+            if (values.length % 2 != 0) throw new Error("unexpected length of array, length=" + values.length);
+            Map<String, String> results = Maps.newHashMapWithExpectedSize(values.length / 2);
+            for (int i = 0; i < values.length; i += 2) {
+                results.put(decode((byte[]) values[i]), decode((byte[]) values[i + 1]));
+            }
+            return results;
+        }, HGETALL, encode(key));
+    }
+
+    @Override
+    public void hashMultiSet(String key, Map<String, String> values) {
+        validate("key", key);
+        validate("values", values);
+        byte[][] arguments = new byte[2 + values.size() * 2][];
+        arguments[0] = HMSET;
+        arguments[1] = encode(key);
+        int index = 2;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            arguments[index] = encode(entry.getKey());
+            arguments[index + 1] = encode(entry.getValue());
+            index += 2;
+        }
+        add("hmset", key, true, values.size(), response -> response, arguments);
+    }
+
+    @Override
+    public CompletableFuture<Long> hashDel(String key, String... fields) {
+        validate("key", key);
+        validate("fields", fields);
+        return add("hdel", key, true, -1, response -> (Long) response, keyArguments(HDEL, key, fields));
+    }
+
+    @Override
+    public CompletableFuture<Long> addToSet(String key, String... values) {
+        validate("key", key);
+        validate("values", values);
+        return add("sadd", key, true, -1, response -> (Long) response, keyArguments(SADD, key, values));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> getSetMembers(String key) {
+        validate("key", key);
+        return add("smembers", key, false, -1, response -> {
+            Object[] values = (Object[]) response;
+            Set<String> results = Sets.newHashSetWithExpectedSize(values.length);
+            for (Object value : values) {
+                results.add(decode((byte[]) value));
+            }
+            return results;
+        }, SMEMBERS, encode(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> removeFromSet(String key, String... values) {
+        validate("key", key);
+        validate("values", values);
+        return add("srem", key, true, -1, response -> (Long) response, keyArguments(SREM, key, values));
+    }
+
+    @Override
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public void execute() {
+        if (commands.isEmpty()) return;
+        var watch = new StopWatch();
+        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            for (Command<?> command : commands) {
+                connection.writeArray(command.arguments.length);
+                for (byte[] argument : command.arguments) {
+                    connection.writeBlobString(argument);
+                }
+            }
+            connection.flush();
+            Throwable failure = null;
+            for (Command<?> command : commands) {
+                Throwable error = command.complete(connection);     // read all replies even if some failed, to keep connection in sync
+                if (error != null) failure = error;
+            }
+            if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+            if (failure instanceof Error) throw (Error) failure;
+        } catch (IOException e) {
+            item.broken = true;
+            var exception = new UncheckedIOException(e);
+            for (Command<?> command : commands) {
+                command.future.completeExceptionally(exception);    // no effect if already completed
+            }
+            throw exception;
+        } finally {
+            redis.pool.returnItem(item);
+            long elapsed = watch.elapsed();
+            int readEntries = 0;
+            int writeEntries = 0;
+            for (Command<?> command : commands) {
+                if (command.write) {
+                    writeEntries += command.completedEntries;
+                } else {
+                    readEntries += command.completedEntries;
+                }
+            }
+            ActionLogContext.track("redis", elapsed, readEntries, writeEntries, commands.size());
+            logger.debug("pipeline, commands={}, size={}, readEntries={}, writeEntries={}, elapsed={}", new ArrayLogParam(commandNames()), commands.size(), readEntries, writeEntries, elapsed);
+            redis.checkSlowOperation(elapsed);
+            commands.clear();
+        }
+    }
+
+    private String[] commandNames() {
+        String[] names = new String[commands.size()];
+        for (int i = 0; i < names.length; i++) {
+            Command<?> command = commands.get(i);
+            names[i] = command.name + " " + command.key;
+        }
+        return names;
+    }
+
+    private byte[][] keyArguments(byte[] command, String key, String... values) {
+        byte[][] arguments = new byte[2 + values.length][];
+        arguments[0] = command;
+        arguments[1] = encode(key);
+        for (int i = 0; i < values.length; i++) {
+            arguments[i + 2] = encode(values[i]);
+        }
+        return arguments;
+    }
+
+    private <T> CompletableFuture<T> add(String name, String key, boolean write, int entries, Function<Object, T> parser, byte[]... arguments) {
+        var command = new Command<>(name, key, write, entries, parser, arguments);
+        commands.add(command);
+        return command.future;
+    }
+
+    private static class Command<T> {
+        final String name;
+        final String key;
+        final boolean write;
+        final byte[][] arguments;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        int completedEntries;
+        private final int entries;      // -1 means to count by response
+        private final Function<Object, T> parser;
+
+        Command(String name, String key, boolean write, int entries, Function<Object, T> parser, byte[][] arguments) {
+            this.name = name;
+            this.key = key;
+            this.write = write;
+            this.entries = entries;
+            this.parser = parser;
+            this.arguments = arguments;
+        }
+
+        // return failure if reply is error or doesn't match command, e.g. ClassCastException, reply is consumed either way, so connection is still in sync
+        Throwable complete(RedisConnection connection) throws IOException {
+            try {
+                T result = parser.apply(connection.read());
+                future.complete(result);
+                completedEntries = entries >= 0 ? entries : entries(result);
+                return null;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                return e;
+            }
+        }
+
+        private int entries(T result) {
+            if (result instanceof Collection) return ((Collection<?>) result).size();
+            if (result instanceof Map) return ((Map<?, ?>) result).size();
+            if (result instanceof Long) return ((Long) result).intValue();
+            if (result instanceof Boolean) return (Boolean) result ? 1 : 0;
+            return result == null ? 0 : 1;
+        }
+    }
+}
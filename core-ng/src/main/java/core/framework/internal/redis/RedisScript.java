@@ -0,0 +1,58 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.log.filter.ArrayLogParam;
+import core.framework.internal.resource.PoolItem;
+import core.framework.log.ActionLogContext;
+import core.framework.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static core.framework.internal.redis.Protocol.Command.EVAL;
+import static core.framework.internal.redis.RedisEncodings.encode;
+
+/**
+ * run lua script atomically on server, to combine multiple dependent commands into one round trip
+ *
+ * @author neo
+ */
+public class RedisScript {
+    private final Logger logger = LoggerFactory.getLogger(RedisScript.class);
+    private final RedisImpl redis;
+
+    public RedisScript(RedisImpl redis) {
+        this.redis = redis;
+    }
+
+    // returns raw reply, e.g. byte[], Long, String or Object[]
+    public Object eval(String script, String[] keys, String... arguments) {
+        var watch = new StopWatch();
+        PoolItem<RedisConnection> item = redis.pool.borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            connection.writeArray(3 + keys.length + arguments.length);
+            connection.writeBlobString(EVAL);
+            connection.writeBlobString(encode(script));
+            connection.writeBlobString(encode(keys.length));
+            for (String key : keys) {
+                connection.writeBlobString(encode(key));
+            }
+            for (String argument : arguments) {
+                connection.writeBlobString(encode(argument));
+            }
+            connection.flush();
+            return connection.read();
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            redis.pool.returnItem(item);
+            long elapsed = watch.elapsed();
+            ActionLogContext.track("redis", elapsed);   // entries touched by script are unknown
+            logger.debug("eval, keys={}, arguments={}, elapsed={}", new ArrayLogParam(keys), new ArrayLogParam(arguments), elapsed);
+            redis.checkSlowOperation(elapsed);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package core.framework.internal.resource;
 
+import core.framework.internal.stat.Histogram;
 import core.framework.util.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Iterator;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -21,13 +27,19 @@ import static core.framework.log.Markers.errorCode;
  * is to keep original exception, and simplify context variable access (read or write var within method),
  * <p>
  * the downside is boilerplate code, so to keep it only for internal
+ * <p>
+ * idle items are kept in lock free LIFO stack, to reuse recently returned (warm) resource and let rest expire,
+ * if pool is exhausted, borrower waits in FIFO queue, and returned item is handed off to longest waiter directly, so waiter won't be starved by new borrowers
  *
  * @author neo
  */
 public class Pool<T extends AutoCloseable> {
-    final BlockingDeque<PoolItem<T>> idleItems = new LinkedBlockingDeque<>();
+    final ConcurrentLinkedDeque<PoolItem<T>> idleItems = new ConcurrentLinkedDeque<>();
+    final Queue<CompletableFuture<PoolItem<T>>> waiters = new ConcurrentLinkedQueue<>();    // completed with null means resource slot is released, waiter should retry
     final String name;
     final AtomicInteger size = new AtomicInteger(0);
+    final Histogram waitTime = new Histogram();
+    final Histogram holdTime = new Histogram();
     private final Logger logger = LoggerFactory.getLogger(Pool.class);
     private final Supplier<T> factory;
     public Duration maxIdleTime = Duration.ofMinutes(30);
@@ -57,21 +69,29 @@ public class Pool<T extends AutoCloseable> {
     }
 
     public PoolItem<T> borrowItem() {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + checkoutTimeoutInMs;
         while (true) {
             PoolItem<T> item = idleItems.poll();
             if (item != null) {
-                if (check(item)) return item;
+                if (check(item)) return borrowed(item, start);
                 else continue;
             }
 
-            if (size.get() < maxSize) {
-                return createNewItem();         // do not need to check newly created resource
-            } else {
-                return waitNextAvailableItem(); // do not need to check valid since it's just returned resource
+            if (reserve()) {
+                return borrowed(createNewItem(), start);            // do not need to check newly created resource
             }
+            item = waitNextAvailableItem(deadline);
+            if (item != null) return borrowed(item, start);         // do not need to check valid since it's just returned resource
         }
     }
 
+    private PoolItem<T> borrowed(PoolItem<T> item, long start) {
+        item.borrowTime = System.nanoTime();
+        waitTime.record(item.borrowTime - start);
+        return item;
+    }
+
     private boolean check(PoolItem<T> item) {
         if (validator == null || System.currentTimeMillis() - item.returnTime < aliveWindowInMs) return true;
         boolean valid;
@@ -89,37 +109,96 @@ public class Pool<T extends AutoCloseable> {
     }
 
     public void returnItem(PoolItem<T> item) {
+        if (item.borrowTime != 0) holdTime.record(System.nanoTime() - item.borrowTime);
         if (item.broken) {
             // not to replenish new item if current is broken to keep it simple,
-            // if pool is full and someone is waiting for resource, there will be other to release resource soon,
-            // as the broken resource is rare case
+            // if pool is full and someone is waiting for resource, the waiter will be notified to create new one
             closeItem(item);
         } else {
             item.returnTime = System.currentTimeMillis();
-            idleItems.push(item);
+            release(item);
+        }
+    }
+
+    private void release(PoolItem<T> item) {
+        if (handOff(item)) return;
+        idleItems.push(item);
+        // waiter may register after handOff checked, and miss the item just pushed, so recheck to not leave waiter waiting with idle item available
+        while (!waiters.isEmpty()) {
+            PoolItem<T> idleItem = idleItems.poll();
+            if (idleItem == null) return;
+            if (!handOff(idleItem)) {
+                idleItems.push(idleItem);
+                return;
+            }
+        }
+    }
+
+    // complete longest waiter, skip waiters already timed out
+    private boolean handOff(PoolItem<T> item) {
+        while (true) {
+            CompletableFuture<PoolItem<T>> waiter = waiters.poll();
+            if (waiter == null) return false;
+            if (waiter.complete(item)) return true;
         }
     }
 
-    private PoolItem<T> waitNextAvailableItem() {
+    // return null if resource slot is released, caller should retry
+    private PoolItem<T> waitNextAvailableItem(long deadline) {
         var watch = new StopWatch();
+        var waiter = new CompletableFuture<PoolItem<T>>();
+        waiters.offer(waiter);
         try {
-            PoolItem<T> item = idleItems.poll(checkoutTimeoutInMs, TimeUnit.MILLISECONDS);
-            if (item == null) throw new PoolException("timeout to wait for next available resource", "POOL_TIME_OUT");
-            return item;
-        } catch (InterruptedException e) {
-            throw new Error("interrupted during waiting for next available resource", e);
+            // item may be returned or slot may be released before waiter registered
+            PoolItem<T> item = idleItems.poll();
+            if (item != null || size.get() < maxSize) {
+                if (waiter.cancel(false)) return item;
+                if (item != null) release(item);    // waiter got item from others concurrently, release polled one
+            }
+            if (await(waiter, deadline)) return waiter.join();
+            throw new PoolException("timeout to wait for next available resource", "POOL_TIME_OUT");
         } finally {
             logger.debug("wait for next available resource, pool={}, elapsed={}", name, watch.elapsed());
         }
     }
 
+    // return false if timed out, waiter is canceled
+    private boolean await(CompletableFuture<PoolItem<T>> waiter, long deadline) {
+        try {
+            waiter.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return !waiter.cancel(false);   // handed off right after timeout
+        } catch (InterruptedException e) {
+            if (!waiter.cancel(false)) releaseHandedOffItem(waiter);
+            throw new Error("interrupted during waiting for next available resource", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw new Error(e);    // not possible, waiter is only canceled by current thread
+        }
+    }
+
+    private void releaseHandedOffItem(CompletableFuture<PoolItem<T>> waiter) {
+        PoolItem<T> item = waiter.join();
+        if (item != null) release(item);
+        else signalWaiter();    // pass released slot to next waiter
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxSize) return false;
+            if (size.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    // resource slot must be reserved before calling
     private PoolItem<T> createNewItem() {
         var watch = new StopWatch();
-        size.incrementAndGet();
         try {
             return new PoolItem<>(factory.get());
         } catch (Throwable e) {
             size.getAndDecrement();
+            signalWaiter();
             throw e;
         } finally {
             logger.debug("create new resource, pool={}, elapsed={}", name, watch.elapsed());
@@ -148,7 +227,7 @@ public class Pool<T extends AutoCloseable> {
         while (iterator.hasNext()) {
             PoolItem<T> item = iterator.next();
             if (now - item.returnTime >= maxIdleTimeInMs) {
-                boolean removed = idleItems.remove(item);
+                boolean removed = idleItems.removeLastOccurrence(item);
                 if (!removed) return;
                 closeItem(item);
             } else {
@@ -158,16 +237,23 @@ public class Pool<T extends AutoCloseable> {
     }
 
     private void replenish() {
-        while (size.get() < minSize) {
-            returnItem(createNewItem());
+        while (size.get() < minSize && reserve()) {
+            PoolItem<T> item = createNewItem();
+            item.returnTime = System.currentTimeMillis();
+            release(item);
         }
     }
 
     private void closeItem(PoolItem<T> item) {
         size.decrementAndGet();
+        signalWaiter();
         closeResource(item);
     }
 
+    private void signalWaiter() {
+        if (!waiters.isEmpty()) handOff(null);
+    }
+
     private void closeResource(PoolItem<T> item) {
         try {
             item.resource.close();
@@ -6,7 +6,9 @@ package core.framework.internal.resource;
 public final class PoolItem<T> {
     public final T resource;
     public boolean broken;
+    public Object attachment;   // resource specific state bound to lifecycle of item, e.g. prepared statement cache of db connection
     long returnTime;    // according to profiling, use System.currentTimeMillis instead of Instant.now()
+    long borrowTime;    // in nano, to track hold time
 
     public PoolItem(T resource) {
         this.resource = resource;
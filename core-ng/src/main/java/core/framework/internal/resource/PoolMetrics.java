@@ -1,5 +1,6 @@
 package core.framework.internal.resource;
 
+import core.framework.internal.stat.Histogram;
 import core.framework.internal.stat.Metrics;
 import core.framework.internal.stat.Stats;
 
@@ -17,6 +18,14 @@ public class PoolMetrics implements Metrics {
     public void collect(Stats stats) {
         stats.put(statName("total_count"), pool.totalCount());
         stats.put(statName("active_count"), pool.activeCount());
+        collect(stats, "wait_time", pool.waitTime.snapshot());    // time to borrow item, include creating new resource
+        collect(stats, "hold_time", pool.holdTime.snapshot());
+    }
+
+    private void collect(Stats stats, String name, Histogram.Snapshot snapshot) {
+        stats.put(statName(name + "_p50"), snapshot.percentile(0.5));
+        stats.put(statName(name + "_p99"), snapshot.percentile(0.99));
+        stats.put(statName(name + "_max"), snapshot.max);
     }
 
     String statName(String statName) {
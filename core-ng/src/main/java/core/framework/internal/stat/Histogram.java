@@ -0,0 +1,73 @@
+package core.framework.internal.stat;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * lock free histogram with log-linear buckets, each power of 2 is split into 4 sub buckets, so relative error is within 25%,
+ * record is thread safe, snapshot resets all buckets, it's designed to collect percentiles per stat interval
+ *
+ * @author neo
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) Math.max(value, 0);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    // max value of bucket, to not under estimate percentile
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        if (exponent == 62 && subBucket == SUB_BUCKETS - 1) return Long.MAX_VALUE;    // avoid overflow
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 << SUB_BUCKET_BITS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        counts.incrementAndGet(index(value));
+        max.accumulate(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] values = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < values.length; i++) {
+            long value = counts.getAndSet(i, 0);
+            values[i] = value;
+            count += value;
+        }
+        return new Snapshot(values, count, max.getThenReset());
+    }
+
+    public static class Snapshot {
+        public final long count;
+        public final long max;
+        private final long[] counts;
+
+        Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long percentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(count * percentile);
+            long accumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i];
+                if (accumulated >= rank) return Math.min(upperBound(i), max);
+            }
+            return max;
+        }
+    }
+}
@@ -14,20 +14,30 @@ public class HTMLTemplate extends ContainerFragment {
         this.modelClass = modelClass;
     }
 
-    public String process(TemplateContext context) {
+    // caller must release output after use
+    public TemplateOutput render(TemplateContext context) {
         if (context.root == null)
             throw new Error("root must not be null");
 
         if (!modelClass.isInstance(context.root))
             throw new Error(format("model class does not match, expectedClass={}, actualClass={}", modelClass.getCanonicalName(), context.root.getClass().getCanonicalName()));
 
-        StringBuilder builder = new StringBuilder(2048);
-        process(builder, context);
-        return builder.toString();
+        var output = new TemplateOutput();
+        process(output, context);
+        return output;
+    }
+
+    public String process(TemplateContext context) {
+        TemplateOutput output = render(context);
+        try {
+            return output.text();
+        } finally {
+            output.release();
+        }
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
-        processChildren(builder, context);
+    public void process(TemplateOutput output, TemplateContext context) {
+        processChildren(output, context);
     }
 }
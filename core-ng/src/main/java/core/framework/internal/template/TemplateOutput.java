@@ -0,0 +1,120 @@
+package core.framework.internal.template;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * html encoded in UTF-8 and written into fixed size chunks, so it doesn't copy on growth or encode again when sending response,
+ * chunks are recycled by release() after response is sent, not thread safe
+ *
+ * @author neo
+ */
+public final class TemplateOutput {
+    static final int CHUNK_SIZE = 8192;
+    private static final int MAX_POOLED_CHUNKS = 512;   // 4M
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_CHUNKS = new AtomicInteger();
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    private byte[] current;
+    private int position;       // position of current chunk
+
+    public void write(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (current == null || position == CHUNK_SIZE) nextChunk();
+            int length = Math.min(bytes.length - offset, CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset, current, position, length);
+            position += length;
+            offset += length;
+        }
+    }
+
+    public void write(String text) {
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            char ch = text.charAt(index);
+            index++;
+            if (ch < 0x80) {
+                writeByte(ch);
+            } else if (ch < 0x800) {
+                writeByte(0xC0 | (ch >> 6));
+                writeByte(0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                writeByte(0xE0 | (ch >> 12));
+                writeByte(0x80 | ((ch >> 6) & 0x3F));
+                writeByte(0x80 | (ch & 0x3F));
+            } else if (index < length && Character.isHighSurrogate(ch) && Character.isLowSurrogate(text.charAt(index))) {
+                int codePoint = Character.toCodePoint(ch, text.charAt(index));
+                index++;
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+            } else {
+                writeByte('?');     // malformed surrogate, same as String.getBytes(UTF_8)
+            }
+        }
+    }
+
+    private void writeByte(int value) {
+        if (current == null || position == CHUNK_SIZE) nextChunk();
+        current[position] = (byte) value;
+        position++;
+    }
+
+    private void nextChunk() {
+        byte[] chunk = POOL.poll();
+        if (chunk == null) chunk = new byte[CHUNK_SIZE];
+        else POOLED_CHUNKS.decrementAndGet();
+        chunks.add(chunk);
+        current = chunk;
+        position = 0;
+    }
+
+    public int size() {
+        if (chunks.isEmpty()) return 0;
+        return (chunks.size() - 1) * CHUNK_SIZE + position;
+    }
+
+    public ByteBuffer[] buffers() {
+        int count = chunks.size();
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = ByteBuffer.wrap(chunks.get(i), 0, i == count - 1 ? position : CHUNK_SIZE);
+        }
+        return buffers;
+    }
+
+    public String text() {
+        byte[] bytes = new byte[size()];
+        int offset = 0;
+        int count = chunks.size();
+        for (int i = 0; i < count; i++) {
+            int length = i == count - 1 ? position : CHUNK_SIZE;
+            System.arraycopy(chunks.get(i), 0, bytes, offset, length);
+            offset += length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // must not access buffers after release
+    public void release() {
+        for (byte[] chunk : chunks) {
+            if (POOLED_CHUNKS.incrementAndGet() > MAX_POOLED_CHUNKS) {
+                POOLED_CHUNKS.decrementAndGet();
+                break;
+            }
+            POOL.offer(chunk);
+        }
+        chunks.clear();
+        current = null;
+        position = 0;
+    }
+}
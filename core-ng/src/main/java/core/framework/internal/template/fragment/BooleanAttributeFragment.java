@@ -3,30 +3,33 @@ package core.framework.internal.template.fragment;
 import core.framework.internal.reflect.GenericTypes;
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 
+import java.nio.charset.StandardCharsets;
+
 import static core.framework.util.Strings.format;
 
 /**
  * @author neo
  */
 public class BooleanAttributeFragment implements Fragment {
-    private final String name;
+    private final byte[] attribute;
     private final ExpressionHolder expression;
 
     public BooleanAttributeFragment(String name, String expression, TemplateMetaContext context, String location) {
-        this.name = name;
+        attribute = (' ' + name).getBytes(StandardCharsets.UTF_8);
         this.expression = new ExpressionBuilder(expression, context, location).build();
         if (!Boolean.class.equals(GenericTypes.rawClass(this.expression.returnType)))
             throw new Error(format("boolean attribute expression must return Boolean, condition={}, returnType={}, location={}", expression, this.expression.returnType.getTypeName(), location));
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         Object result = expression.eval(context);
         if (Boolean.TRUE.equals(result)) {
-            builder.append(' ').append(name);
+            output.write(attribute);
         }
     }
 }
@@ -1,6 +1,7 @@
 package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
+import core.framework.internal.template.TemplateOutput;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -28,9 +29,9 @@ public abstract class ContainerFragment implements Fragment {
         children.add(fragment);
     }
 
-    protected void processChildren(StringBuilder builder, TemplateContext context) {
+    protected void processChildren(TemplateOutput output, TemplateContext context) {
         for (Fragment child : children) {
-            child.process(builder, context);
+            child.process(output, context);
         }
     }
 }
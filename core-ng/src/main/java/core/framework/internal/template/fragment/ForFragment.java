@@ -3,6 +3,7 @@ package core.framework.internal.template.fragment;
 import core.framework.internal.reflect.GenericTypes;
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 
@@ -38,11 +39,11 @@ public class ForFragment extends ContainerFragment {
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         List<?> list = (List<?>) expression.eval(context);
         for (Object item : list) {
             context.contextObjects.put(variable, item);
-            processChildren(builder, context);
+            processChildren(output, context);
         }
         context.contextObjects.remove(variable);
     }
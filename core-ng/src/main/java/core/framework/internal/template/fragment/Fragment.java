@@ -1,10 +1,11 @@
 package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
+import core.framework.internal.template.TemplateOutput;
 
 /**
  * @author neo
  */
 interface Fragment {
-    void process(StringBuilder builder, TemplateContext context);
+    void process(TemplateOutput output, TemplateContext context);
 }
@@ -2,6 +2,7 @@ package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 
@@ -16,10 +17,10 @@ public class HTMLContentFragment implements Fragment {
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         Object result = expression.eval(context);
         if (result != null) {
-            builder.append(result);
+            output.write(String.valueOf(result));
         }
     }
 }
@@ -3,6 +3,7 @@ package core.framework.internal.template.fragment;
 import core.framework.internal.reflect.GenericTypes;
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 
@@ -33,11 +34,11 @@ public class IfFragment extends ContainerFragment {
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         Object result = expression.eval(context);
         Boolean expected = reverse ? Boolean.FALSE : Boolean.TRUE;
         if (expected.equals(result)) {
-            processChildren(builder, context);
+            processChildren(output, context);
         }
     }
 }
@@ -1,19 +1,26 @@
 package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
+import core.framework.internal.template.TemplateOutput;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author neo
  */
 public class StaticFragment implements Fragment {
-    private final StringBuilder content = new StringBuilder();
+    private byte[] content = new byte[0];   // encoded when building template, static content will be written as is
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
-        builder.append(content);
+    public void process(TemplateOutput output, TemplateContext context) {
+        output.write(content);
     }
 
     void append(String content) {
-        this.content.append(content);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        byte[] merged = new byte[this.content.length + bytes.length];
+        System.arraycopy(this.content, 0, merged, 0, this.content.length);
+        System.arraycopy(bytes, 0, merged, this.content.length, bytes.length);
+        this.content = merged;
     }
 }
@@ -2,6 +2,7 @@ package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 
@@ -58,10 +59,10 @@ public class TextContentFragment implements Fragment {
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         Object result = expression.eval(context);
         if (result != null) {
-            builder.append(escapeHTML(String.valueOf(result)));
+            output.write(escapeHTML(String.valueOf(result)));
         }
     }
 }
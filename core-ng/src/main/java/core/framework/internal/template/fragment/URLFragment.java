@@ -2,6 +2,7 @@ package core.framework.internal.template.fragment;
 
 import core.framework.internal.template.TemplateContext;
 import core.framework.internal.template.TemplateMetaContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.expression.ExpressionBuilder;
 import core.framework.internal.template.expression.ExpressionHolder;
 import core.framework.util.Strings;
@@ -90,9 +91,9 @@ public class URLFragment implements Fragment {  // this is for dynamic href/src
     }
 
     @Override
-    public void process(StringBuilder builder, TemplateContext context) {
+    public void process(TemplateOutput output, TemplateContext context) {
         String url = (String) expression.eval(context);
-        builder.append(url(url, context));
+        output.write(url(url, context));
     }
 
     boolean isValidURL(String url) {
@@ -27,6 +27,7 @@ import io.undertow.util.HttpString;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * @author neo
@@ -47,7 +48,7 @@ public class HTTPHandler implements HttpHandler {
     public final RequestBeanReader requestBeanReader = new RequestBeanReader();
     public final ResponseBeanWriter responseBeanWriter = new ResponseBeanWriter();
 
-    public final RateControl rateControl = new RateControl(1000);   // save at max 1000 group/ip combination
+    public final RateControl rateControl = new RateControl(100_000);   // save at max 100k ip per group
 
     private final LogManager logManager;
     private final SessionManager sessionManager;
@@ -55,6 +56,7 @@ public class HTTPHandler implements HttpHandler {
 
     public WebSocketHandler webSocketHandler;
     public IPv4AccessControl accessControl;
+    public Executor executor;   // executor to handle request, by default use undertow worker
 
     public long maxProcessTimeInNano = Duration.ofSeconds(30).toNanos();    // the default backend timeout of popular cloud lb (gcloud/azure) is 30s
 
@@ -68,13 +70,18 @@ public class HTTPHandler implements HttpHandler {
     @Override
     public void handleRequest(HttpServerExchange exchange) {
         if (exchange.isInIoThread()) {
-            exchange.dispatch(this);  // in io handler form parser will dispatch to current io thread
+            dispatch(exchange);  // in io handler form parser will dispatch to current io thread
             return;
         }
 
         handle(exchange);
     }
 
+    public void dispatch(HttpServerExchange exchange) {
+        if (executor == null) exchange.dispatch(this);
+        else exchange.dispatch(executor, this);
+    }
+
     private void handle(HttpServerExchange exchange) {
         ActionLog actionLog = logManager.begin("=== http transaction begin ===", null);
         var request = new RequestImpl(exchange, requestBeanReader);
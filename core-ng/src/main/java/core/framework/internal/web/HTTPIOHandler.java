@@ -1,5 +1,6 @@
 package core.framework.internal.web;
 
+import core.framework.internal.web.http.ConcurrencyLimiter;
 import core.framework.internal.web.request.RequestBodyReader;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
@@ -22,11 +23,13 @@ public class HTTPIOHandler implements HttpHandler {
     private final FormParserFactory formParserFactory;
     private final HTTPHandler handler;
     private final ShutdownHandler shutdownHandler;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private final long maxEntitySize;
 
-    HTTPIOHandler(HTTPHandler handler, ShutdownHandler shutdownHandler, long maxEntitySize) {
+    HTTPIOHandler(HTTPHandler handler, ShutdownHandler shutdownHandler, ConcurrencyLimiter concurrencyLimiter, long maxEntitySize) {
         this.handler = handler;
         this.shutdownHandler = shutdownHandler;
+        this.concurrencyLimiter = concurrencyLimiter;
         this.maxEntitySize = maxEntitySize;
         var builder = FormParserFactory.builder();
         builder.setDefaultCharset(UTF_8.name());
@@ -46,6 +49,9 @@ public class HTTPIOHandler implements HttpHandler {
         boolean shutdown = shutdownHandler.handle(exchange);
         if (shutdown) return;
 
+        // reject on io thread before dispatching, not to queue requests which will exceed lb timeout anyway
+        if (concurrencyLimiter != null && !concurrencyLimiter.acquire(exchange)) return;
+
         if (hasBody(contentLength, exchange.getRequestMethod())) {    // parse body early, not process until body is read (e.g. for chunked), to save one blocking thread during read
             FormDataParser parser = formParserFactory.createParser(exchange);
             if (parser != null) {
@@ -63,7 +69,7 @@ public class HTTPIOHandler implements HttpHandler {
             }
         }
 
-        exchange.dispatch(handler);
+        handler.dispatch(exchange);
     }
 
     // undertow is not handling max entity size checking correctly, it terminates request directly and bypass exchange.endExchange() in certain cases, and log errors in debug level
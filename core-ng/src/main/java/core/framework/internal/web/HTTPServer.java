@@ -1,6 +1,8 @@
 package core.framework.internal.web;
 
+import core.framework.internal.async.ThreadPools;
 import core.framework.internal.log.LogManager;
+import core.framework.internal.web.http.ConcurrencyLimiter;
 import core.framework.internal.web.site.SiteManager;
 import core.framework.util.StopWatch;
 import io.undertow.Undertow;
@@ -36,6 +38,7 @@ public class HTTPServer {
     public Integer httpsPort;
     public boolean gzip;
     public long maxEntitySize = 10_000_000;    // limit max post body to 10M
+    public ConcurrencyLimiter concurrencyLimiter;
     private Undertow server;
 
     public HTTPServer(LogManager logManager) {
@@ -45,6 +48,8 @@ public class HTTPServer {
     public void start() {
         if (httpPort == null && httpsPort == null) httpsPort = 8443;    // by default start https only
 
+        if (ThreadPools.virtualThread()) handler.executor = ThreadPools.virtualThreadExecutor("http-handler-");
+
         var watch = new StopWatch();
         try {
             Undertow.Builder builder = Undertow.builder();
@@ -73,12 +78,12 @@ public class HTTPServer {
             server = builder.build();
             server.start();
         } finally {
-            logger.info("http server started, httpPort={}, httpsPort={}, gzip={}, elapsed={}", httpPort, httpsPort, gzip, watch.elapsed());
+            logger.info("http server started, httpPort={}, httpsPort={}, gzip={}, virtualThread={}, elapsed={}", httpPort, httpsPort, gzip, handler.executor != null, watch.elapsed());
         }
     }
 
     private HttpHandler handler() {
-        HttpHandler handler = new HTTPIOHandler(this.handler, shutdownHandler, maxEntitySize);
+        HttpHandler handler = new HTTPIOHandler(this.handler, shutdownHandler, concurrencyLimiter, maxEntitySize);
         if (gzip) {
             // only support gzip, deflate is less popular
             handler = new EncodingHandler(handler, new ContentEncodingRepository()
@@ -17,5 +17,9 @@ public class HTTPServerMetrics implements Metrics {
     public void collect(Stats stats) {
         int activeRequests = server.shutdownHandler.maxActiveRequests();
         stats.put("http_active_requests", activeRequests);
+        if (server.concurrencyLimiter != null) {
+            stats.put("http_concurrency_limit", server.concurrencyLimiter.limit());
+            stats.put("http_rejected_requests", server.concurrencyLimiter.rejectedRequests());
+        }
     }
 }
@@ -9,6 +9,8 @@ import core.framework.internal.web.site.AJAXErrorResponse;
 import core.framework.util.Maps;
 import core.framework.util.Strings;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +19,8 @@ import java.util.Optional;
  * @author neo
  */
 public class ResponseBeanWriter {   // used by controller and web service
+    private static final byte[] NULL = Strings.bytes("null");
+
     private final Map<Class<?>, Context<?>> context = Maps.newHashMap();
 
     public ResponseBeanWriter() {
@@ -41,17 +45,38 @@ public class ResponseBeanWriter {   // used by controller and web service
         if (bean instanceof Optional) {  // only support Optional<T> as response bean type
             Optional<?> optional = (Optional<?>) bean;
             if (optional.isEmpty()) return Strings.bytes("null");
-            Object value = optional.get();
-            Context<Object> context = context(this.context, value.getClass());
-            context.validator.validate(value, false);
-            return context.writer.toJSON(value);
+            return toJSONWithValidation(optional.get());
         } else {
-            Context<Object> context = context(this.context, bean.getClass());
-            context.validator.validate(bean, false);
-            return context.writer.toJSON(bean);
+            return toJSONWithValidation(bean);
         }
     }
 
+    // write to stream without closing it, validate before writing, so nothing is written if bean is invalid
+    public void writeJSON(Object bean, OutputStream stream) throws IOException {
+        if (bean instanceof Optional) {
+            Optional<?> optional = (Optional<?>) bean;
+            if (optional.isEmpty()) {
+                stream.write(NULL);
+                return;
+            }
+            writeWithValidation(optional.get(), stream);
+        } else {
+            writeWithValidation(bean, stream);
+        }
+    }
+
+    private byte[] toJSONWithValidation(Object bean) {
+        Context<Object> context = context(this.context, bean.getClass());
+        context.validator.validate(bean, false);
+        return context.writer.toJSON(bean);
+    }
+
+    private void writeWithValidation(Object bean, OutputStream stream) throws IOException {
+        Context<Object> context = context(this.context, bean.getClass());
+        context.validator.validate(bean, false);
+        context.writer.writeJSON(bean, stream);
+    }
+
     private <T> T context(Map<Class<?>, ?> context, Class<?> beanClass) {
         @SuppressWarnings("unchecked")
         T result = (T) context.get(beanClass);
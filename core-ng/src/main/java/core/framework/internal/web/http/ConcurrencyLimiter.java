@@ -0,0 +1,132 @@
+package core.framework.internal.web.http;
+
+import core.framework.web.rate.RequestPriority;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.StatusCodes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * adaptive concurrency limit by latency gradient, requests are admitted on io thread before dispatching to worker, and rejected with 503 if in-flight requests exceed limit,
+ * latency is measured from admission to exchange completion, so it includes time waiting for worker thread,
+ * for every sample window, limit = limit * min(1, tolerance * long term latency / short term latency) + sqrt(limit), then smoothed,
+ * so limit shrinks when queueing makes latency grow, and grows slowly when latency is stable
+ *
+ * @author neo
+ */
+public final class ConcurrencyLimiter {
+    private static final long WINDOW_IN_NANOS = 100_000_000;    // 100ms, to react to spike within few seconds
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_WINDOW = 600;              // long term latency is average of last 600 windows, around 1 min under load
+    private static final double TOLERANCE = 1.5;                // latency increase within tolerance is not treated as queueing
+    private static final double SMOOTHING = 0.2;
+
+    final AtomicInteger inFlight = new AtomicInteger(0);
+    final Map<String, RequestPriority> priorities = new LinkedHashMap<>();    // path prefix -> priority, first match wins, only configured during startup
+    final LongAdder rejected = new LongAdder();
+    private final AtomicInteger maxInFlight = new AtomicInteger(0);
+    private final AtomicLong windowStartTime = new AtomicLong(System.nanoTime());
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    int minLimit = 10;
+    int maxLimit = 1000;
+    volatile double limit = maxLimit;   // start from max, not to reject requests before latency baseline is known
+    volatile double longLatency;        // in nanos
+
+    public void limit(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        limit = maxLimit;
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public void priority(String pathPrefix, RequestPriority priority) {
+        RequestPriority previous = priorities.putIfAbsent(pathPrefix, priority);
+        if (previous != null) throw new Error("found duplicate priority path prefix, pathPrefix=" + pathPrefix);
+    }
+
+    // return false if request is rejected
+    public boolean acquire(HttpServerExchange exchange) {
+        long startTime = System.nanoTime();
+        if (!acquire(requestPriority(exchange.getRequestPath()))) {
+            exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+            exchange.endExchange();
+            return false;
+        }
+        exchange.addExchangeCompleteListener((completedExchange, next) -> {
+            try {
+                release(startTime, System.nanoTime());
+            } finally {
+                next.proceed();
+            }
+        });
+        return true;
+    }
+
+    boolean acquire(RequestPriority priority) {
+        int current = inFlight.incrementAndGet();
+        if (current > priorityLimit(priority)) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        maxInFlight.getAndAccumulate(current, Math::max);
+        return true;
+    }
+
+    void release(long startTime, long currentTime) {
+        inFlight.decrementAndGet();
+        windowLatency.add(currentTime - startTime);
+        windowSamples.increment();
+
+        long windowStartTime = this.windowStartTime.get();
+        if (currentTime - windowStartTime >= WINDOW_IN_NANOS
+                && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && this.windowStartTime.compareAndSet(windowStartTime, currentTime)) {  // only one thread updates limit for each window
+            long samples = windowSamples.sumThenReset();
+            double latency = (double) windowLatency.sumThenReset() / samples;
+            update(latency, maxInFlight.getAndSet(inFlight.get()));
+        }
+    }
+
+    void update(double latency, int maxInFlight) {
+        double longLatency = this.longLatency == 0 ? latency : this.longLatency + (latency - this.longLatency) / LONG_WINDOW;
+        if (longLatency / latency > 2) longLatency *= 0.95;     // latency dropped a lot, e.g. after dependency recovered, let long term latency catch up faster
+        this.longLatency = longLatency;
+
+        double limit = this.limit;
+        if (maxInFlight < limit / 2) return;    // not enough load to probe limit, keep current limit
+
+        double gradient = Math.max(0.5, Math.min(1, TOLERANCE * longLatency / latency));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    RequestPriority requestPriority(String path) {
+        for (Map.Entry<String, RequestPriority> entry : priorities.entrySet()) {
+            if (path.startsWith(entry.getKey())) return entry.getValue();
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    // lower priority requests can only use part of limit, to leave room for higher priority requests
+    int priorityLimit(RequestPriority priority) {
+        double limit = this.limit;
+        if (priority == RequestPriority.HIGH) return (int) limit;
+        if (priority == RequestPriority.LOW) return Math.max(1, (int) (limit * 0.5));
+        return Math.max(1, (int) (limit * 0.9));
+    }
+
+    // return rejected requests since last call
+    public long rejectedRequests() {
+        return rejected.sumThenReset();
+    }
+}
@@ -1,23 +1,36 @@
 package core.framework.internal.web.http;
 
-import core.framework.internal.util.LRUMap;
+import core.framework.internal.redis.RedisException;
+import core.framework.internal.resource.PoolException;
 import core.framework.util.Maps;
 import core.framework.web.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static core.framework.log.Markers.errorCode;
 
 /**
+ * rates are kept per group in concurrent map keyed by client ip, each rate is token bucket in GCRA form (one timestamp updated by CAS),
+ * when map is full, evict sampled idle rates, idle rate has refilled to max permits, which is same as new rate, so eviction doesn't lose state in common case
+ * if redis rate limiter is configured, rates are shared by all instances, and fall back to local rates for a while if redis is not available or slow
+ *
  * @author neo
  */
 public class RateControl {
+    private static final long REDIS_RETRY_INTERVAL = Duration.ofSeconds(10).toNanos();
+
     private final Logger logger = LoggerFactory.getLogger(RateControl.class);
     private final int maxEntries;
 
     public Map<String, RateConfig> config;
-    private LRUMap<String, Rate> rates;
+    public RedisRateLimiter redisRateLimiter;
 
     public RateControl(int maxEntries) {
         this.maxEntries = maxEntries;
@@ -26,10 +39,7 @@ public class RateControl {
     // config is always called during initialization, so no concurrency issue
     public void config(String group, int maxPermits, int fillRate, TimeUnit unit) {
         synchronized (this) {
-            if (config == null) {
-                config = Maps.newHashMap();
-                rates = new LRUMap<>(maxEntries);
-            }
+            if (config == null) config = Maps.newHashMap();
         }
         double fillRatePerNano = ratePerNano(fillRate, unit);
         RateConfig previous = config.put(group, new RateConfig(maxPermits, fillRatePerNano));
@@ -56,46 +66,50 @@ public class RateControl {
             return true;    // skip if group is not defined
         }
 
-        String key = group + "/" + clientIP;
-        Rate rate;
-        synchronized (this) {
-            rate = rates.computeIfAbsent(key, k -> new Rate(config.maxPermits));
-        }
         long currentTime = System.nanoTime();
-        return rate.acquire(currentTime, config.maxPermits, config.fillRatePerNano);
+        if (redisRateLimiter != null && redisRateLimiter.available(currentTime)) {
+            try {
+                return redisRateLimiter.acquire(group, clientIP, config, currentTime);
+            } catch (UncheckedIOException | PoolException | RedisException e) {
+                logger.warn(errorCode("REDIS_RATE_LIMITER_FAILED"), "failed to acquire rate from redis, fall back to local rate, error={}", e.getMessage(), e);
+                redisRateLimiter.unavailable(currentTime, REDIS_RETRY_INTERVAL);
+            }
+        }
+
+        Rate rate = config.rates.get(clientIP);
+        if (rate == null) {
+            if (config.rates.size() >= maxEntries) config.eviction.evict(currentTime);
+            rate = config.rates.computeIfAbsent(clientIP, key -> new Rate(currentTime));
+        }
+        return rate.acquire(currentTime, config.maxPermits, config.interval);
     }
 
     static final class RateConfig {
+        final Map<String, Rate> rates = new ConcurrentHashMap<>();
+        final SampledEviction<Rate> eviction = new SampledEviction<>(rates, rate -> rate.time.get());    // rate is idle after time
         final int maxPermits;
-        final double fillRatePerNano;
+        final long interval;      // nanos to fill one permit
 
         RateConfig(int maxPermits, double fillRatePerNano) {
             this.maxPermits = maxPermits;
-            this.fillRatePerNano = fillRatePerNano;
+            interval = Math.max(1, Math.round(1 / fillRatePerNano));
         }
     }
 
     static final class Rate {
-        volatile double currentPermits;
-        volatile long lastUpdateTime;
+        // theoretical time when bucket is full again, each permit moves it by interval, allow if it's within maxPermits * interval from now
+        final AtomicLong time;
 
-        Rate(int currentPermits) {
-            this.currentPermits = currentPermits;
-            this.lastUpdateTime = System.nanoTime();
+        Rate(long currentTime) {
+            time = new AtomicLong(currentTime);
         }
 
-        boolean acquire(long currentTime, int maxPermits, double fillRatePerNano) {
-            synchronized (this) {
-                long timeElapsed = Math.max(0, currentTime - lastUpdateTime);
-                currentPermits = Math.min(maxPermits, currentPermits + fillRatePerNano * timeElapsed);
-                lastUpdateTime = lastUpdateTime + timeElapsed;
-
-                if (currentPermits >= 1) {
-                    currentPermits -= 1;
-                    return true;
-                } else {
-                    return false;
-                }
+        boolean acquire(long currentTime, int maxPermits, long interval) {
+            while (true) {
+                long time = this.time.get();
+                long nextTime = (time - currentTime > 0 ? time : currentTime) + interval;     // compare by difference, nanoTime may overflow
+                if (nextTime - currentTime > maxPermits * interval) return false;
+                if (this.time.compareAndSet(time, nextTime)) return true;
             }
         }
     }
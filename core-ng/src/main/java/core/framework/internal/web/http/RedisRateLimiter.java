@@ -0,0 +1,106 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * rate shared by all instances, stored in redis as GCRA token bucket (theoretical full time in micros, based on redis server time),
+ * each instance reserves permits in batch and consumes them locally, so not every request calls redis,
+ * reservation expires after the time to refill its permits, unused permits are dropped, which only makes rate stricter, not looser,
+ * denied result is kept for one interval, not to call redis for every request which exceeds rate
+ *
+ * @author neo
+ */
+public class RedisRateLimiter {
+    // return granted permits, 0 if rate exceeded, ARGV = [interval, burst, batch] in micros
+    static final String RESERVE_SCRIPT = "redis.replicate_commands() "
+            + "local time = redis.call('time') "
+            + "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) "
+            + "local tat = tonumber(redis.call('get', KEYS[1]) or 0) "
+            + "if tat < now then tat = now end "
+            + "local interval = tonumber(ARGV[1]) "
+            + "local granted = math.min(math.floor((now + tonumber(ARGV[2]) - tat) / interval), tonumber(ARGV[3])) "
+            + "if granted <= 0 then return 0 end "
+            + "tat = tat + granted * interval "
+            + "redis.call('set', KEYS[1], string.format('%.0f', tat), 'px', math.ceil((tat - now) / 1000)) "
+            + "return granted";
+
+    final Map<String, Map<String, Reservation>> reservations = new ConcurrentHashMap<>();   // group -> client ip -> reservation
+    private final Map<String, SampledEviction<Reservation>> evictions = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    RedisScript script;
+    private volatile long unavailableUntil;    // in nanos, skip redis until then after failure
+    private volatile boolean unavailable;
+
+    public RedisRateLimiter(RedisImpl redis, int maxEntries) {
+        script = new RedisScript(redis);
+        this.maxEntries = maxEntries;
+    }
+
+    boolean available(long currentTime) {
+        if (!unavailable) return true;
+        if (currentTime - unavailableUntil < 0) return false;
+        unavailable = false;
+        return true;
+    }
+
+    void unavailable(long currentTime, long duration) {
+        unavailableUntil = currentTime + duration;
+        unavailable = true;
+    }
+
+    boolean acquire(String group, String clientIP, RateControl.RateConfig config, long currentTime) {
+        Map<String, Reservation> reservations = this.reservations.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+        Reservation reservation = reservations.get(clientIP);
+        if (reservation != null && currentTime - reservation.expirationTime < 0) {
+            if (reservation.acquire()) return true;
+            if (reservation.denied) return false;
+        }
+
+        long interval = Math.max(1, config.interval / 1000);     // in micros
+        int batch = Math.max(1, config.maxPermits / 10);         // to leave permits for other instances, and call redis for every request if max permits is small, e.g. login
+        int granted = reserve(group, clientIP, interval, config.maxPermits * interval, batch);
+
+        if (reservation == null && reservations.size() >= maxEntries) {
+            evictions.computeIfAbsent(group, key -> new SampledEviction<>(reservations, value -> value.expirationTime)).evict(currentTime);
+        }
+        if (granted == 0) {
+            reservations.put(clientIP, new Reservation(0, currentTime + config.interval, true));
+            return false;
+        }
+        if (granted > 1 || reservation != null) {
+            // current request takes one permit, stale reservation is replaced
+            reservations.put(clientIP, new Reservation(granted - 1, currentTime + granted * config.interval, false));
+        }
+        return true;
+    }
+
+    private int reserve(String group, String clientIP, long interval, long burst, int batch) {
+        Object result = script.eval(RESERVE_SCRIPT, new String[]{"rate:" + group + ":" + clientIP}, String.valueOf(interval), String.valueOf(burst), String.valueOf(batch));
+        return ((Long) result).intValue();
+    }
+
+    static final class Reservation {
+        final AtomicInteger permits;
+        final long expirationTime;
+        final boolean denied;
+
+        Reservation(int permits, long expirationTime, boolean denied) {
+            this.permits = new AtomicInteger(permits);
+            this.expirationTime = expirationTime;
+            this.denied = denied;
+        }
+
+        boolean acquire() {
+            while (true) {
+                int permits = this.permits.get();
+                if (permits <= 0) return false;
+                if (this.permits.compareAndSet(permits, permits - 1)) return true;
+            }
+        }
+    }
+}
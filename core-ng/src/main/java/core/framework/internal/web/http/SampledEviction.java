@@ -0,0 +1,52 @@
+package core.framework.internal.web.http;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * approximate eviction for concurrent map, each eviction samples next entries from cursor kept between evictions,
+ * so work is bounded by samples regardless of map size, and all entries are sampled in turn rather than always first entries in map iteration order
+ *
+ * @author neo
+ */
+final class SampledEviction<V> {
+    static final int SAMPLES = 32;
+
+    private final Map<String, V> entries;
+    private final ToLongFunction<V> expirationTime;    // entry can be removed after expiration time, in nanos
+    private Iterator<Map.Entry<String, V>> cursor;
+
+    SampledEviction(Map<String, V> entries, ToLongFunction<V> expirationTime) {
+        this.entries = entries;
+        this.expirationTime = expirationTime;
+    }
+
+    // remove expired entries within samples, or the one expires first if none expired, return number of sampled entries
+    int evict(long currentTime) {
+        synchronized (this) {
+            String eldestKey = null;
+            long eldestTime = 0;
+            boolean removed = false;
+            int sampled = 0;
+            while (sampled < SAMPLES) {
+                if (cursor == null || !cursor.hasNext()) {
+                    cursor = entries.entrySet().iterator();     // wrap around
+                    if (!cursor.hasNext()) break;
+                }
+                Map.Entry<String, V> entry = cursor.next();
+                sampled++;
+                long time = expirationTime.applyAsLong(entry.getValue());
+                if (time - currentTime <= 0) {
+                    cursor.remove();
+                    removed = true;
+                } else if (eldestKey == null || time - eldestTime < 0) {
+                    eldestTime = time;
+                    eldestKey = entry.getKey();
+                }
+            }
+            if (!removed && eldestKey != null) entries.remove(eldestKey);
+            return sampled;
+        }
+    }
+}
@@ -37,7 +37,7 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
     public void handleEvent(StreamSourceChannel channel) {
         read(channel);
         if (complete) {
-            exchange.dispatch(handler);
+            handler.dispatch(exchange);
         }
     }
 
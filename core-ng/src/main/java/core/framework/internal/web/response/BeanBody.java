@@ -1,17 +1,17 @@
 package core.framework.internal.web.response;
 
-import core.framework.internal.log.filter.BytesLogParam;
 import io.undertow.io.Sender;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.undertow.server.HttpServerExchange;
+import org.xnio.IoUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 
 /**
  * @author neo
  */
 public final class BeanBody implements Body {
-    private static final Logger LOGGER = LoggerFactory.getLogger(BeanBody.class);
     public final Object bean;
 
     public BeanBody(Object bean) {
@@ -20,8 +20,26 @@ public final class BeanBody implements Body {
 
     @Override
     public void send(Sender sender, ResponseHandlerContext context) {
-        byte[] body = context.writer.toJSON(bean);
-        LOGGER.debug("[response] body={}", new BytesLogParam(body));
-        sender.send(ByteBuffer.wrap(body));
+        sender.send(ByteBuffer.wrap(context.writer.toJSON(bean)));
+    }
+
+    // serialize bean into response chunks directly, rather than building whole json in memory, bean is validated before anything is sent
+    @Override
+    public void send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        var stream = new BodyOutputStream(exchange.getResponseSender(), () -> {
+            exchange.startBlocking();
+            return exchange.getOutputStream();
+        });
+        boolean completed = false;
+        try {
+            context.writer.writeJSON(bean, stream);
+            stream.end();
+            completed = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // part of body was sent, error response can't be written, close connection to let client know response is incomplete, rather than ending chunked body as complete
+            if (!completed && exchange.isResponseStarted()) IoUtils.safeClose(exchange.getConnection());
+        }
     }
 }
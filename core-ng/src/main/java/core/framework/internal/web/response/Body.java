@@ -1,10 +1,16 @@
 package core.framework.internal.web.response;
 
 import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 
 /**
  * @author neo
  */
 interface Body {
     void send(Sender sender, ResponseHandlerContext context);
+
+    // body can write thru exchange directly, e.g. stream large body with blocking output
+    default void send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        send(exchange.getResponseSender(), context);
+    }
 }
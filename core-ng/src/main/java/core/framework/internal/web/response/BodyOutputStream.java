@@ -0,0 +1,86 @@
+package core.framework.internal.web.response;
+
+import core.framework.internal.log.filter.BytesLogParam;
+import io.undertow.io.Sender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * write response body in fixed size chunks, so large body is streamed with bounded memory,
+ * body fits in one chunk is sent by async sender in one write with content-length, same as sending byte[],
+ * once body exceeds one chunk, it switches to blocking output of exchange, which is allowed as handler runs on worker thread,
+ * not to wait for async sender callback within handler, as undertow only resumes writes after handler call returns
+ *
+ * @author neo
+ */
+final class BodyOutputStream extends OutputStream {
+    static final int CHUNK_SIZE = 16384;
+    private static final int MAX_LOG_BODY_SIZE = 10001;    // log filter truncates param to 10k, keep one more byte to show it's truncated
+    private static final Logger LOGGER = LoggerFactory.getLogger(BodyOutputStream.class);
+
+    private final Sender sender;
+    private final Supplier<OutputStream> blockingOutput;
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private OutputStream output;
+    private int position;
+    private boolean logged;
+
+    BodyOutputStream(Sender sender, Supplier<OutputStream> blockingOutput) {
+        this.sender = sender;
+        this.blockingOutput = blockingOutput;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (position == CHUNK_SIZE) writeChunk();
+        buffer[position] = (byte) value;
+        position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            if (position == CHUNK_SIZE) writeChunk();
+            int size = Math.min(length - written, CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset + written, buffer, position, size);
+            position += size;
+            written += size;
+        }
+    }
+
+    // not to send on flush, jackson flushes after writing value
+    @Override
+    public void flush() {
+    }
+
+    void end() throws IOException {
+        logBody();
+        if (output == null) {
+            sender.send(ByteBuffer.wrap(buffer, 0, position));
+        } else {
+            output.write(buffer, 0, position);
+            output.close();     // end exchange
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        logBody();
+        if (output == null) output = blockingOutput.get();
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private void logBody() {
+        if (!logged) {
+            LOGGER.debug("[response] body={}", new BytesLogParam(Arrays.copyOf(buffer, Math.min(position, MAX_LOG_BODY_SIZE))));
+            logged = true;
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class ResponseHandler {
         putHeaders(response, exchange);
         putCookies(response, exchange);
 
-        response.body.send(exchange.getResponseSender(), context);
+        response.body.send(exchange, context);
 
         actionLog.context.put("response_code", List.of(String.valueOf(status.code)));  // set response code context at last, to avoid error handler to log duplicate action_log_context key on exception
         logger.debug("[response] statusCode={}", status.code);
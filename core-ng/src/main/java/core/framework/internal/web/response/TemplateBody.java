@@ -1,6 +1,11 @@
 package core.framework.internal.web.response;
 
+import core.framework.internal.template.TemplateOutput;
+import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+
+import java.io.IOException;
 
 /**
  * @author neo
@@ -18,7 +23,27 @@ public final class TemplateBody implements Body {
 
     @Override
     public void send(Sender sender, ResponseHandlerContext context) {
-        String content = context.templateManager.process(templatePath, model, language);
-        sender.send(content);
+        TemplateOutput output = context.templateManager.process(templatePath, model, language);
+        sender.send(output.buffers(), new ReleaseOutputCallback(output));    // send encoded chunks directly, release them after sent
+    }
+
+    static final class ReleaseOutputCallback implements IoCallback {
+        private final TemplateOutput output;
+
+        ReleaseOutputCallback(TemplateOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void onComplete(HttpServerExchange exchange, Sender sender) {
+            output.release();
+            IoCallback.END_EXCHANGE.onComplete(exchange, sender);
+        }
+
+        @Override
+        public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+            output.release();
+            IoCallback.END_EXCHANGE.onException(exchange, sender, exception);
+        }
     }
 }
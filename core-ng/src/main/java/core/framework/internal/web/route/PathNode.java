@@ -3,113 +3,184 @@ package core.framework.internal.web.route;
 import core.framework.internal.web.request.PathParams;
 import core.framework.util.Strings;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import static core.framework.util.Strings.format;
 
 /**
+ * radix tree of path patterns, static text between path variables is compressed into node prefix,
+ * path is matched by scanning raw path with index, only captured path variable values are allocated
+ *
+ * match priority of each segment is static > dynamic > wildcard, and falls back to next if the rest of path doesn't match
+ *
  * @author neo
  */
 class PathNode {
-    private final String param;
+    private final String param;     // name of dynamic or wildcard variable
+    private String prefix;          // static text matched by this node
     private URLHandler handler;
-    private Map<String, PathNode> staticNodes;
+    private char[] indices = new char[0];     // first char of static nodes, for fast lookup
+    private PathNode[] staticNodes = new PathNode[0];
     private PathNode dynamicNode;
     private PathNode wildcardNode;
 
     PathNode(String param) {
-        this.param = param;
+        this(param, "");
     }
 
-    URLHandler register(String pathPattern) {
-        return register(pathPattern, Path.parse(pathPattern).next);
+    private PathNode(String param, String prefix) {
+        this.param = param;
+        this.prefix = prefix;
     }
 
-    private URLHandler register(String pathPattern, Path currentPath) {
-        if (currentPath == null) {
-            if (handler == null) handler = new URLHandler(pathPattern);
-            return handler;
-        } else if (Strings.startsWith(currentPath.value, ':')) {
-            int paramIndex = currentPath.value.indexOf('(');
-            int endIndex = paramIndex > 0 ? paramIndex : currentPath.value.length();
-            String param = currentPath.value.substring(1, endIndex);
-            boolean wildcard = paramIndex > 0;
-            if (wildcard) {
-                return registerWildcardNode(pathPattern, currentPath, param);
+    URLHandler register(String pathPattern) {
+        PathNode current = this;
+        int length = pathPattern.length();
+        int index = 0;
+        while (index < length) {
+            int paramIndex = pathPattern.indexOf(':', index);
+            if (paramIndex < 0) {
+                current = current.registerStaticNode(pathPattern.substring(index));
+                break;
+            }
+            if (paramIndex > index) current = current.registerStaticNode(pathPattern.substring(index, paramIndex));
+
+            int endIndex = pathPattern.indexOf('/', paramIndex);
+            if (endIndex < 0) endIndex = length;
+            int wildcardIndex = pathPattern.indexOf('(', paramIndex);
+            if (wildcardIndex > 0 && wildcardIndex < endIndex) {
+                String param = pathPattern.substring(paramIndex + 1, wildcardIndex);
+                if (endIndex < length) throw new Error(format("wildcard path variable must be the last, path={}, param={}", pathPattern, param));
+                current = current.registerWildcardNode(pathPattern, param);
             } else {
-                return registerDynamicNode(pathPattern, currentPath, param);
+                current = current.registerDynamicNode(pathPattern, pathPattern.substring(paramIndex + 1, endIndex));
             }
-        } else {
-            if (staticNodes == null) staticNodes = new HashMap<>();
-            PathNode staticNode = staticNodes.computeIfAbsent(currentPath.value, key -> new PathNode(null));
-            return staticNode.register(pathPattern, currentPath.next);
+            index = endIndex;
         }
+        if (current.handler == null) current.handler = new URLHandler(pathPattern);
+        return current.handler;
     }
 
-    private URLHandler registerWildcardNode(String pathPattern, Path currentPath, String param) {
-        if (currentPath.next != null) throw new Error(format("wildcard path variable must be the last, path={}, param={}", pathPattern, param));
+    // return node matches end of text
+    private PathNode registerStaticNode(String text) {
+        PathNode node = staticNode(text.charAt(0));
+        if (node == null) {
+            node = new PathNode(null, text);
+            indices = Arrays.copyOf(indices, indices.length + 1);
+            indices[indices.length - 1] = text.charAt(0);
+            staticNodes = Arrays.copyOf(staticNodes, staticNodes.length + 1);
+            staticNodes[staticNodes.length - 1] = node;
+            return node;
+        }
+        int commonLength = commonPrefixLength(node.prefix, text);
+        if (commonLength < node.prefix.length()) node.split(commonLength);
+        if (commonLength == text.length()) return node;
+        return node.registerStaticNode(text.substring(commonLength));
+    }
+
+    // move rest of prefix and all children to new child node
+    private void split(int index) {
+        var child = new PathNode(null, prefix.substring(index));
+        child.handler = handler;
+        child.indices = indices;
+        child.staticNodes = staticNodes;
+        child.dynamicNode = dynamicNode;
+        child.wildcardNode = wildcardNode;
+
+        prefix = prefix.substring(0, index);
+        handler = null;
+        indices = new char[]{child.prefix.charAt(0)};
+        staticNodes = new PathNode[]{child};
+        dynamicNode = null;
+        wildcardNode = null;
+    }
+
+    private int commonPrefixLength(String text1, String text2) {
+        int length = Math.min(text1.length(), text2.length());
+        int index = 0;
+        while (index < length && text1.charAt(index) == text2.charAt(index)) {
+            index++;
+        }
+        return index;
+    }
+
+    private PathNode registerWildcardNode(String pathPattern, String param) {
         if (wildcardNode != null) {
             if (!Strings.equals(wildcardNode.param, param))
                 throw new Error(format("found conflict dynamic pattern, path={}, param={}, conflictedParam={}", pathPattern, param, wildcardNode.param));
         } else {
             wildcardNode = new PathNode(param);
         }
-        return wildcardNode.register(pathPattern, currentPath.next);
+        return wildcardNode;
     }
 
-    private URLHandler registerDynamicNode(String pathPattern, Path currentPath, String param) {
+    private PathNode registerDynamicNode(String pathPattern, String param) {
         if (dynamicNode != null) {
             if (!Strings.equals(dynamicNode.param, param))
                 throw new Error(format("found conflict dynamic pattern, path={}, param={}, conflictedParam={}", pathPattern, param, dynamicNode.param));
         } else {
             dynamicNode = new PathNode(param);
         }
-        return dynamicNode.register(pathPattern, currentPath.next);
+        return dynamicNode;
     }
 
     URLHandler find(String path, PathParams pathParams) {
-        return find(Path.parse(path), pathParams);
+        return find(path, 0, pathParams);
     }
 
-    private URLHandler find(Path currentPath, PathParams pathParams) {
-        Path nextPath = currentPath.next;
-        if (nextPath == null) return handler;
+    // index is the position of path after matched by current node
+    private URLHandler find(String path, int index, PathParams pathParams) {
+        int length = path.length();
+        boolean segmentStart = index > 0 && path.charAt(index - 1) == '/';
+        if (index == length) {
+            if (handler != null || !segmentStart) return handler;
+            if (wildcardNode != null && index > 1) {     // dynamic node should not match trailing slash, but wildcard does, except root path
+                pathParams.put(wildcardNode.param, "/");
+                return wildcardNode.handler;
+            }
+            return null;
+        }
 
-        URLHandler handler = findStatic(nextPath, pathParams);
+        URLHandler handler = findStatic(path, index, pathParams);
         if (handler != null) return handler;
 
-        if (!"/".equals(nextPath.value)) {  // dynamic node should not match trailing slash
-            handler = findDynamic(nextPath, pathParams);
+        if (segmentStart) {
+            handler = findDynamic(path, index, pathParams);
             if (handler != null) return handler;
-        }
 
-        if (wildcardNode != null) {
-            pathParams.put(wildcardNode.param, nextPath.subPath());
-            return wildcardNode.handler;
+            if (wildcardNode != null) {
+                pathParams.put(wildcardNode.param, path.substring(index));
+                return wildcardNode.handler;
+            }
         }
-
         return null;
     }
 
-    private URLHandler findStatic(Path nextPath, PathParams pathParams) {
-        if (staticNodes != null) {
-            PathNode nextNode = staticNodes.get(nextPath.value);
-            if (nextNode != null) {
-                return nextNode.find(nextPath, pathParams);
-            }
+    private URLHandler findStatic(String path, int index, PathParams pathParams) {
+        PathNode node = staticNode(path.charAt(index));
+        if (node != null && path.startsWith(node.prefix, index)) {
+            return node.find(path, index + node.prefix.length(), pathParams);
         }
         return null;
     }
 
-    private URLHandler findDynamic(Path nextPath, PathParams pathParams) {
+    private URLHandler findDynamic(String path, int index, PathParams pathParams) {
         if (dynamicNode != null) {
-            URLHandler handler = dynamicNode.find(nextPath, pathParams);
+            int endIndex = path.indexOf('/', index);
+            if (endIndex < 0) endIndex = path.length();
+            URLHandler handler = dynamicNode.find(path, endIndex, pathParams);
             if (handler != null) {
-                pathParams.put(dynamicNode.param, nextPath.value);
+                pathParams.put(dynamicNode.param, path.substring(index, endIndex));
                 return handler;
             }
         }
         return null;
     }
+
+    private PathNode staticNode(char ch) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] == ch) return staticNodes[i];
+        }
+        return null;
+    }
 }
@@ -0,0 +1,93 @@
+package core.framework.internal.web.service;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.log.Severity;
+import core.framework.web.service.RemoteServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * count calls and failures within fixed time window, open circuit if failure rate exceeds threshold, calls fail fast while circuit is open,
+ * after open duration, one probe call is allowed (half open), circuit is closed if probe succeeded, otherwise opened again
+ *
+ * @author neo
+ */
+public final class CircuitBreaker {
+    private static final long WINDOW = Duration.ofSeconds(10).toNanos();
+    private static final int MIN_CALLS = 20;    // not to open circuit with few calls
+
+    final AtomicReference<Window> window;
+    private final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+    private final String service;
+    private final double failureRateThreshold;
+    private final long openDurationInNanos;
+    private volatile long openUntil;
+    private volatile boolean open;
+
+    public CircuitBreaker(String service, double failureRateThreshold, Duration openDuration) {
+        this.service = service;
+        this.failureRateThreshold = failureRateThreshold;
+        openDurationInNanos = openDuration.toNanos();
+        window = new AtomicReference<>(new Window(System.nanoTime()));
+    }
+
+    // return true if it's probe call, which must be recorded to close or reopen circuit
+    boolean acquire(long currentTime) {
+        if (!open) return false;
+        if (currentTime - openUntil >= 0 && probing.compareAndSet(false, true)) {
+            logger.debug("circuit is half open, send probe call, service={}", service);
+            return true;
+        }
+        throw new RemoteServiceException("circuit is open, service=" + service, Severity.WARN, "CIRCUIT_BREAKER_OPEN", HTTPStatus.SERVICE_UNAVAILABLE);
+    }
+
+    void record(boolean success, boolean probe, long currentTime) {
+        if (probe) {
+            if (success) {
+                logger.info("close circuit, service={}", service);
+                window.set(new Window(currentTime));
+                open = false;
+            } else {
+                openUntil = currentTime + openDurationInNanos;
+            }
+            probing.set(false);
+            return;
+        }
+
+        Window window = currentWindow(currentTime);
+        int calls = window.calls.incrementAndGet();
+        int failures = success ? window.failures.get() : window.failures.incrementAndGet();
+        if (!success && !open && calls >= MIN_CALLS && failures >= calls * failureRateThreshold) {
+            logger.warn(errorCode("CIRCUIT_BREAKER_OPEN"), "open circuit due to high failure rate, service={}, calls={}, failures={}", service, calls, failures);
+            openUntil = currentTime + openDurationInNanos;
+            open = true;
+        }
+    }
+
+    private Window currentWindow(long currentTime) {
+        while (true) {
+            Window current = window.get();
+            if (currentTime - current.start < WINDOW) return current;
+            Window next = new Window(currentTime);
+            if (window.compareAndSet(current, next)) return next;
+        }
+    }
+
+    static final class Window {
+        final long start;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package core.framework.internal.web.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * service method can return CompletableFuture<T> to be called async by client, response type is T, and CompletableFuture<Void> is same as void
+ *
+ * @author neo
+ */
+public final class ResponseTypes {
+    public static boolean isAsync(Method method) {
+        return CompletableFuture.class.equals(method.getReturnType());
+    }
+
+    public static Type responseType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (!isAsync(method)) return returnType;
+        if (!(returnType instanceof ParameterizedType))
+            throw new Error("async service method must return CompletableFuture<T>, type=" + returnType.getTypeName());
+        Type responseType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (Void.class.equals(responseType)) return void.class;
+        return responseType;
+    }
+}
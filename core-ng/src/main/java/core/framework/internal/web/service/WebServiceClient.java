@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author neo
@@ -47,9 +48,10 @@ public class WebServiceClient {
     }
 
     private final String serviceURL;
-    private final HTTPClient httpClient;
     private final RequestBeanWriter writer;
     private final ResponseBeanReader reader;
+    public HTTPClient httpClient;     // can be replaced by dedicated http client per service during config
+    public CircuitBreaker circuitBreaker;
     private WebServiceClientInterceptor interceptor;
 
     public WebServiceClient(String serviceURL, HTTPClient httpClient, RequestBeanWriter writer, ResponseBeanReader reader) {
@@ -61,6 +63,42 @@ public class WebServiceClient {
 
     // used by generated code, must be public
     public <T> Object execute(HTTPMethod method, String path, Class<T> requestBeanClass, T requestBean, Type responseType) {
+        HTTPRequest request = request(method, path, requestBeanClass, requestBean);
+        boolean probe = circuitBreaker != null && circuitBreaker.acquire(System.nanoTime());
+        HTTPResponse response = null;
+        try {
+            response = httpClient.execute(request);
+        } finally {
+            if (circuitBreaker != null) circuitBreaker.record(response != null && response.statusCode < 500, probe, System.nanoTime());
+        }
+        return response(response, responseType);
+    }
+
+    // used by generated code, must be public, response is handled in http client thread with action log of caller
+    public <T> CompletableFuture<Object> executeAsync(HTTPMethod method, String path, Class<T> requestBeanClass, T requestBean, Type responseType) {
+        HTTPRequest request = request(method, path, requestBeanClass, requestBean);
+        return send(request).thenApply(response -> response(response, responseType));
+    }
+
+    private CompletableFuture<HTTPResponse> send(HTTPRequest request) {
+        if (circuitBreaker == null) return httpClient.executeAsync(request);
+        boolean probe;
+        try {
+            probe = circuitBreaker.acquire(System.nanoTime());
+        } catch (RemoteServiceException e) {    // circuit is open, fail thru future as other async errors
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HTTPResponse> future;
+        try {
+            future = httpClient.executeAsync(request);
+        } catch (RuntimeException e) {     // e.g. invalid url, must record failure to release probe
+            circuitBreaker.record(false, probe, System.nanoTime());
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, e) -> circuitBreaker.record(response != null && response.statusCode < 500, probe, System.nanoTime()));
+    }
+
+    private <T> HTTPRequest request(HTTPMethod method, String path, Class<T> requestBeanClass, T requestBean) {
         var request = new HTTPRequest(method, serviceURL + path);
         request.accept(ContentType.APPLICATION_JSON);
         linkContext(request);
@@ -73,7 +111,10 @@ public class WebServiceClient {
             LOGGER.debug("interceptor={}", interceptor.getClass().getCanonicalName());
             interceptor.onRequest(request);
         }
-        HTTPResponse response = httpClient.execute(request);
+        return request;
+    }
+
+    private Object response(HTTPResponse response, Type responseType) {
         if (interceptor != null) {
             interceptor.onResponse(response);
         }
@@ -62,7 +62,7 @@ public class WebServiceClientBuilder<T> {
     private String buildImplMethod(Method method) {
         var builder = new CodeBuilder();
 
-        Type returnType = method.getGenericReturnType();
+        Type responseType = ResponseTypes.responseType(method);
         Class<?> returnClass = method.getReturnType();
 
         Map<String, Integer> pathParamIndexes = Maps.newHashMap();
@@ -92,8 +92,12 @@ public class WebServiceClientBuilder<T> {
         builder.indent(1).append("Object requestBean = {};\n", requestBeanIndex == null ? "null" : "param" + requestBeanIndex);
 
         builder.indent(1);
-        if (returnType != void.class) builder.append("return ({}) ", type(returnClass));
-        builder.append("client.execute({}, path, requestBeanClass, requestBean, {});\n", variable(HTTPMethods.httpMethod(method)), variable(returnType));
+        if (ResponseTypes.isAsync(method)) {
+            builder.append("return client.executeAsync({}, path, requestBeanClass, requestBean, {});\n", variable(HTTPMethods.httpMethod(method)), variable(responseType));
+        } else {
+            if (responseType != void.class) builder.append("return ({}) ", type(returnClass));
+            builder.append("client.execute({}, path, requestBeanClass, requestBean, {});\n", variable(HTTPMethods.httpMethod(method)), variable(responseType));
+        }
 
         builder.append("}");
         return builder.build();
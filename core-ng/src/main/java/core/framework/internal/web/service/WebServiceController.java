@@ -3,6 +3,9 @@ package core.framework.internal.web.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static core.framework.log.Markers.errorCode;
 
 /**
@@ -15,4 +18,14 @@ public final class WebServiceController {
     public static void logDeprecation(String method) {
         LOGGER.warn(errorCode("DEPRECATION"), "web service has been deprecated, please notify consumer to update, method={}", method);
     }
+
+    // used by generated class, must be public, wait for async service, and throw original exception to be handled as sync service, e.g. NotFoundException
+    public static Object join(CompletableFuture<?> future) {
+        Throwable failure = future.handle((response, e) -> e).join();
+        if (failure == null) return future.join();
+        if (failure instanceof CompletionException && failure.getCause() != null) failure = failure.getCause();
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        throw new CompletionException(failure);
+    }
 }
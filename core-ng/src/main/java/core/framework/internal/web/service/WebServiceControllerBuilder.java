@@ -14,6 +14,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static core.framework.internal.asm.Literal.type;
 import static core.framework.internal.asm.Literal.variable;
@@ -76,14 +77,10 @@ public class WebServiceControllerBuilder<T> {
             }
         }
 
-        if (void.class == method.getReturnType()) {
-            builder.indent(1).append("delegate.{}(", method.getName());
-        } else {
-            builder.indent(1).append("{} response = delegate.{}(", type(method.getReturnType()), method.getName());
-        }
-        builder.appendCommaSeparatedValues(params).append(");\n");
+        boolean hasResponse = ResponseTypes.responseType(method) != void.class;
+        buildDelegateCall(builder, params, hasResponse);
 
-        if (void.class == method.getReturnType()) {
+        if (!hasResponse) {
             builder.indent(1).append("return {}.empty()", type(Response.class));
         } else {
             builder.indent(1).append("return {}.bean(response)", type(Response.class));
@@ -99,4 +96,18 @@ public class WebServiceControllerBuilder<T> {
         builder.append("}");
         return builder.build();
     }
+
+    // async service is waited within controller, so it's handled same as sync service
+    private void buildDelegateCall(CodeBuilder builder, List<String> params, boolean hasResponse) {
+        boolean async = ResponseTypes.isAsync(method);
+        if (async) {
+            builder.indent(1).append("{} future = delegate.{}(", type(CompletableFuture.class), method.getName());
+        } else if (hasResponse) {
+            builder.indent(1).append("{} response = delegate.{}(", type(method.getReturnType()), method.getName());
+        } else {
+            builder.indent(1).append("delegate.{}(", method.getName());
+        }
+        builder.appendCommaSeparatedValues(params).append(");\n");
+        if (async) builder.indent(1).append("Object response = {}.join(future);\n", type(WebServiceController.class));
+    }
 }
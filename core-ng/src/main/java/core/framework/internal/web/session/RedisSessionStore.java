@@ -2,39 +2,67 @@ package core.framework.internal.web.session;
 
 import core.framework.crypto.Hash;
 import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
 import core.framework.redis.Redis;
+import core.framework.redis.RedisPipeline;
 import core.framework.util.Lists;
 import core.framework.util.Maps;
+import core.framework.util.Sets;
 import core.framework.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static core.framework.log.Markers.errorCode;
 
 /**
+ * session is stored as hash, and for indexed fields, reverse index is stored as set of session keys, e.g. session-index:userId:{sha1(value)} => [session keys]
+ * index set expires with session, and stale members are verified and removed on invalidateByKey
+ *
  * @author neo
  */
 public class RedisSessionStore implements SessionStore {
-    private final Logger logger = LoggerFactory.getLogger(RedisSessionStore.class);
+    // get all values and refresh expiration of session and index sets in one round trip, index sets are not declared in KEYS, it only works with single redis instance
+    static final String GET_AND_REFRESH_SCRIPT = "local values = redis.call('hgetall', KEYS[1]) "
+            + "if #values == 0 then return values end "
+            + "redis.call('pexpire', KEYS[1], ARGV[1]) "
+            + "for i = 1, #values, 2 do "
+            + "for j = 2, #ARGV do "
+            + "if values[i] == ARGV[j] then redis.call('pexpire', 'session-index:' .. values[i] .. ':' .. redis.sha1hex(values[i + 1]), ARGV[1]) end "
+            + "end "
+            + "end "
+            + "return values";
 
+    private final Logger logger = LoggerFactory.getLogger(RedisSessionStore.class);
     private final Redis redis;
+    RedisScript script;
+    private Set<String> indexKeys = Set.of();
 
     public RedisSessionStore(Redis redis) {
         this.redis = redis;
     }
 
+    // index requires lua script to refresh index sets on load, so only supported by RedisImpl
+    public void indexKeys(Set<String> indexKeys) {
+        if (indexKeys.isEmpty()) return;
+        if (!(redis instanceof RedisImpl)) throw new Error("session index requires RedisImpl, redis=" + redis.getClass().getCanonicalName());
+        script = new RedisScript((RedisImpl) redis);
+        this.indexKeys = indexKeys;
+    }
+
     @Override
     public Map<String, String> getAndRefresh(String sessionId, String domain, Duration sessionTimeout) {
         String key = sessionKey(sessionId, domain);
         try {
-            Map<String, String> sessionValues = redis.hash().getAll(key);
+            Map<String, String> sessionValues = indexKeys.isEmpty() ? getAndRefreshSession(key, sessionTimeout) : getAndRefreshSessionAndIndex(key, sessionTimeout);
             if (sessionValues.isEmpty()) return null;
-            redis.expire(key, sessionTimeout);
             return sessionValues;
         } catch (RedisException e) {
             // gracefully handle invalid data in redis, either legacy old format value, or invalid value/key type inserted manually,
@@ -43,6 +71,31 @@ public class RedisSessionStore implements SessionStore {
         }
     }
 
+    // expire on not existed key is no-op, so both can be sent in one round trip
+    private Map<String, String> getAndRefreshSession(String key, Duration sessionTimeout) {
+        RedisPipeline pipeline = redis.pipeline();
+        CompletableFuture<Map<String, String>> sessionValues = pipeline.hashGetAll(key);
+        pipeline.expire(key, sessionTimeout);
+        pipeline.execute();
+        return sessionValues.join();
+    }
+
+    private Map<String, String> getAndRefreshSessionAndIndex(String key, Duration sessionTimeout) {
+        String[] arguments = new String[1 + indexKeys.size()];
+        arguments[0] = String.valueOf(sessionTimeout.toMillis());
+        int index = 1;
+        for (String indexKey : indexKeys) {
+            arguments[index] = indexKey;
+            index++;
+        }
+        Object[] values = (Object[]) script.eval(GET_AND_REFRESH_SCRIPT, new String[]{key}, arguments);
+        Map<String, String> sessionValues = Maps.newHashMapWithExpectedSize(values.length / 2);
+        for (int i = 0; i < values.length; i += 2) {
+            sessionValues.put(decode(values[i]), decode(values[i + 1]));
+        }
+        return sessionValues;
+    }
+
     @Override
     public void save(String sessionId, String domain, Map<String, String> values, Set<String> changedFields, Duration sessionTimeout) {
         String key = sessionKey(sessionId, domain);
@@ -54,9 +107,18 @@ public class RedisSessionStore implements SessionStore {
             if (value == null) deletedFields.add(changedSessionField);
             else updatedValues.put(changedSessionField, value);
         }
-        if (!deletedFields.isEmpty()) redis.hash().del(key, deletedFields.toArray(new String[0]));
-        if (!updatedValues.isEmpty()) redis.hash().multiSet(key, updatedValues);
-        redis.expire(key, sessionTimeout);
+        RedisPipeline pipeline = redis.pipeline();
+        if (!deletedFields.isEmpty()) pipeline.hashDel(key, deletedFields.toArray(new String[0]));
+        if (!updatedValues.isEmpty()) pipeline.hashMultiSet(key, updatedValues);
+        pipeline.expire(key, sessionTimeout);
+        for (Map.Entry<String, String> entry : updatedValues.entrySet()) {
+            if (indexKeys.contains(entry.getKey())) {
+                String indexKey = indexKey(entry.getKey(), entry.getValue());
+                pipeline.addToSet(indexKey, key);
+                pipeline.expire(indexKey, sessionTimeout);
+            }
+        }
+        pipeline.execute();
     }
 
     @Override
@@ -65,9 +127,13 @@ public class RedisSessionStore implements SessionStore {
         redis.del(key);
     }
 
-    // use naive solution, generally invalidate by key/value is used to kick out login user, it happens rarely and will be handled by message handler which is in background
     @Override
     public void invalidateByKey(String key, String value) {
+        if (indexKeys.contains(key)) {
+            invalidateByIndex(key, value);
+            return;
+        }
+        // use naive solution for not indexed key, generally invalidate by key/value is used to kick out login user, it happens rarely and will be handled by message handler which is in background
         redis.forEach("session:*", sessionKey -> {
             String valueInSession = redis.hash().get(sessionKey, key);
             if (Strings.equals(value, valueInSession)) {
@@ -76,8 +142,40 @@ public class RedisSessionStore implements SessionStore {
         });
     }
 
+    // index may contain stale session keys, e.g. value changed or session invalidated, so verify value before delete,
+    // and only remove checked members from index, to not lose session key added by concurrent save
+    private void invalidateByIndex(String key, String value) {
+        String indexKey = indexKey(key, value);
+        Set<String> sessionKeys = redis.set().members(indexKey);
+        if (sessionKeys.isEmpty()) return;
+
+        RedisPipeline pipeline = redis.pipeline();
+        Map<String, CompletableFuture<String>> valuesInSession = Maps.newHashMapWithExpectedSize(sessionKeys.size());
+        for (String sessionKey : sessionKeys) {
+            valuesInSession.put(sessionKey, pipeline.hashGet(sessionKey, key));
+        }
+        pipeline.execute();
+
+        Set<String> matchedSessionKeys = Sets.newHashSetWithExpectedSize(sessionKeys.size());
+        for (Map.Entry<String, CompletableFuture<String>> entry : valuesInSession.entrySet()) {
+            if (Strings.equals(value, entry.getValue().join())) matchedSessionKeys.add(entry.getKey());
+        }
+        if (!matchedSessionKeys.isEmpty()) pipeline.del(matchedSessionKeys.toArray(new String[0]));
+        pipeline.removeFromSet(indexKey, sessionKeys.toArray(new String[0]));
+        pipeline.execute();
+    }
+
+    private String decode(Object value) {
+        return new String((byte[]) value, StandardCharsets.UTF_8);
+    }
+
     // make sure sessionId can only be used for specific domain, as different webapp may share one session redis, this way to prevent session hijacking by manually reuse sessionId from one site to another
     String sessionKey(String sessionId, String domain) {
         return "session:" + Hash.sha256Hex(domain + ":" + sessionId);
     }
+
+    // not to use "session:" prefix, to not be scanned as session by invalidateByKey
+    String indexKey(String key, String value) {
+        return "session-index:" + key + ":" + Hash.sha1Hex(value);
+    }
 }
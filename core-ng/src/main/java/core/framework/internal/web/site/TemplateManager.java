@@ -4,6 +4,7 @@ import core.framework.internal.template.CDNManager;
 import core.framework.internal.template.HTMLTemplate;
 import core.framework.internal.template.HTMLTemplateBuilder;
 import core.framework.internal.template.TemplateContext;
+import core.framework.internal.template.TemplateOutput;
 import core.framework.internal.template.source.FileTemplateSource;
 import core.framework.util.Files;
 import core.framework.util.Maps;
@@ -32,12 +33,13 @@ public class TemplateManager {
         this.message = message;
     }
 
-    public String process(String templatePath, Object model, String language) {
+    // caller must release output after use
+    public TemplateOutput process(String templatePath, Object model, String language) {
         var watch = new StopWatch();
         try {
             HTMLTemplate template = get(templatePath, model.getClass(), language);
             TemplateContext context = new TemplateContext(model, cdnManager);
-            return template.process(context);
+            return template.render(context);
         } finally {
             logger.debug("process, templatePath={}, elapsed={}", templatePath, watch.elapsed());
         }
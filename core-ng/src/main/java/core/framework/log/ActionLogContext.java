@@ -50,4 +50,11 @@ public final class ActionLogContext {
         if (actionLog == null) return 1;    // be called without action context
         return actionLog.track(operation, elapsed, readEntries, writeEntries);
     }
+
+    // track multiple operations done in one call, e.g. redis pipeline
+    public static int track(String operation, long elapsed, int readEntries, int writeEntries, int operations) {
+        ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
+        if (actionLog == null) return operations;    // be called without action context
+        return actionLog.track(operation, elapsed, readEntries, writeEntries, operations);
+    }
 }
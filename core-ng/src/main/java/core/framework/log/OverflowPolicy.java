@@ -0,0 +1,12 @@
+package core.framework.log;
+
+/**
+ * what to do when log forwarder queue is full, e.g. log kafka is not available
+ *
+ * @author neo
+ */
+public enum OverflowPolicy {
+    DROP_NEWEST,    // discard message being appended, keep earlier messages
+    DROP_OLDEST,    // discard earliest queued messages to make room, keep latest messages
+    BLOCK           // block caller up to 1s until queue has room, then discard, it slows down app to prefer completeness of logs
+}
@@ -1,21 +1,48 @@
 package core.framework.module;
 
+import core.framework.http.HTTPClientBuilder;
 import core.framework.internal.inject.InjectValidator;
+import core.framework.internal.web.service.CircuitBreaker;
+import core.framework.internal.web.service.WebServiceClient;
 import core.framework.web.service.WebServiceClientInterceptor;
 import core.framework.web.service.WebServiceClientProxy;
 
+import java.time.Duration;
+import java.util.function.Consumer;
+
 /**
  * @author neo
  */
 public final class APIClientConfig {     // returned from APIConfig, must be public to be called
+    private final Class<?> serviceInterface;
     private final WebServiceClientProxy client;
+    private final WebServiceClient webServiceClient;
+    private boolean httpClientConfigured;
 
-    APIClientConfig(WebServiceClientProxy client) {
+    APIClientConfig(Class<?> serviceInterface, WebServiceClientProxy client, WebServiceClient webServiceClient) {
+        this.serviceInterface = serviceInterface;
         this.client = client;
+        this.webServiceClient = webServiceClient;
     }
 
     public void intercept(WebServiceClientInterceptor interceptor) {
         new InjectValidator(interceptor).validate();
         client.intercept(interceptor);
     }
+
+    // use dedicated http client (connection pool and dispatcher) for this service, to isolate from other services, e.g. maxConnections() or enableHTTP2(),
+    // builder starts with default api client settings, customization of shared api().httpClient() is NOT inherited, must be configured again here if needed
+    public void httpClient(Consumer<HTTPClientBuilder> config) {
+        if (httpClientConfigured) throw new Error("http client of api client is already configured, service=" + serviceInterface.getCanonicalName());
+        HTTPClientBuilder builder = APIConfig.defaultHTTPClientBuilder();
+        config.accept(builder);
+        webServiceClient.httpClient = builder.build();
+        httpClientConfigured = true;
+    }
+
+    // fail fast if failure rate of calls (http error or 5xx) within 10s window exceeds threshold, e.g. 0.5, and probe service after open duration
+    public void circuitBreaker(double failureRateThreshold, Duration openDuration) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) throw new Error("failureRateThreshold must be within (0, 1], value=" + failureRateThreshold);
+        webServiceClient.circuitBreaker = new CircuitBreaker(serviceInterface.getSimpleName(), failureRateThreshold, openDuration);
+    }
 }
@@ -34,6 +34,18 @@ import java.util.List;
  * @author neo
  */
 public class APIConfig extends Config {
+    // default value is for internal api call only, targeting for kube env (with short connect timeout and more retries)
+    static HTTPClientBuilder defaultHTTPClientBuilder() {
+        return HTTPClient.builder()
+                .userAgent(WebServiceClient.USER_AGENT)
+                .trustAll()
+                .connectTimeout(Duration.ofSeconds(2))
+                .timeout(Duration.ofSeconds(20))    // refer to: kube graceful shutdown period is 30s, db timeout is 15s
+                .keepAlive(Duration.ofMinutes(5))   // use longer keep alive timeout within cluster, to reduce connection creation overhead
+                .slowOperationThreshold(Duration.ofSeconds(10))
+                .maxRetries(5);
+    }
+
     private final Logger logger = LoggerFactory.getLogger(APIConfig.class);
     ModuleContext context;
     private HTTPClientBuilder httpClientBuilder;
@@ -44,15 +56,7 @@ public class APIConfig extends Config {
     @Override
     protected void initialize(ModuleContext context, String name) {
         this.context = context;
-        // default value is for internal api call only, targeting for kube env (with short connect timeout and more retries)
-        httpClientBuilder = HTTPClient.builder()
-                .userAgent(WebServiceClient.USER_AGENT)
-                .trustAll()
-                .connectTimeout(Duration.ofSeconds(2))
-                .timeout(Duration.ofSeconds(20))    // refer to: kube graceful shutdown period is 30s, db timeout is 15s
-                .keepAlive(Duration.ofMinutes(5))   // use longer keep alive timeout within cluster, to reduce connection creation overhead
-                .slowOperationThreshold(Duration.ofSeconds(10))
-                .maxRetries(5);
+        httpClientBuilder = defaultHTTPClientBuilder();
         writer = new RequestBeanWriter();
         reader = new ResponseBeanReader();
     }
@@ -84,12 +88,17 @@ public class APIConfig extends Config {
     }
 
     public <T> APIClientConfig client(Class<T> serviceInterface, String serviceURL) {
-        T client = createClient(serviceInterface, serviceURL);
+        WebServiceClient webServiceClient = webServiceClient(serviceInterface, serviceURL);
+        T client = createWebServiceClient(serviceInterface, webServiceClient);
         context.beanFactory.bind(serviceInterface, null, client);
-        return new APIClientConfig((WebServiceClientProxy) client);
+        return new APIClientConfig(serviceInterface, (WebServiceClientProxy) client, webServiceClient);
     }
 
     public <T> T createClient(Class<T> serviceInterface, String serviceURL) {
+        return createWebServiceClient(serviceInterface, webServiceClient(serviceInterface, serviceURL));
+    }
+
+    private WebServiceClient webServiceClient(Class<?> serviceInterface, String serviceURL) {
         logger.info("create web service client, interface={}, serviceURL={}", serviceInterface.getCanonicalName(), serviceURL);
         var validator = new WebServiceInterfaceValidator(serviceInterface, context.beanClassValidator);
         validator.requestBeanWriter = writer;
@@ -97,8 +106,7 @@ public class APIConfig extends Config {
         validator.validate();
 
         HTTPClient httpClient = getOrCreateHTTPClient();
-        var webServiceClient = new WebServiceClient(serviceURL, httpClient, writer, reader);
-        return createWebServiceClient(serviceInterface, webServiceClient);
+        return new WebServiceClient(serviceURL, httpClient, writer, reader);
     }
 
     <T> T createWebServiceClient(Class<T> serviceInterface, WebServiceClient webServiceClient) {
@@ -59,7 +59,7 @@ public class CacheConfig extends Config {
         }
         // maxLocalSize() can be configured before localCacheStore is created, so set max size at end
         if (maxLocalSize > 0 && localCacheStore != null) {
-            localCacheStore.maxSize = maxLocalSize;
+            localCacheStore.maxSize(maxLocalSize);
         }
     }
 
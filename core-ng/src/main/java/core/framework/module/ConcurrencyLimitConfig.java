@@ -0,0 +1,48 @@
+package core.framework.module;
+
+import core.framework.internal.module.ModuleContext;
+import core.framework.internal.web.http.ConcurrencyLimiter;
+import core.framework.web.rate.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author neo
+ */
+public final class ConcurrencyLimitConfig {
+    private final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitConfig.class);
+    private final ModuleContext context;
+
+    ConcurrencyLimitConfig(ModuleContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Set range of adaptive concurrency limit, default is 10 to 1000, limit starts from max and is adjusted by latency
+     *
+     * @param minLimit min limit of in-flight requests
+     * @param maxLimit max limit of in-flight requests
+     */
+    public void limit(int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) throw new Error("invalid concurrency limit, minLimit=" + minLimit + ", maxLimit=" + maxLimit);
+        logger.info("set concurrency limit, minLimit={}, maxLimit={}", minLimit, maxLimit);
+        limiter().limit(minLimit, maxLimit);
+    }
+
+    /**
+     * Set priority of requests by path prefix, first matched prefix wins, default priority is NORMAL
+     *
+     * @param pathPrefix path prefix, e.g. /ajax/report
+     * @param priority   priority of requests
+     */
+    public void priority(String pathPrefix, RequestPriority priority) {
+        limiter().priority(pathPrefix, priority);
+    }
+
+    private ConcurrencyLimiter limiter() {
+        if (context.httpServer.concurrencyLimiter == null) {
+            context.httpServer.concurrencyLimiter = new ConcurrencyLimiter();
+        }
+        return context.httpServer.concurrencyLimiter;
+    }
+}
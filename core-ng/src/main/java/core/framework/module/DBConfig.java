@@ -4,6 +4,7 @@ import core.framework.db.Database;
 import core.framework.db.IsolationLevel;
 import core.framework.db.Repository;
 import core.framework.internal.db.DatabaseImpl;
+import core.framework.internal.db.StatementCacheMetrics;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
@@ -32,10 +33,12 @@ public class DBConfig extends Config {
         this.context = context;
         this.name = name;
 
-        var database = new DatabaseImpl("db" + (name == null ? "" : "-" + name));
+        String databaseName = "db" + (name == null ? "" : "-" + name);
+        var database = new DatabaseImpl(databaseName);
         context.shutdownHook.add(ShutdownHook.STAGE_7, timeout -> database.close());
         context.backgroundTask().scheduleWithFixedDelay(database.pool::refresh, Duration.ofMinutes(10));
         context.collector.metrics.add(new PoolMetrics(database.pool));
+        context.collector.metrics.add(new StatementCacheMetrics(database.operation, databaseName));
         context.beanFactory.bind(Database.class, name, database);
         this.database = database;
     }
@@ -97,6 +100,11 @@ public class DBConfig extends Config {
         database.operation.batchSize = size;
     }
 
+    // max prepared statements cached per connection, 0 to disable
+    public void statementCacheSize(int size) {
+        database.operation.statementCacheSize = size;
+    }
+
     public void view(Class<?> viewClass) {
         if (url == null) throw new Error("db url must be configured first, name=" + name);
         database.view(viewClass);
@@ -105,6 +105,11 @@ public final class HTTPConfig extends Config {
         return new AccessConfig(context);
     }
 
+    // reject requests with 503 when in-flight requests exceed adaptive limit, to fail fast rather than queue under traffic spike
+    public ConcurrencyLimitConfig concurrencyLimit() {
+        return new ConcurrencyLimitConfig(context);
+    }
+
     public void gzip() {
         context.httpServer.gzip = true;
     }
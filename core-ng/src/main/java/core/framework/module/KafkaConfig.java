@@ -128,6 +128,13 @@ public class KafkaConfig extends Config {
         listener().poolSize = poolSize;
     }
 
+    // handle records with multiple workers per listener thread, records with same key (or same partition if no key) are handled in order,
+    // this is to increase throughput of slow io bound handlers without adding partitions, bulk handlers are not affected
+    public void concurrency(int concurrency) {
+        if (concurrency <= 0) throw new Error("concurrency must be greater than 0, value=" + concurrency);
+        listener().concurrency = concurrency;
+    }
+
     public void maxProcessTime(Duration maxProcessTime) {
         listener().maxProcessTime = maxProcessTime;
     }
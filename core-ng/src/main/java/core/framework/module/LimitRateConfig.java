@@ -2,20 +2,31 @@ package core.framework.module;
 
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
+import core.framework.internal.module.ShutdownHook;
+import core.framework.internal.redis.RedisHost;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.resource.PoolMetrics;
 import core.framework.internal.web.http.LimitRateInterceptor;
 import core.framework.internal.web.http.RateControl;
+import core.framework.internal.web.http.RedisRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
  * @author neo
  */
 public final class LimitRateConfig extends Config {
+    private final Logger logger = LoggerFactory.getLogger(LimitRateConfig.class);
+    private ModuleContext context;
     private boolean rateControlGroupAdded;
     private RateControl rateControl;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
+        this.context = context;
         rateControl = context.httpServer.handler.rateControl;
         context.httpServer.handler.interceptors.add(new LimitRateInterceptor(rateControl));
     }
@@ -31,4 +42,20 @@ public final class LimitRateConfig extends Config {
         rateControl.config(group, maxPermits, fillRate, unit);
         rateControlGroupAdded = true;
     }
+
+    // share rates of all instances via redis, local rates are used if redis is not available
+    public void redis(String host) {
+        logger.info("create redis rate limiter, host={}", host);
+        if (rateControl.redisRateLimiter != null) throw new Error("redis rate limiter is already configured, please remove duplicate config");
+
+        var redis = new RedisImpl("redis-rate");
+        redis.host = new RedisHost(host);
+        redis.timeout(Duration.ofMillis(100));      // fail fast to fall back to local rates, not to slow down requests
+        redis.slowOperationThreshold(Duration.ofMillis(50));
+        context.backgroundTask().scheduleWithFixedDelay(redis.pool::refresh, Duration.ofMinutes(5));
+        context.collector.metrics.add(new PoolMetrics(redis.pool));
+
+        context.shutdownHook.add(ShutdownHook.STAGE_7, timeout -> redis.close());
+        rateControl.redisRateLimiter = new RedisRateLimiter(redis, 100_000);
+    }
 }
@@ -4,11 +4,14 @@ import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.log.CollectStatTask;
 import core.framework.internal.log.appender.ConsoleAppender;
 import core.framework.internal.log.appender.KafkaAppender;
+import core.framework.internal.log.appender.KafkaAppenderMetrics;
 import core.framework.internal.log.appender.LogAppender;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
+import core.framework.log.OverflowPolicy;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 /**
@@ -16,6 +19,7 @@ import java.time.Duration;
  */
 public class LogConfig extends Config {
     private ModuleContext context;
+    private KafkaAppender kafkaAppender;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
@@ -32,6 +36,25 @@ public class LogConfig extends Config {
         context.startupHook.add(appender::start);
         context.shutdownHook.add(ShutdownHook.STAGE_8, appender::stop);
         context.collector.metrics.add(appender.producerMetrics);
+        context.collector.metrics.add(new KafkaAppenderMetrics(appender));
+        kafkaAppender = appender;
+    }
+
+    // max bytes of log messages queued in memory to be forwarded to log kafka, and policy when queue is full
+    public void kafkaQueue(long maxSizeInBytes, OverflowPolicy policy) {
+        KafkaAppender appender = kafkaAppender();
+        appender.maxQueueSize = maxSizeInBytes;
+        appender.overflowPolicy = policy;
+    }
+
+    // spill log messages to local dir if log kafka is not available, and forward them once it's back
+    public void spillToDisk(Path dir, long maxSizeInBytes) {
+        kafkaAppender().spill(dir, maxSizeInBytes);
+    }
+
+    private KafkaAppender kafkaAppender() {
+        if (kafkaAppender == null) throw new Error("log kafka appender is not configured, please use appendToKafka() first");
+        return kafkaAppender;
     }
 
     public void appender(LogAppender appender) {
@@ -1,6 +1,7 @@
 package core.framework.module;
 
 import core.framework.async.Task;
+import core.framework.internal.async.ThreadPools;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
@@ -150,5 +151,11 @@ public abstract class Module {
         context.collector.highMemUsageThreshold = threshold;
     }
 
+    // run http requests, executor tasks, scheduler jobs and kafka handlers (with kafka().concurrency()) on virtual threads, requires java 21+
+    // must be called before other configs, as thread pools are created during configuration
+    public void virtualThread() {
+        ThreadPools.enableVirtualThread();
+    }
+
     protected abstract void initialize();
 }
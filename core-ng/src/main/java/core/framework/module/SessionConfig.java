@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Set;
 
 /**
  * @author neo
@@ -19,6 +20,8 @@ import java.time.Duration;
 public class SessionConfig extends Config {
     private final Logger logger = LoggerFactory.getLogger(SessionConfig.class);
     private ModuleContext context;
+    private RedisSessionStore redisSessionStore;
+    private Set<String> indexKeys = Set.of();
 
     @Override
     protected void initialize(ModuleContext context, String name) {
@@ -26,6 +29,15 @@ public class SessionConfig extends Config {
         cookie("SessionId", null);
     }
 
+    @Override
+    protected void validate() {
+        // indexKeys() can be configured before redis session store is created, so set index keys at end
+        if (!indexKeys.isEmpty()) {
+            if (redisSessionStore == null) throw new Error("session index keys are only supported by redis session store, please remove indexKeys()");
+            redisSessionStore.indexKeys(indexKeys);
+        }
+    }
+
     public void timeout(Duration timeout) {
         context.httpServer.siteManager.sessionManager.timeout(timeout);
     }
@@ -56,6 +68,12 @@ public class SessionConfig extends Config {
         context.collector.metrics.add(new PoolMetrics(redis.pool));
 
         context.shutdownHook.add(ShutdownHook.STAGE_7, timeout -> redis.close());
-        context.httpServer.siteManager.sessionManager.store(new RedisSessionStore(redis));
+        redisSessionStore = new RedisSessionStore(redis);
+        context.httpServer.siteManager.sessionManager.store(redisSessionStore);
+    }
+
+    // maintain reverse index of session fields in redis, to make sessionContext.invalidate(key, value) not scan all sessions, e.g. userId
+    public void indexKeys(String... keys) {
+        indexKeys = Set.of(keys);
     }
 }
@@ -45,4 +45,6 @@ public interface Redis {
     RedisAdmin admin();
 
     RedisHyperLogLog hyperLogLog();
+
+    RedisPipeline pipeline();
 }
@@ -0,0 +1,46 @@
+package core.framework.redis;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * queue commands and send all in one round trip with execute(), returned futures are completed after execute()
+ *
+ * @author neo
+ */
+public interface RedisPipeline {
+    CompletableFuture<String> get(String key);
+
+    default CompletableFuture<Boolean> set(String key, String value, @Nullable Duration expiration) {
+        return set(key, value, expiration, false);
+    }
+
+    CompletableFuture<Boolean> set(String key, String value, @Nullable Duration expiration, boolean onlyIfAbsent);
+
+    void expire(String key, Duration expiration);
+
+    CompletableFuture<Long> del(String... keys);
+
+    CompletableFuture<Long> increaseBy(String key, long increment);
+
+    CompletableFuture<String> hashGet(String key, String field);
+
+    CompletableFuture<Map<String, String>> hashGetAll(String key);
+
+    void hashMultiSet(String key, Map<String, String> values);
+
+    CompletableFuture<Long> hashDel(String key, String... fields);
+
+    CompletableFuture<Long> addToSet(String key, String... values);
+
+    CompletableFuture<Set<String>> getSetMembers(String key);
+
+    CompletableFuture<Long> removeFromSet(String key, String... values);
+
+    int size();
+
+    void execute();
+}
@@ -0,0 +1,12 @@
+package core.framework.web.rate;
+
+/**
+ * priority of requests under concurrency limit, lower priority requests are rejected first
+ *
+ * @author neo
+ */
+public enum RequestPriority {
+    HIGH,       // e.g. checkout or login, only rejected when full limit is reached
+    NORMAL,
+    LOW         // e.g. report or export, rejected when half of limit is used
+}
@@ -0,0 +1,29 @@
+package core.framework.internal.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class ThreadPoolsTest {
+    @Test
+    void virtualThreadExecutor() throws ExecutionException, InterruptedException {
+        if (Runtime.version().feature() < 21) {
+            assertThatThrownBy(() -> ThreadPools.virtualThreadExecutor("test-virtual-thread-"))
+                    .isInstanceOf(Error.class)
+                    .hasMessageContaining("virtual thread is not supported");
+            return;
+        }
+        ExecutorService executor = ThreadPools.virtualThreadExecutor("test-virtual-thread-");
+        Future<?> future = executor.submit(() -> assertThat(Thread.currentThread().getName()).isEqualTo("test-virtual-thread-1"));
+        future.get();
+        executor.shutdown();
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -38,12 +39,6 @@ class LocalCacheStoreTest {
 
         TestCache retrievedValue = cacheStore.get("key1", null);
         assertThat(retrievedValue).isSameAs(value);
-
-        LocalCacheStore.CacheItem<?> item = cacheStore.caches.get("key1");
-        assertThat(item.hits).isEqualTo(1);
-
-        cacheStore.get("key1", null);
-        assertThat(item.hits).isEqualTo(2);
     }
 
     @Test
@@ -65,17 +60,52 @@ class LocalCacheStoreTest {
     }
 
     @Test
-    void cleanupWithEviction() {
-        cacheStore.maxSize = 1;
+    void putWithEviction() {
+        cacheStore.maxSize(1);
         cacheStore.put("k1", new TestCache(), Duration.ofHours(1), null);
         cacheStore.put("k2", new TestCache(), Duration.ofHours(1), null);
         cacheStore.put("k3", new TestCache(), Duration.ofHours(1), null);
+
+        assertThat(cacheStore.caches).containsOnlyKeys("k3");
+        assertThat(cacheStore.evictions).isEqualTo(2);
+    }
+
+    @Test
+    void putWithFrequencyAdmission() {
+        cacheStore.maxSize(2);
+        cacheStore.put("k1", new TestCache(), Duration.ofHours(1), null);
         cacheStore.get("k1", null);
-        cacheStore.get("k2", null);
-        cacheStore.get("k2", null);
+        cacheStore.get("k1", null);
+        cacheStore.get("k1", null);
+        cacheStore.put("k2", new TestCache(), Duration.ofHours(1), null);
+        cacheStore.put("k3", new TestCache(), Duration.ofHours(1), null);
 
-        cacheStore.cleanup();
-        assertThat(cacheStore.caches).containsOnlyKeys("k2");
+        // k2 was moved from window to probation, and lost to k1 which is more frequently used
+        assertThat(cacheStore.caches).containsOnlyKeys("k1", "k3");
+    }
+
+    @Test
+    void putAllWithEviction() {
+        cacheStore.maxSize(10);
+        List<CacheStore.Entry<TestCache>> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(new CacheStore.Entry<>("key" + i, new TestCache()));
+        }
+        cacheStore.putAll(values, Duration.ofMinutes(1), null);
+
+        assertThat(cacheStore.caches).hasSize(10);
+    }
+
+    @Test
+    void putWithSameKey() {
+        cacheStore.maxSize(1);
+        cacheStore.put("key1", new TestCache(), Duration.ofMinutes(1), null);
+        var value = new TestCache();
+        cacheStore.put("key1", value, Duration.ofMinutes(1), null);
+
+        assertThat(cacheStore.caches).hasSize(1);
+        assertThat(cacheStore.<TestCache>get("key1", null)).isSameAs(value);
+        assertThat(cacheStore.evictions).isZero();
     }
 
     @Test
@@ -0,0 +1,58 @@
+package core.framework.internal.cache;
+
+import core.framework.internal.cache.LocalCacheStore.CacheItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class TimerWheelTest {
+    private TimerWheel timerWheel;
+
+    @BeforeEach
+    void createTimerWheel() {
+        timerWheel = new TimerWheel(0);
+    }
+
+    @Test
+    void advance() {
+        var item1 = new CacheItem<>("key1", "value1", 1500);
+        var item2 = new CacheItem<>("key2", "value2", 90_000);
+        var item3 = new CacheItem<>("key3", "value3", 10_000_000_000L);
+        timerWheel.schedule(item1);
+        timerWheel.schedule(item2);
+        timerWheel.schedule(item3);
+
+        List<CacheItem<?>> expired = new ArrayList<>();
+        timerWheel.advance(1000, expired::add);
+        assertThat(expired).isEmpty();
+
+        timerWheel.advance(3000, expired::add);
+        assertThat(expired).containsExactly(item1);
+
+        timerWheel.advance(80_000, expired::add);   // item2 cascades from level 2 to level 1
+        assertThat(expired).containsExactly(item1);
+
+        timerWheel.advance(100_000, expired::add);
+        assertThat(expired).containsExactly(item1, item2);
+        assertThat(item3.nextInTimer).isNotNull();
+    }
+
+    @Test
+    void deschedule() {
+        var item = new CacheItem<>("key1", "value1", 1500);
+        timerWheel.schedule(item);
+        timerWheel.deschedule(item);
+        assertThat(item.nextInTimer).isNull();
+
+        List<CacheItem<?>> expired = new ArrayList<>();
+        timerWheel.advance(3000, expired::add);
+        assertThat(expired).isEmpty();
+    }
+}
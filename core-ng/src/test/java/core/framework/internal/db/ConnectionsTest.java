@@ -4,10 +4,12 @@ import core.framework.internal.resource.PoolItem;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author neo
@@ -35,4 +37,15 @@ class ConnectionsTest {
         Connections.checkConnectionState(connection, new SQLException("No operations allowed after statement closed", "S1009"));
         assertThat(connection.broken).isTrue();
     }
+
+    @Test
+    void clearStatementCacheIfBroken() {
+        PoolItem<Connection> connection = new PoolItem<>(null);
+        var cache = new StatementCache(10);
+        cache.put("sql", null, mock(PreparedStatement.class));
+        connection.attachment = cache;
+
+        Connections.checkConnectionState(connection, new SQLException("Communications link failure", "08S01"));
+        assertThat(cache.size()).isZero();
+    }
 }
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -74,6 +75,38 @@ class DatabaseImplTest {
         assertThat(views).isEmpty();
     }
 
+    @Test
+    void forEachWithView() {
+        insertRow(1, "string1", TestEnum.V1);
+        insertRow(2, "string2", TestEnum.V2);
+
+        List<EntityView> views = new ArrayList<>();
+        database.forEach("SELECT string_field as string_label, enum_field as enum_label FROM database_test ORDER BY id", EntityView.class, views::add);
+
+        assertThat(views).hasSize(2);
+        assertThat(views.get(0).stringField).isEqualTo("string1");
+        assertThat(views.get(1).enumField).isEqualTo(TestEnum.V2);
+    }
+
+    @Test
+    void forEachWithConsumerFailure() {
+        insertRow(1, "string1", TestEnum.V1);
+
+        assertThatThrownBy(() -> database.forEach("SELECT string_field as string_label, enum_field as enum_label FROM database_test", EntityView.class, view -> {
+            throw new Error("failed to process");
+        })).isInstanceOf(Error.class).hasMessage("failed to process");
+    }
+
+    @Test
+    void cacheStatement() {
+        insertRow(1, "string1", TestEnum.V1);
+        long hits = database.operation.statementCacheHits.sum();
+
+        assertThat(database.selectOne("SELECT string_field FROM database_test where id = ?", String.class, 1)).get().isEqualTo("string1");
+        assertThat(database.selectOne("SELECT string_field FROM database_test where id = ?", String.class, 1)).get().isEqualTo("string1");
+        assertThat(database.operation.statementCacheHits.sum()).isGreaterThan(hits);
+    }
+
     @Test
     void selectNullInt() {
         Optional<Integer> result = database.selectOne("SELECT max(id) FROM database_test", Integer.class);
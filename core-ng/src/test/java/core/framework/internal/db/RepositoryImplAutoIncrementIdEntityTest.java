@@ -13,6 +13,7 @@ import java.time.Month;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.chrono.ChronoZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalLong;
 
@@ -124,5 +125,11 @@ class RepositoryImplAutoIncrementIdEntityTest {
 
         long count = repository.count("enum_field = ?", TestEnum.V2);
         assertThat(count).isEqualTo(1);
+
+        Query<AutoIncrementIdEntity> query = repository.select();
+        query.orderBy("id");
+        List<AutoIncrementIdEntity> results = new ArrayList<>();
+        query.fetch(results::add);
+        assertThat(results).extracting(entity -> entity.stringField).containsExactly("string1", "string2");
     }
 }
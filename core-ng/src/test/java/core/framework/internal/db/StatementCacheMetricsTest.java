@@ -0,0 +1,37 @@
+package core.framework.internal.db;
+
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class StatementCacheMetricsTest {
+    private StatementCacheMetrics metrics;
+    private DatabaseOperation operation;
+
+    @BeforeEach
+    void createStatementCacheMetrics() {
+        operation = new DatabaseOperation(null);
+        metrics = new StatementCacheMetrics(operation, "db");
+    }
+
+    @Test
+    void collect() {
+        operation.statementCacheHits.add(3);
+        operation.statementCacheMisses.increment();
+
+        var stats = new Stats();
+        metrics.collect(stats);
+        assertThat(stats.stats)
+                .containsEntry("db_statement_cache_hits", 3.0d)
+                .containsEntry("db_statement_cache_misses", 1.0d);
+
+        stats = new Stats();
+        metrics.collect(stats);
+        assertThat(stats.stats).containsEntry("db_statement_cache_hits", 0.0d);
+    }
+}
@@ -0,0 +1,81 @@
+package core.framework.internal.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author neo
+ */
+class StatementCacheTest {
+    private StatementCache cache;
+
+    @BeforeEach
+    void createStatementCache() {
+        cache = new StatementCache(2);
+    }
+
+    @Test
+    void take() {
+        var statement = mock(PreparedStatement.class);
+        assertThat(cache.take("sql", null)).isNull();
+
+        cache.put("sql", null, statement);
+        assertThat(cache.take("sql", null)).isSameAs(statement);
+        assertThat(cache.take("sql", null)).isNull();
+    }
+
+    @Test
+    void takeWithDifferentGeneratedColumn() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        cache.put("sql", null, statement);
+
+        assertThat(cache.take("sql", "id")).isNull();
+        verify(statement).close();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() throws SQLException {
+        var statement1 = mock(PreparedStatement.class);
+        var statement2 = mock(PreparedStatement.class);
+        var statement3 = mock(PreparedStatement.class);
+        cache.put("sql1", null, statement1);
+        cache.put("sql2", null, statement2);
+        cache.put("sql1", null, cache.take("sql1", null));    // sql1 becomes most recently used
+
+        cache.put("sql3", null, statement3);
+        verify(statement2).close();
+        verify(statement1, never()).close();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.take("sql2", null)).isNull();
+    }
+
+    @Test
+    void putWithSameSQL() throws SQLException {
+        var statement1 = mock(PreparedStatement.class);
+        var statement2 = mock(PreparedStatement.class);
+        cache.put("sql", null, statement1);
+        cache.put("sql", null, statement2);
+
+        verify(statement1).close();
+        assertThat(cache.take("sql", null)).isSameAs(statement2);
+    }
+
+    @Test
+    void clear() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        cache.put("sql", null, statement);
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        verify(statement, never()).close();
+    }
+}
@@ -6,14 +6,21 @@ import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.LogManager;
 import core.framework.util.Strings;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,12 +28,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -125,4 +142,185 @@ class HTTPClientImplTest {
         HTTPResponse response = httpClient.execute(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
         assertThat(response.statusCode).isEqualTo(200);
     }
+
+    @Test
+    void executeAsync() {
+        Response httpResponse = new Response.Builder().request(new Request.Builder().url("http://localhost/uri").build())
+                .protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .body(ResponseBody.create(Strings.bytes("{}"), MediaType.get("application/json")))
+                .build();
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            // simulate dispatcher thread
+            var thread = new Thread(() -> {
+                try {
+                    callback.onResponse(call, httpResponse);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.start();
+            thread.join();
+            return null;
+        }).when(call).enqueue(any());
+
+        var logManager = new LogManager();
+        ActionLog actionLog = logManager.begin("begin", null);
+        try {
+            CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+            assertThat(future.join().text()).isEqualTo("{}");
+            assertThat(actionLog.track("http", 0, 0, 0)).isEqualTo(2);     // tracked by dispatcher thread
+        } finally {
+            logManager.end("end");
+        }
+    }
+
+    @Test
+    void executeAsyncWithFailure() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onFailure(call, new IOException("connection refused"));
+            return null;
+        }).when(call).enqueue(any());
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(() -> httpClient.executeAll(List.of(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"))))
+                .isInstanceOf(HTTPClientException.class)
+                .hasMessageContaining("connection refused");
+    }
+
+    @Test
+    void executeAsyncWithHedging() throws IOException {
+        hedge();
+        Call call = mock(Call.class);
+        Call hedgedCall = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call, hedgedCall);
+        var callback = new AtomicReference<Callback>();
+        doAnswer(invocation -> {
+            callback.set(invocation.getArgument(0));    // slow call, not respond until hedged call completed
+            return null;
+        }).when(call).enqueue(any());
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Callback.class).onResponse(hedgedCall, okResponse("{\"hedged\":true}"));
+            return null;
+        }).when(hedgedCall).enqueue(any());
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        assertThat(future.join().text()).isEqualTo("{\"hedged\":true}");
+        verify(call, timeout(1000)).cancel();    // cancel is called after future completed, on hedged call thread
+
+        callback.get().onResponse(call, okResponse("{}"));    // slower response is ignored
+        assertThat(future.join().text()).isEqualTo("{\"hedged\":true}");
+    }
+
+    @Test
+    void executeAsyncWithHedgingFailure() throws InterruptedException {
+        hedge();
+        Call call = mock(Call.class);
+        Call hedgedCall = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call, hedgedCall);
+        var callback = new AtomicReference<Callback>();
+        doAnswer(invocation -> {
+            callback.set(invocation.getArgument(0));
+            return null;
+        }).when(call).enqueue(any());
+        var hedgedCallFailed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Callback.class).onFailure(hedgedCall, new IOException("connection reset"));
+            hedgedCallFailed.countDown();
+            return null;
+        }).when(hedgedCall).enqueue(any());
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        hedgedCallFailed.await();
+        assertThat(future).isNotDone();     // only fail if both calls failed
+
+        callback.get().onFailure(call, new IOException("connection refused"));
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void download() throws IOException {
+        Response httpResponse = new Response.Builder().request(new Request.Builder().url("http://localhost/file").build())
+                .protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .body(ResponseBody.create(Strings.bytes("content"), MediaType.get("text/plain")))
+                .build();
+        Path file = Files.createTempFile("download", ".txt");
+        try {
+            HTTPResponse response = httpClient.downloadResponse(httpResponse, file);
+            assertThat(response.statusCode).isEqualTo(200);
+            assertThat(response.body).isEmpty();
+            assertThat(file).hasContent("content");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void downloadWithFailure() throws IOException {
+        Source source = new Source() {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public Timeout timeout() {
+                return Timeout.NONE;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Response httpResponse = new Response.Builder().request(new Request.Builder().url("http://localhost/file").build())
+                .protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .body(ResponseBody.create(Okio.buffer(source), MediaType.get("text/plain"), -1))
+                .build();
+        Path dir = Files.createTempDirectory("download");
+        Path file = dir.resolve("file.txt");
+        Files.writeString(file, "existing");
+        try {
+            assertThatThrownBy(() -> httpClient.downloadResponse(httpResponse, file))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("connection reset");
+            assertThat(file).hasContent("existing");
+            assertThat(dir.toFile().list()).containsExactly("file.txt");     // temp file is deleted
+        } finally {
+            Files.delete(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    void downloadWithErrorResponse() throws IOException {
+        Response httpResponse = new Response.Builder().request(new Request.Builder().url("http://localhost/file").build())
+                .protocol(Protocol.HTTP_1_1).code(404).message("Not Found")
+                .body(ResponseBody.create(Strings.bytes("not found"), MediaType.get("text/plain")))
+                .build();
+        Path file = Path.of("not-exist.txt");
+        HTTPResponse response = httpClient.downloadResponse(httpResponse, file);
+        assertThat(response.statusCode).isEqualTo(404);
+        assertThat(response.text()).isEqualTo("not found");
+        assertThat(file).doesNotExist();
+    }
+
+    private void hedge() {
+        httpClient.hedge(0.5);
+        for (int i = 0; i < 200; i++) {
+            httpClient.hedger.record(Duration.ofMillis(1).toNanos());    // fill first window to enable hedging
+        }
+    }
+
+    private Response okResponse(String body) {
+        return new Response.Builder().request(new Request.Builder().url("http://localhost/uri").build())
+                .protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .body(ResponseBody.create(Strings.bytes(body), MediaType.get("application/json")))
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package core.framework.internal.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class RequestHedgerTest {
+    @Test
+    void delayInNanos() {
+        var hedger = new RequestHedger(0.9);
+        for (int i = 0; i < 199; i++) {
+            hedger.record(100);
+        }
+        assertThat(hedger.delayInNanos()).isZero();
+
+        hedger.record(100);
+        assertThat(hedger.delayInNanos()).isBetween(100L, 127L);
+    }
+}
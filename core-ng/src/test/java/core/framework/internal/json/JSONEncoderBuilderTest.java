@@ -0,0 +1,93 @@
+package core.framework.internal.json;
+
+import core.framework.util.ClasspathResources;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JSONEncoderBuilderTest {
+    private JSONEncoderBuilder<TestBean> builder;
+    private JSONEncoder<TestBean> encoder;
+
+    @BeforeAll
+    void createEncoder() {
+        builder = new JSONEncoderBuilder<>(TestBean.class);
+        encoder = builder.build();
+    }
+
+    @Test
+    void sourceCode() {
+        String sourceCode = builder.builder.sourceCode();
+        assertThat(sourceCode).isEqualTo(ClasspathResources.text("json-test/encoder.java"));
+    }
+
+    @Test
+    void encode() throws IOException {
+        var bean = new TestBean();
+        bean.stringField = "value \"quoted\" \u0001 中文 😀";
+        bean.booleanField = Boolean.TRUE;
+        bean.intField = 1;
+        bean.longField = Long.MAX_VALUE;
+        bean.doubleField = 0.1 + 0.2;
+        bean.bigDecimalField = new BigDecimal("1.2300");
+        bean.dateField = LocalDate.of(2021, 3, 1);
+        bean.dateTimeField = LocalDateTime.of(2021, 3, 1, 10, 0, 0, 120000000);
+        bean.timeField = LocalTime.of(10, 1, 2, 123456789);
+        bean.zonedDateTimeField = ZonedDateTime.of(2021, 3, 1, 10, 0, 0, 0, ZoneId.of("America/New_York"));
+        bean.instantField = Instant.parse("2021-03-01T10:00:00.123456Z");
+        bean.enumField = TestBean.TestEnum.B;
+        bean.listField = Arrays.asList("v1", null);
+        bean.mapField = new LinkedHashMap<>();
+        bean.mapField.put("k1", "v1");
+        bean.mapField.put("k2", null);
+        bean.enumMapField = Map.of(TestBean.TestEnum.A, 1);
+        bean.listMapField = Map.of("k1", List.of("v1", "v2"));
+        bean.child = child("child");
+        bean.children = Arrays.asList(child("child1"), null);
+        bean.childMap = Map.of("k1", child("child2"));
+
+        assertThat(json(bean)).isEqualTo(JSONMapper.OBJECT_MAPPER.writeValueAsString(bean));
+    }
+
+    @Test
+    void encodeWithNullValues() throws IOException {
+        var bean = new TestBean();
+        assertThat(json(bean)).isEqualTo(JSONMapper.OBJECT_MAPPER.writeValueAsString(bean));
+        assertThat(json(null)).isEqualTo("null");
+    }
+
+    private TestBean.Child child(String value) {
+        var child = new TestBean.Child();
+        child.stringField = value;
+        child.enumListField = List.of(TestBean.TestEnum.A, TestBean.TestEnum.B);
+        return child;
+    }
+
+    private String json(TestBean bean) throws IOException {
+        var writer = new StringWriter();
+        try (var generator = JSONMapper.OBJECT_MAPPER.getFactory().createGenerator(writer)) {
+            encoder.encode(generator, bean);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package core.framework.internal.json;
+
+import core.framework.api.json.Property;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author neo
+ */
+public class TestBean {
+    @Property(name = "string")
+    public String stringField;
+
+    @Property(name = "boolean")
+    public Boolean booleanField;
+
+    @Property(name = "int")
+    public Integer intField;
+
+    @Property(name = "long")
+    public Long longField;
+
+    @Property(name = "double")
+    public Double doubleField;
+
+    @Property(name = "big_decimal")
+    public BigDecimal bigDecimalField;
+
+    @Property(name = "date")
+    public LocalDate dateField;
+
+    @Property(name = "date_time")
+    public LocalDateTime dateTimeField;
+
+    @Property(name = "time")
+    public LocalTime timeField;
+
+    @Property(name = "zoned_date_time")
+    public ZonedDateTime zonedDateTimeField;
+
+    @Property(name = "instant")
+    public Instant instantField;
+
+    @Property(name = "enum")
+    public TestEnum enumField;
+
+    @Property(name = "list")
+    public List<String> listField;
+
+    @Property(name = "map")
+    public Map<String, String> mapField;
+
+    @Property(name = "enum_map")
+    public Map<TestEnum, Integer> enumMapField;
+
+    @Property(name = "list_map")
+    public Map<String, List<String>> listMapField;
+
+    @Property(name = "child")
+    public Child child;
+
+    @Property(name = "children")
+    public List<Child> children;
+
+    @Property(name = "child_map")
+    public Map<String, Child> childMap;
+
+    public enum TestEnum {
+        @Property(name = "A1")
+        A,
+        @Property(name = "B1")
+        B
+    }
+
+    public static class Child {
+        @Property(name = "string")
+        public String stringField;
+
+        @Property(name = "enum_list")
+        public List<TestEnum> enumListField;
+    }
+}
@@ -98,6 +98,24 @@ class MessageListenerThreadTest {
                 .isEqualTo("key");
     }
 
+    @Test
+    void lanes() {
+        var record1 = new ConsumerRecord<>("topic", 0, 0, Strings.bytes("key1"), Strings.bytes("{}"));
+        var record2 = new ConsumerRecord<>("topic", 0, 1, Strings.bytes("key2"), Strings.bytes("{}"));
+        var record3 = new ConsumerRecord<>("topic", 0, 2, Strings.bytes("key1"), Strings.bytes("{}"));
+        var record4 = new ConsumerRecord<>("topic", 1, 3, (byte[]) null, Strings.bytes("{}"));
+        var record5 = new ConsumerRecord<>("topic", 1, 4, (byte[]) null, Strings.bytes("{}"));
+        List<List<ConsumerRecord<byte[], byte[]>>> lanes = thread.lanes(List.of(record1, record2, record3, record4, record5), 16);
+
+        assertThat(lanes).allSatisfy(lane -> {
+            if (lane.contains(record1)) assertThat(lane).containsSubsequence(record1, record3);
+            if (lane.contains(record4)) assertThat(lane).containsSubsequence(record4, record5);
+        });
+        assertThat(lanes).flatExtracting(lane -> lane).hasSize(5);
+
+        assertThat(thread.lanes(List.of(record1, record2, record3, record4, record5), 1)).hasSize(1);
+    }
+
     @Test
     void handle() throws Exception {
         var key = "key";
@@ -0,0 +1,53 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class OffsetTrackerTest {
+    private ConsumerRecord<byte[], byte[]> record1;
+    private ConsumerRecord<byte[], byte[]> record2;
+    private ConsumerRecord<byte[], byte[]> record3;
+    private ConsumerRecord<byte[], byte[]> record4;
+    private OffsetTracker tracker;
+
+    @BeforeEach
+    void createOffsetTracker() {
+        record1 = new ConsumerRecord<>("topic", 0, 10, null, null);
+        record2 = new ConsumerRecord<>("topic", 0, 11, null, null);
+        record3 = new ConsumerRecord<>("topic", 0, 13, null, null);     // offset gap, e.g. compacted
+        record4 = new ConsumerRecord<>("topic", 1, 5, null, null);
+        tracker = new OffsetTracker(List.of(record1, record2, record3, record4));
+    }
+
+    @Test
+    void committableOffsets() {
+        assertThat(tracker.committableOffsets()).isEmpty();
+
+        tracker.complete(record2);
+        tracker.complete(record4);
+        assertThat(tracker.committableOffsets())
+                .hasSize(1)
+                .containsEntry(new TopicPartition("topic", 1), new OffsetAndMetadata(6));
+
+        tracker.complete(record1);
+        assertThat(tracker.committableOffsets())
+                .hasSize(1)
+                .containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(12));
+
+        tracker.complete(record3);
+        assertThat(tracker.committableOffsets())
+                .hasSize(1)
+                .containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(14));
+        assertThat(tracker.committableOffsets()).isEmpty();
+    }
+}
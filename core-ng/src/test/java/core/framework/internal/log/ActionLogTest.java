@@ -107,4 +107,30 @@ class ActionLogTest {
         assertThat(stat.readEntries).isZero();
         assertThat(stat.writeEntries).isZero();
     }
+
+    @Test
+    void trackOperations() {
+        assertThat(log.track("redis", 1000, 2, 1, 3)).isEqualTo(3);
+        assertThat(log.track("redis", 1000, 1, 0)).isEqualTo(4);
+        PerformanceStat stat = log.performanceStats.get("redis");
+        assertThat(stat.readEntries).isEqualTo(3);
+        assertThat(stat.writeEntries).isEqualTo(1);
+    }
+
+    @Test
+    void ignoreUpdatesAfterEnded() {
+        log.end("end");
+        int events = log.events.size();
+
+        log.context("key", "value");
+        log.stat("stat", 1);
+        assertThat(log.track("http", 1000, 0, 0)).isZero();
+        log.process(new LogEvent("logger", null, LogLevel.WARN, "late warning", null, null));
+
+        assertThat(log.context).doesNotContainKey("key");
+        assertThat(log.stats).doesNotContainKey("stat");
+        assertThat(log.performanceStats).doesNotContainKey("http");
+        assertThat(log.events).hasSize(events);
+        assertThat(log.result()).isEqualTo("OK");
+    }
 }
@@ -2,6 +2,7 @@ package core.framework.internal.log.appender;
 
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.kafka.KafkaException;
+import core.framework.log.OverflowPolicy;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,9 +38,52 @@ class KafkaAppenderTest {
     @Test
     void onCompletion() {
         var callback = appender.new KafkaCallback();
-        appender.records.add(new ProducerRecord<>("topic", new byte[0]));
+        appender.enqueue(new ProducerRecord<>("topic", new byte[0]));
         callback.onCompletion(null, new KafkaException("unexpected"));
-        assertThat(appender.records).isEmpty();
+        assertThat(appender.records).hasSize(1);
+        assertThat(appender.failedRecords.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueueWithDropNewest() {
+        appender.maxQueueSize = 10;
+        appender.enqueue(new ProducerRecord<>("topic", new byte[6]));
+        appender.enqueue(new ProducerRecord<>("topic", new byte[6]));
+
+        assertThat(appender.records).hasSize(1);
+        assertThat(appender.queueSize.get()).isEqualTo(6);
+        assertThat(appender.droppedRecords.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueueWithDropOldest() {
+        appender.maxQueueSize = 10;
+        appender.overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        appender.enqueue(new ProducerRecord<>("topic", new byte[4]));
+        appender.enqueue(new ProducerRecord<>("topic", new byte[4]));
+        ProducerRecord<byte[], byte[]> record = new ProducerRecord<>("topic", new byte[6]);
+        appender.enqueue(record);
+
+        assertThat(appender.records).hasSize(2).contains(record);
+        assertThat(appender.queueSize.get()).isEqualTo(10);
+        assertThat(appender.droppedRecords.sum()).isEqualTo(1);
+
+        appender.enqueue(new ProducerRecord<>("topic", new byte[11]));  // larger than max queue size
+        assertThat(appender.records).hasSize(2);
+        assertThat(appender.droppedRecords.sum()).isEqualTo(2);
+    }
+
+    @Test
+    void enqueueWithBlock() {
+        appender.maxQueueSize = 10;
+        appender.overflowPolicy = OverflowPolicy.BLOCK;
+        appender.enqueue(new ProducerRecord<>("topic", new byte[10]));
+
+        Thread.currentThread().interrupt();     // not to wait for timeout
+        appender.enqueue(new ProducerRecord<>("topic", new byte[1]));
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(appender.records).hasSize(1);
+        assertThat(appender.droppedRecords.sum()).isEqualTo(1);
     }
 
     @Test
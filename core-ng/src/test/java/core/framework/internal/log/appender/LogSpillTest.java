@@ -0,0 +1,114 @@
+package core.framework.internal.log.appender;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class LogSpillTest {
+    private Path dir;
+    private LogSpill spill;
+
+    @BeforeEach
+    void createLogSpill() throws IOException {
+        dir = Files.createTempDirectory("log-spill");
+        spill = new LogSpill(dir, 100);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        spill.close();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        assertThat(spill.read()).isNull();
+
+        assertThat(spill.write(record("topic1", "value1"))).isTrue();
+        assertThat(spill.write(record("topic2", "value2"))).isTrue();
+        assertThat(spill.isEmpty()).isFalse();
+
+        List<ProducerRecord<byte[], byte[]>> records = spill.read();
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).topic()).isEqualTo("topic1");
+        assertThat(new String(records.get(1).value(), StandardCharsets.UTF_8)).isEqualTo("value2");
+
+        spill.delete();
+        assertThat(spill.isEmpty()).isTrue();
+        assertThat(spill.size).isZero();
+    }
+
+    @Test
+    void writeExceedsMaxSize() throws IOException {
+        assertThat(spill.write(record("topic", "v".repeat(80)))).isTrue();
+        assertThat(spill.write(record("topic", "v".repeat(20)))).isFalse();
+    }
+
+    @Test
+    void loadSegments() throws IOException {
+        spill.write(record("topic", "value1"));
+        spill.read();   // close current segment
+        spill.write(record("topic", "value2"));
+        spill.close();
+
+        spill = new LogSpill(dir, 100);
+        assertThat(spill.segments).hasSize(2);
+        assertThat(new String(spill.read().get(0).value(), StandardCharsets.UTF_8)).isEqualTo("value1");
+        spill.delete();
+        assertThat(new String(spill.read().get(0).value(), StandardCharsets.UTF_8)).isEqualTo("value2");
+    }
+
+    @Test
+    void readSegmentWithNegativeLength() throws IOException {
+        spill.write(record("topic", "value1"));
+        spill.close();
+        Path segment = spill.segments.firstEntry().getValue();
+        try (var output = new DataOutputStream(Files.newOutputStream(segment, StandardOpenOption.APPEND))) {
+            output.writeShort(5);
+            output.write("topic".getBytes(StandardCharsets.UTF_8));
+            output.writeInt(-1);
+        }
+
+        List<ProducerRecord<byte[], byte[]>> records = spill.read();
+        assertThat(records).hasSize(1);
+        assertThat(new String(records.get(0).value(), StandardCharsets.UTF_8)).isEqualTo("value1");
+    }
+
+    @Test
+    void readSegmentWithInvalidLength() throws IOException {
+        spill.write(record("topic", "value1"));
+        spill.close();
+        Path segment = spill.segments.firstEntry().getValue();
+        try (var output = new DataOutputStream(Files.newOutputStream(segment, StandardOpenOption.APPEND))) {
+            output.writeShort(5);
+            output.write("topic".getBytes(StandardCharsets.UTF_8));
+            output.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertThat(spill.read()).hasSize(1);
+    }
+
+    private ProducerRecord<byte[], byte[]> record(String topic, String value) {
+        return new ProducerRecord<>(topic, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package core.framework.internal.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author neo
+ */
+class RedisPipelineOperationTest extends AbstractRedisOperationTest {
+    @Test
+    void execute() {
+        response("$2\r\nv1\r\n+OK\r\n:1\r\n*2\r\n$2\r\nf1\r\n$2\r\nv2\r\n:1\r\n");
+        var pipeline = redis.pipeline();
+        CompletableFuture<String> value = pipeline.get("key1");
+        CompletableFuture<Boolean> updated = pipeline.set("key2", "v2", Duration.ofMinutes(1));
+        pipeline.expire("key1", Duration.ofMinutes(1));
+        CompletableFuture<Map<String, String>> hash = pipeline.hashGetAll("key3");
+        CompletableFuture<Long> deleted = pipeline.del("key4");
+        assertThat(pipeline.size()).isEqualTo(5);
+
+        pipeline.execute();
+        assertThat(pipeline.size()).isZero();
+        assertThat(value.join()).isEqualTo("v1");
+        assertThat(updated.join()).isTrue();
+        assertThat(hash.join()).containsOnly(entry("f1", "v2"));
+        assertThat(deleted.join()).isEqualTo(1);
+        assertRequestEquals("*2\r\n$3\r\nGET\r\n$4\r\nkey1\r\n"
+                + "*5\r\n$3\r\nSET\r\n$4\r\nkey2\r\n$2\r\nv2\r\n$2\r\nPX\r\n$5\r\n60000\r\n"
+                + "*3\r\n$7\r\nPEXPIRE\r\n$4\r\nkey1\r\n$5\r\n60000\r\n"
+                + "*2\r\n$7\r\nHGETALL\r\n$4\r\nkey3\r\n"
+                + "*2\r\n$3\r\nDEL\r\n$4\r\nkey4\r\n");
+    }
+
+    @Test
+    void executeWithSetAndHash() {
+        response("+OK\r\n:1\r\n*1\r\n$2\r\nv1\r\n:1\r\n");
+        var pipeline = redis.pipeline();
+        pipeline.hashMultiSet("key1", Map.of("f1", "v1"));
+        CompletableFuture<Long> added = pipeline.addToSet("key2", "v1");
+        CompletableFuture<Set<String>> members = pipeline.getSetMembers("key2");
+        CompletableFuture<Long> deleted = pipeline.hashDel("key1", "f2");
+        pipeline.execute();
+
+        assertThat(added.join()).isEqualTo(1);
+        assertThat(members.join()).containsOnly("v1");
+        assertThat(deleted.join()).isEqualTo(1);
+        assertRequestEquals("*4\r\n$5\r\nHMSET\r\n$4\r\nkey1\r\n$2\r\nf1\r\n$2\r\nv1\r\n"
+                + "*3\r\n$4\r\nSADD\r\n$4\r\nkey2\r\n$2\r\nv1\r\n"
+                + "*2\r\n$8\r\nSMEMBERS\r\n$4\r\nkey2\r\n"
+                + "*3\r\n$4\r\nHDEL\r\n$4\r\nkey1\r\n$2\r\nf2\r\n");
+    }
+
+    @Test
+    void executeWithError() {
+        response("-WRONGTYPE Operation against a key holding the wrong kind of value\r\n:2\r\n");
+        var pipeline = redis.pipeline();
+        CompletableFuture<Long> value = pipeline.increaseBy("key1", 1);
+        CompletableFuture<Long> deleted = pipeline.del("key2", "key3");
+
+        assertThatThrownBy(pipeline::execute)
+                .isInstanceOf(RedisException.class)
+                .hasMessageContaining("WRONGTYPE");
+        assertThatThrownBy(value::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RedisException.class);
+        assertThat(deleted.join()).isEqualTo(2);
+    }
+
+    @Test
+    void executeWithMismatchedReply() {
+        response("+OK\r\n*1\r\n$2\r\nf1\r\n:1\r\n");
+        var pipeline = redis.pipeline();
+        CompletableFuture<Long> deleted = pipeline.del("key1");
+        CompletableFuture<Map<String, String>> hash = pipeline.hashGetAll("key2");
+        CompletableFuture<Long> added = pipeline.addToSet("key3", "v1");
+
+        assertThatThrownBy(pipeline::execute)
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("unexpected length of array");
+        assertThatThrownBy(deleted::join).hasCauseInstanceOf(ClassCastException.class);
+        assertThatThrownBy(hash::join).hasCauseInstanceOf(Error.class);
+        assertThat(added.join()).isEqualTo(1);      // following replies are still read
+    }
+}
@@ -0,0 +1,19 @@
+package core.framework.internal.redis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class RedisScriptOperationTest extends AbstractRedisOperationTest {
+    @Test
+    void eval() {
+        response(":1\r\n");
+        Object result = new RedisScript(redis).eval("return 1", new String[]{"key"}, "arg");
+
+        assertThat(result).isEqualTo(1L);
+        assertRequestEquals("*5\r\n$4\r\nEVAL\r\n$8\r\nreturn 1\r\n$1\r\n1\r\n$3\r\nkey\r\n$3\r\narg\r\n");
+    }
+}
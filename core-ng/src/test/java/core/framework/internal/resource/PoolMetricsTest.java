@@ -34,6 +34,7 @@ class PoolMetricsTest {
 
         assertThat(stats.stats)
                 .containsEntry("pool_test_active_count", 1.0d)
-                .containsEntry("pool_test_total_count", 2.0d);
+                .containsEntry("pool_test_total_count", 2.0d)
+                .containsKeys("pool_test_wait_time_p99", "pool_test_wait_time_max", "pool_test_hold_time_p50", "pool_test_hold_time_max");
     }
 }
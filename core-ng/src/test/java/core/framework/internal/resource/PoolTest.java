@@ -6,6 +6,10 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
@@ -116,6 +120,69 @@ class PoolTest {
         assertThat(exception.errorCode()).isEqualTo("POOL_TIME_OUT");
     }
 
+    @Test
+    void borrowWithHandOff() throws Exception {
+        pool.size(0, 1);
+        pool.checkoutTimeout(Duration.ofSeconds(10));
+        PoolItem<TestPoolResource> item = pool.borrowItem();
+
+        var waiter = new CompletableFuture<PoolItem<TestPoolResource>>();
+        var thread = new Thread(() -> waiter.complete(pool.borrowItem()));
+        thread.start();
+        while (pool.waiters.isEmpty()) {
+            Thread.onSpinWait();
+        }
+        pool.returnItem(item);
+
+        assertThat(waiter.get(10, TimeUnit.SECONDS)).isSameAs(item);
+        assertThat(pool.idleItems).isEmpty();
+        assertThat(pool.size.get()).isEqualTo(1);
+    }
+
+    @Test
+    void borrowAfterBrokenItemReturned() throws Exception {
+        pool.size(0, 1);
+        pool.checkoutTimeout(Duration.ofSeconds(10));
+        PoolItem<TestPoolResource> item = pool.borrowItem();
+
+        var waiter = new CompletableFuture<PoolItem<TestPoolResource>>();
+        var thread = new Thread(() -> waiter.complete(pool.borrowItem()));
+        thread.start();
+        while (pool.waiters.isEmpty()) {
+            Thread.onSpinWait();
+        }
+        item.broken = true;
+        pool.returnItem(item);
+
+        PoolItem<TestPoolResource> newItem = waiter.get(10, TimeUnit.SECONDS);
+        assertThat(newItem).isNotSameAs(item);
+        assertThat(newItem.resource.closed).isFalse();
+        assertThat(pool.size.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentBorrowAndReturn() throws Exception {
+        pool.size(0, 4);
+        pool.checkoutTimeout(Duration.ofSeconds(10));
+        var executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = Lists.newArrayList();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    pool.returnItem(pool.borrowItem());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(pool.size.get()).isLessThanOrEqualTo(4);
+        assertThat(pool.activeCount()).isZero();
+        assertThat(pool.holdTime.snapshot().count).isEqualTo(16_000);
+    }
+
     @Test
     void close() {
         PoolItem<TestPoolResource> item = pool.borrowItem();
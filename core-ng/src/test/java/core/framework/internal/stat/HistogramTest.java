@@ -0,0 +1,46 @@
+package core.framework.internal.stat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class HistogramTest {
+    private Histogram histogram;
+
+    @BeforeEach
+    void createHistogram() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    void index() {
+        assertThat(Histogram.index(-1)).isZero();
+        assertThat(Histogram.index(3)).isEqualTo(3);
+        for (long value : new long[]{4, 5, 100, 1023, 1024, 1_000_000_000, Long.MAX_VALUE}) {
+            int index = Histogram.index(value);
+            assertThat(Histogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            assertThat(Histogram.upperBound(index - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    void snapshot() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count).isEqualTo(100);
+        assertThat(snapshot.max).isEqualTo(100_000);
+        assertThat(snapshot.percentile(0.5)).isBetween(50_000L, 62_500L);
+        assertThat(snapshot.percentile(0.99)).isBetween(99_000L, 100_000L);
+
+        snapshot = histogram.snapshot();
+        assertThat(snapshot.count).isZero();
+        assertThat(snapshot.max).isZero();
+        assertThat(snapshot.percentile(0.99)).isZero();
+    }
+}
@@ -0,0 +1,48 @@
+package core.framework.internal.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class TemplateOutputTest {
+    private TemplateOutput output;
+
+    @BeforeEach
+    void createTemplateOutput() {
+        output = new TemplateOutput();
+    }
+
+    @Test
+    void write() {
+        String text = "ascii, \u00fc, \u4e2d\u6587, \uD83D\uDE00, \uD800";
+        output.write("<p>".getBytes(StandardCharsets.UTF_8));
+        output.write(text);
+
+        assertThat(output.text()).isEqualTo("<p>" + new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        assertThat(output.size()).isEqualTo(3 + text.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void writeMultipleChunks() {
+        String text = "a".repeat(TemplateOutput.CHUNK_SIZE - 1) + "\u4e2d" + "b".repeat(TemplateOutput.CHUNK_SIZE);
+        output.write(text);
+        output.write(new byte[TemplateOutput.CHUNK_SIZE + 1]);
+
+        ByteBuffer[] buffers = output.buffers();
+        assertThat(buffers).hasSize(4);
+        assertThat(buffers[0].remaining()).isEqualTo(TemplateOutput.CHUNK_SIZE);
+        assertThat(buffers[3].remaining()).isEqualTo(output.size() - 3 * TemplateOutput.CHUNK_SIZE);
+        assertThat(output.text()).startsWith(text);
+
+        output.release();
+        assertThat(output.size()).isZero();
+        assertThat(output.buffers()).isEmpty();
+    }
+}
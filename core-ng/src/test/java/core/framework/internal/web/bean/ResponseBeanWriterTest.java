@@ -9,6 +9,8 @@ import core.framework.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
@@ -74,6 +76,19 @@ class ResponseBeanWriterTest {
         assertThat(bytes).isNotEmpty();
     }
 
+    @Test
+    void writeJSON() throws IOException {
+        var bean = new TestBean();
+        bean.intField = 5;
+        var stream = new ByteArrayOutputStream();
+        writer.writeJSON(Optional.of(bean), stream);
+        assertThat(stream.toByteArray()).isEqualTo(writer.toJSON(bean));
+
+        stream.reset();
+        writer.writeJSON(Optional.empty(), stream);
+        assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualTo("null");
+    }
+
     @Test
     void toJSONWithValidationError() {
         assertThatThrownBy(() -> writer.toJSON(new TestBean()))
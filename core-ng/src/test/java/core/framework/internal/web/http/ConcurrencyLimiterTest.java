@@ -0,0 +1,105 @@
+package core.framework.internal.web.http;
+
+import core.framework.web.rate.RequestPriority;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.StatusCodes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+class ConcurrencyLimiterTest {
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void createConcurrencyLimiter() {
+        limiter = new ConcurrencyLimiter();
+        limiter.limit(2, 10);
+    }
+
+    @Test
+    void acquire() {
+        for (int i = 0; i < 9; i++) {
+            assertThat(limiter.acquire(RequestPriority.NORMAL)).isTrue();
+        }
+        assertThat(limiter.acquire(RequestPriority.NORMAL)).isFalse();
+        assertThat(limiter.acquire(RequestPriority.LOW)).isFalse();
+        assertThat(limiter.acquire(RequestPriority.HIGH)).isTrue();
+        assertThat(limiter.acquire(RequestPriority.HIGH)).isFalse();
+
+        assertThat(limiter.inFlight).hasValue(10);
+        assertThat(limiter.rejectedRequests()).isEqualTo(3);
+        assertThat(limiter.rejectedRequests()).isZero();
+    }
+
+    @Test
+    void acquireWithExchange() {
+        var exchange = mock(HttpServerExchange.class);
+        when(exchange.getRequestPath()).thenReturn("/ajax/report");
+        limiter.priority("/ajax/report", RequestPriority.LOW);
+        limiter.inFlight.set(5);
+
+        assertThat(limiter.acquire(exchange)).isFalse();
+        verify(exchange).setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+        verify(exchange).endExchange();
+
+        limiter.inFlight.set(4);
+        assertThat(limiter.acquire(exchange)).isTrue();
+        verify(exchange).addExchangeCompleteListener(any());
+    }
+
+    @Test
+    void release() {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(RequestPriority.NORMAL);
+            limiter.release(startTime, startTime + 100_000_000);
+        }
+        assertThat(limiter.inFlight).hasValue(0);
+        assertThat(limiter.longLatency).isEqualTo(100_000_000);
+    }
+
+    @Test
+    void update() {
+        limiter.update(100, 10);
+        assertThat(limiter.longLatency).isEqualTo(100);
+        assertThat(limiter.limit()).isEqualTo(10);
+
+        limiter.update(300, 10);     // latency grows beyond tolerance, limit shrinks
+        assertThat(limiter.limit()).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.update(1000, 10);
+        }
+        double limit = limiter.limit;
+        assertThat(limit).isLessThan(5);
+
+        limiter.update(100, 1);      // not enough load, keep limit
+        assertThat(limiter.limit).isEqualTo(limit);
+
+        limiter.update(100, 4);      // latency recovered, limit grows
+        assertThat(limiter.limit).isGreaterThan(limit);
+    }
+
+    @Test
+    void priority() {
+        limiter.priority("/ajax/checkout", RequestPriority.HIGH);
+        limiter.priority("/ajax", RequestPriority.LOW);
+
+        assertThat(limiter.requestPriority("/ajax/checkout/1")).isEqualTo(RequestPriority.HIGH);
+        assertThat(limiter.requestPriority("/ajax/report")).isEqualTo(RequestPriority.LOW);
+        assertThat(limiter.requestPriority("/")).isEqualTo(RequestPriority.NORMAL);
+
+        assertThatThrownBy(() -> limiter.priority("/ajax", RequestPriority.HIGH))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("found duplicate priority path prefix");
+    }
+}
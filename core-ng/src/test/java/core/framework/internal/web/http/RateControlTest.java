@@ -1,12 +1,22 @@
 package core.framework.internal.web.http;
 
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
 import core.framework.web.exception.TooManyRequestsException;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -14,22 +24,41 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class RateControlTest {
     @Test
     void acquire() {
-        RateControl.Rate rate = new RateControl.Rate(1);
-        rate.lastUpdateTime = 100;
-        boolean result = rate.acquire(101, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(1);
-
-        result = rate.acquire(100, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
-
-        result = rate.acquire(101, 2, 1);
-        assertThat(result).isFalse();
-
-        result = rate.acquire(102, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
+        var rate = new RateControl.Rate(100);
+        assertThat(rate.acquire(101, 2, 1)).isTrue();
+        assertThat(rate.acquire(101, 2, 1)).isTrue();
+        assertThat(rate.acquire(101, 2, 1)).isFalse();
+
+        assertThat(rate.acquire(102, 2, 1)).isTrue();
+        assertThat(rate.acquire(102, 2, 1)).isFalse();
+
+        assertThat(rate.acquire(110, 2, 1)).isTrue();
+        assertThat(rate.acquire(110, 2, 1)).isTrue();
+        assertThat(rate.acquire(110, 2, 1)).isFalse();
+    }
+
+    @Test
+    void acquireWithInterval() {
+        var rate = new RateControl.Rate(0);
+        assertThat(rate.acquire(0, 1, 10)).isTrue();
+        assertThat(rate.acquire(5, 1, 10)).isFalse();
+        assertThat(rate.acquire(10, 1, 10)).isTrue();
+    }
+
+    @Test
+    void evict() {
+        var control = new RateControl(2);
+        control.config("group", 1, 1, TimeUnit.DAYS);
+        RateControl.RateConfig config = control.config.get("group");
+
+        assertThat(control.acquire("group", "10.0.0.1")).isTrue();
+        assertThat(control.acquire("group", "10.0.0.2")).isTrue();
+        assertThat(control.acquire("group", "10.0.0.3")).isTrue();
+        assertThat(config.rates).hasSize(2).containsKey("10.0.0.3");
+
+        config.rates.get("10.0.0.3").time.set(System.nanoTime() - 1);    // idle rate will be evicted first
+        config.eviction.evict(System.nanoTime());
+        assertThat(config.rates).hasSize(1).doesNotContainKey("10.0.0.3");
     }
 
     @Test
@@ -50,4 +79,18 @@ class RateControlTest {
                 .isInstanceOf(TooManyRequestsException.class)
                 .hasMessageContaining("exceeded");
     }
+
+    @Test
+    void acquireWithRedisFailure() {
+        var control = new RateControl(1);
+        control.config("group", 1, 1, TimeUnit.DAYS);
+        control.redisRateLimiter = new RedisRateLimiter(new RedisImpl("redis-rate"), 1);
+        RedisScript script = mock(RedisScript.class);
+        control.redisRateLimiter.script = script;
+        when(script.eval(anyString(), any(), any())).thenThrow(new UncheckedIOException(new IOException("read timed out")));
+
+        assertThat(control.acquire("group", "10.0.0.1")).isTrue();
+        assertThat(control.acquire("group", "10.0.0.1")).isFalse();
+        verify(script, times(1)).eval(anyString(), any(), any());   // skip redis after failure
+    }
 }
@@ -0,0 +1,90 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author neo
+ */
+class RedisRateLimiterTest {
+    private RedisRateLimiter limiter;
+    private RedisScript script;
+
+    @BeforeEach
+    void createRedisRateLimiter() {
+        limiter = new RedisRateLimiter(new RedisImpl("redis-rate"), 2);
+        script = mock(RedisScript.class);
+        limiter.script = script;
+    }
+
+    @Test
+    void acquireInBatch() {
+        var config = new RateControl.RateConfig(100, 1 / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        when(script.eval(anyString(), any(), eq("1000"), eq("100000"), eq("10"))).thenReturn(3L);
+
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 0)).isTrue();
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 1)).isTrue();
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 2)).isTrue();
+        verify(script, times(1)).eval(anyString(), any(), any());
+
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 3)).isTrue();
+        verify(script, times(2)).eval(anyString(), any(), any());
+    }
+
+    @Test
+    void acquireWithExpiredReservation() {
+        var config = new RateControl.RateConfig(100, 1 / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        when(script.eval(anyString(), any(), any())).thenReturn(2L);
+
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 0)).isTrue();
+        // reservation of 2 permits expires after 2ms
+        assertThat(limiter.acquire("group", "10.0.0.1", config, TimeUnit.MILLISECONDS.toNanos(2))).isTrue();
+        verify(script, times(2)).eval(anyString(), any(), any());
+    }
+
+    @Test
+    void acquireWhenDenied() {
+        var config = new RateControl.RateConfig(5, 1 / (double) TimeUnit.SECONDS.toNanos(1));
+        when(script.eval(anyString(), any(), eq("1000000"), eq("5000000"), eq("1"))).thenReturn(1L, 0L);
+
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 0)).isTrue();
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 1)).isFalse();
+        // denied result is kept for one interval
+        assertThat(limiter.acquire("group", "10.0.0.1", config, 2)).isFalse();
+        verify(script, times(2)).eval(anyString(), any(), any());
+    }
+
+    @Test
+    void available() {
+        assertThat(limiter.available(0)).isTrue();
+        limiter.unavailable(0, 10);
+        assertThat(limiter.available(5)).isFalse();
+        assertThat(limiter.available(10)).isTrue();
+    }
+
+    @Test
+    void evict() {
+        var config = new RateControl.RateConfig(100, 1 / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        when(script.eval(anyString(), any(), any())).thenReturn(10L);
+
+        limiter.acquire("group", "10.0.0.1", config, 0);
+        limiter.acquire("group", "10.0.0.2", config, 0);
+        limiter.acquire("group", "10.0.0.3", config, TimeUnit.MILLISECONDS.toNanos(20));
+        Map<String, RedisRateLimiter.Reservation> reservations = limiter.reservations.get("group");
+        assertThat(reservations).hasSize(1).containsKey("10.0.0.3");
+    }
+}
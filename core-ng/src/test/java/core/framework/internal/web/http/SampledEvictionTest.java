@@ -0,0 +1,56 @@
+package core.framework.internal.web.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class SampledEvictionTest {
+    @Test
+    void evictExpired() {
+        Map<String, Long> entries = new ConcurrentHashMap<>(Map.of("key1", 10L, "key2", 20L, "key3", 5L));
+        var eviction = new SampledEviction<>(entries, value -> value);
+
+        assertThat(eviction.evict(10)).isEqualTo(SampledEviction.SAMPLES);      // small map is sampled with wrap around
+        assertThat(entries).containsOnlyKeys("key2");
+    }
+
+    @Test
+    void evictEldest() {
+        Map<String, Long> entries = new ConcurrentHashMap<>(Map.of("key1", 10L, "key2", 20L, "key3", 5L));
+        var eviction = new SampledEviction<>(entries, value -> value);
+
+        eviction.evict(0);
+        assertThat(entries).containsOnlyKeys("key1", "key2");
+    }
+
+    @Test
+    void evictWithBoundedSamples() {
+        Map<String, Long> entries = new ConcurrentHashMap<>();
+        for (long i = 0; i < 100_000; i++) {
+            entries.put("10.0." + i, i + 1);
+        }
+        List<String> keys = new ArrayList<>(entries.keySet());
+        var eviction = new SampledEviction<>(entries, value -> value);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(eviction.evict(0)).isEqualTo(SampledEviction.SAMPLES);
+        }
+        assertThat(entries).hasSize(100_000 - 100);
+        // each eviction continues from where last one stopped, the 100th eviction samples entries after first 99 * 32 entries
+        assertThat(keys.subList(99 * SampledEviction.SAMPLES, 100 * SampledEviction.SAMPLES)).anyMatch(key -> !entries.containsKey(key));
+    }
+
+    @Test
+    void evictEmpty() {
+        var eviction = new SampledEviction<>(new ConcurrentHashMap<String, Long>(), value -> value);
+        assertThat(eviction.evict(0)).isZero();
+    }
+}
@@ -0,0 +1,56 @@
+package core.framework.internal.web.response;
+
+import io.undertow.io.Sender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author neo
+ */
+@ExtendWith(MockitoExtension.class)
+class BodyOutputStreamTest {
+    @Mock
+    Sender sender;
+    private ByteArrayOutputStream output;
+    private BodyOutputStream stream;
+
+    @BeforeEach
+    void createBodyOutputStream() {
+        output = new ByteArrayOutputStream();
+        stream = new BodyOutputStream(sender, () -> output);
+    }
+
+    @Test
+    void writeWithinOneChunk() throws IOException {
+        stream.write(new byte[100]);
+        stream.write('a');
+        stream.end();
+
+        var captor = ArgumentCaptor.forClass(ByteBuffer.class);
+        verify(sender).send(captor.capture());
+        assertThat(captor.getValue().remaining()).isEqualTo(101);
+        assertThat(output.size()).isZero();
+    }
+
+    @Test
+    void writeMultipleChunks() throws IOException {
+        stream.write(new byte[BodyOutputStream.CHUNK_SIZE * 2 + 10]);
+        assertThat(output.size()).isEqualTo(BodyOutputStream.CHUNK_SIZE * 2);
+
+        stream.end();
+        assertThat(output.size()).isEqualTo(BodyOutputStream.CHUNK_SIZE * 2 + 10);
+        verifyNoInteractions(sender);
+    }
+}
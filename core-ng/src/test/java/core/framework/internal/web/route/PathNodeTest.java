@@ -95,6 +95,71 @@ class PathNodeTest {
         assertThat(pathParams.get("url")).isEqualTo("path3/value/");
     }
 
+    @Test
+    void wildcardPathPatternWithTrailingSlash() {
+        URLHandler handler = root.register("/path1/:url(*)");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path1/", pathParams)).isSameAs(handler);
+        assertThat(pathParams.get("url")).isEqualTo("/");
+
+        assertThat(root.find("/path1", new PathParams())).isNull();
+    }
+
+    @Test
+    void wildcardPathPatternNotMatchRootPath() {
+        URLHandler handler = root.register("/:path(*)");
+        assertThat(root.find("/", new PathParams())).isNull();
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path1", pathParams)).isSameAs(handler);
+        assertThat(pathParams.get("path")).isEqualTo("path1");
+    }
+
+    @Test
+    void staticPathPatternsWithCommonPrefix() {
+        URLHandler handler1 = root.register("/path/:var1");
+        URLHandler handler2 = root.register("/path1/:var1");
+        URLHandler handler3 = root.register("/path12/:var1/path");
+        URLHandler handler4 = root.register("/pa/:var1");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path/value", pathParams)).isSameAs(handler1);
+        assertThat(pathParams.get("var1")).isEqualTo("value");
+        assertThat(root.find("/path1/value", new PathParams())).isSameAs(handler2);
+        assertThat(root.find("/path12/value/path", new PathParams())).isSameAs(handler3);
+        assertThat(root.find("/pa/value", new PathParams())).isSameAs(handler4);
+
+        assertThat(root.find("/path12/value", new PathParams())).isNull();
+        assertThat(root.find("/pat/value", new PathParams())).isNull();
+    }
+
+    @Test
+    void fallbackToDynamicPathPattern() {
+        URLHandler handler1 = root.register("/path1/path2/:var1");
+        URLHandler handler2 = root.register("/path1/:var1/path3");
+        URLHandler handler3 = root.register("/path1/:var1/:var2");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path1/path2/path3", pathParams)).isSameAs(handler1);
+        assertThat(pathParams.get("var1")).isEqualTo("path3");
+
+        pathParams = new PathParams();
+        assertThat(root.find("/path1/path2x/path3", pathParams)).isSameAs(handler2);
+        assertThat(pathParams.get("var1")).isEqualTo("path2x");
+
+        pathParams = new PathParams();
+        assertThat(root.find("/path1/path2/path3/", pathParams)).isNull();
+
+        pathParams = new PathParams();
+        assertThat(root.find("/path1/path2/value/", pathParams)).isNull();
+
+        pathParams = new PathParams();
+        assertThat(root.find("/path1/path/value", pathParams)).isSameAs(handler3);
+        assertThat(pathParams.get("var1")).isEqualTo("path");
+        assertThat(pathParams.get("var2")).isEqualTo("value");
+    }
+
     @Test
     void conflictDynamicPathPattern() {
         root.register("/path1/:var1/path2");
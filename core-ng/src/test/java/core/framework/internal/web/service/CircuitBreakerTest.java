@@ -0,0 +1,67 @@
+package core.framework.internal.web.service;
+
+import core.framework.web.service.RemoteServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author neo
+ */
+class CircuitBreakerTest {
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void createCircuitBreaker() {
+        circuitBreaker = new CircuitBreaker("TestWebService", 0.5, Duration.ofNanos(100));
+    }
+
+    @Test
+    void open() {
+        long now = circuitBreaker.window.get().start;
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.record(true, false, now);
+            circuitBreaker.record(false, false, now);
+        }
+        assertThatThrownBy(() -> circuitBreaker.acquire(now + 1))
+                .isInstanceOf(RemoteServiceException.class)
+                .hasMessageContaining("circuit is open");
+
+        // half open, only one probe is allowed
+        assertThat(circuitBreaker.acquire(now + 100)).isTrue();
+        assertThatThrownBy(() -> circuitBreaker.acquire(now + 100))
+                .isInstanceOf(RemoteServiceException.class);
+
+        circuitBreaker.record(false, true, now + 101);
+        assertThatThrownBy(() -> circuitBreaker.acquire(now + 102))
+                .isInstanceOf(RemoteServiceException.class);
+
+        assertThat(circuitBreaker.acquire(now + 201)).isTrue();
+        circuitBreaker.record(true, true, now + 202);
+        assertThat(circuitBreaker.acquire(now + 203)).isFalse();
+    }
+
+    @Test
+    void notOpenWithFewCalls() {
+        long now = circuitBreaker.window.get().start;
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.record(false, false, now);
+        }
+        assertThat(circuitBreaker.acquire(now)).isFalse();
+    }
+
+    @Test
+    void resetWindow() {
+        long now = circuitBreaker.window.get().start;
+        for (int i = 0; i < 19; i++) {
+            circuitBreaker.record(false, false, now);
+        }
+        circuitBreaker.record(false, false, now + Duration.ofSeconds(10).toNanos());
+        assertThat(circuitBreaker.window.get().calls.get()).isEqualTo(1);
+        assertThat(circuitBreaker.acquire(now)).isFalse();
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -79,6 +80,17 @@ class WebServiceClientBuilderTest {
         verify(webServiceClient).execute(HTTPMethod.PATCH, "/test/1", TestWebService.TestRequest.class, request, void.class);
     }
 
+    @Test
+    void getAsync() {
+        doCallRealMethod().when(webServiceClient).logCallWebService(anyString());
+        var expectedResponse = new TestWebService.TestResponse();
+        when(webServiceClient.executeAsync(HTTPMethod.GET, "/async/test/1", null, null, TestWebService.TestResponse.class))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        TestWebService.TestResponse response = client.getAsync(1).join();
+        assertThat(response).isSameAs(expectedResponse);
+    }
+
     @Test
     void buildPath() {
         var builder = new CodeBuilder();
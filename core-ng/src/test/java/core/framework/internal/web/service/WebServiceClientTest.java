@@ -3,6 +3,7 @@ package core.framework.internal.web.service;
 import core.framework.api.http.HTTPStatus;
 import core.framework.http.ContentType;
 import core.framework.http.HTTPClient;
+import core.framework.http.HTTPClientException;
 import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
@@ -21,7 +22,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +32,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -205,4 +210,54 @@ class WebServiceClientTest {
                 && "http://localhost/api".equals(request.uri)));
         verify(interceptor).onResponse(response);
     }
+
+    @Test
+    void executeAsync() {
+        when(httpClient.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(new HTTPResponse(200, Map.of(), null)));
+        CompletableFuture<Object> future = webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class);
+        assertThat(future.join()).isNull();
+    }
+
+    @Test
+    void executeWithCircuitBreaker() {
+        webServiceClient.circuitBreaker = new CircuitBreaker("TestWebService", 0.5, Duration.ofMinutes(1));
+        when(httpClient.execute(any())).thenReturn(new HTTPResponse(503, Map.of(), new byte[0]));
+        for (int i = 0; i < 20; i++) {
+            assertThatThrownBy(() -> webServiceClient.execute(HTTPMethod.PUT, "/test/1", null, null, void.class))
+                    .isInstanceOf(RemoteServiceException.class)
+                    .satisfies(e -> assertThat(((RemoteServiceException) e).errorCode()).isEqualTo("REMOTE_SERVICE_ERROR"));
+        }
+        assertThatThrownBy(() -> webServiceClient.execute(HTTPMethod.PUT, "/test/1", null, null, void.class))
+                .isInstanceOf(RemoteServiceException.class)
+                .satisfies(e -> assertThat(((RemoteServiceException) e).errorCode()).isEqualTo("CIRCUIT_BREAKER_OPEN"));
+    }
+
+    @Test
+    void executeAsyncWithProbeFailedSynchronously() {
+        webServiceClient.circuitBreaker = new CircuitBreaker("TestWebService", 0.5, Duration.ZERO);     // send probe right after circuit opened
+        doReturn(CompletableFuture.completedFuture(new HTTPResponse(503, Map.of(), new byte[0]))).when(httpClient).executeAsync(any());
+        for (int i = 0; i < 20; i++) {
+            webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class);
+        }
+
+        doThrow(new HTTPClientException("uri is invalid", "INVALID_URL", null)).when(httpClient).executeAsync(any());
+        CompletableFuture<Object> future = webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class);
+        assertThatThrownBy(future::join).hasCauseInstanceOf(HTTPClientException.class);
+
+        doReturn(CompletableFuture.completedFuture(new HTTPResponse(200, Map.of(), null))).when(httpClient).executeAsync(any());
+        assertThat(webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class).join()).isNull();     // failed probe is recorded, next probe is allowed
+    }
+
+    @Test
+    void executeAsyncWithOpenCircuitBreaker() {
+        webServiceClient.circuitBreaker = new CircuitBreaker("TestWebService", 0.5, Duration.ofMinutes(1));
+        when(httpClient.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(new HTTPResponse(503, Map.of(), new byte[0])));
+        for (int i = 0; i < 20; i++) {
+            webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class);
+        }
+        CompletableFuture<Object> future = webServiceClient.executeAsync(HTTPMethod.PUT, "/test/1", null, null, void.class);
+        assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(RemoteServiceException.class)
+                .hasMessageContaining("circuit is open");
+    }
 }
@@ -14,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -120,6 +121,21 @@ class WebServiceControllerBuilderTest {
         assertThat(bean).isEmpty();
     }
 
+    @Test
+    void getAsync() throws Exception {
+        when(request.pathParam("id")).thenReturn("1");
+
+        var builder = new WebServiceControllerBuilder<>(TestWebService.class, serviceImpl, TestWebService.class.getDeclaredMethod("getAsync", Integer.class));
+        Controller controller = builder.build();
+
+        String sourceCode = builder.builder.sourceCode();
+        assertThat(sourceCode).isEqualTo(ClasspathResources.text("webservice-test/test-webservice-controller-getAsync.java"));
+
+        Response response = controller.execute(request);
+        var bean = (TestWebService.TestResponse) ((BeanBody) ((ResponseImpl) response).body).bean;
+        assertThat(bean.intField).isEqualTo(3);
+    }
+
     public static class TestWebServiceImpl implements TestWebService {
         @Override
         public TestResponse search(TestSearchRequest request) {
@@ -164,5 +180,14 @@ class WebServiceControllerBuilderTest {
         public Optional<TestResponse> deprecated(Integer id) {
             return Optional.empty();
         }
+
+        @Override
+        public CompletableFuture<TestResponse> getAsync(Integer id) {
+            assertThat(id).isEqualTo(1);
+
+            TestResponse response = new TestResponse();
+            response.intField = 3;
+            return CompletableFuture.completedFuture(response);
+        }
     }
 }
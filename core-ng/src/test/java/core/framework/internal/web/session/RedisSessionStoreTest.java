@@ -1,8 +1,12 @@
 package core.framework.internal.web.session;
 
 import core.framework.internal.redis.RedisException;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.redis.RedisScript;
 import core.framework.redis.Redis;
-import core.framework.redis.RedisHash;
+import core.framework.redis.RedisPipeline;
+import core.framework.redis.RedisSet;
+import core.framework.util.Strings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,10 +16,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -26,7 +39,7 @@ class RedisSessionStoreTest {
     @Mock
     Redis redis;
     @Mock
-    RedisHash redisHash;
+    RedisPipeline pipeline;
     private RedisSessionStore store;
 
     @BeforeEach
@@ -42,11 +55,18 @@ class RedisSessionStoreTest {
                 .startsWith("session:");
     }
 
+    @Test
+    void indexKey() {
+        assertThat(store.indexKey("userId", "someUserId"))
+                .doesNotContain("someUserId")
+                .startsWith("session-index:userId:");
+    }
+
     @Test
     void getAndRefreshWithRedisDown() {
         // redis shutdown in the middle
-        when(redis.hash()).thenReturn(redisHash);
-        when(redisHash.getAll(anyString())).thenThrow(new UncheckedIOException(new IOException("unexpected end of stream")));
+        when(redis.pipeline()).thenReturn(pipeline);
+        doThrow(new UncheckedIOException(new IOException("unexpected end of stream"))).when(pipeline).execute();
 
         assertThatThrownBy(() -> store.getAndRefresh("sessionId", "localhost", Duration.ofMinutes(30)))
                 .isInstanceOf(UncheckedIOException.class);
@@ -55,8 +75,64 @@ class RedisSessionStoreTest {
     @Test
     void getAndRefreshWithInvalidRedisData() {
         // session value in redis is invalid
-        when(redis.hash()).thenReturn(redisHash);
-        when(redisHash.getAll(anyString())).thenThrow(new RedisException("WRONGTYPE Operation against a key holding the wrong kind of value"));
+        when(redis.pipeline()).thenReturn(pipeline);
+        doThrow(new RedisException("WRONGTYPE Operation against a key holding the wrong kind of value")).when(pipeline).execute();
         assertThat(store.getAndRefresh("sessionId", "localhost", Duration.ofMinutes(30))).isNull();
     }
+
+    @Test
+    void getAndRefreshWithIndex() {
+        store = new RedisSessionStore(mock(RedisImpl.class));
+        store.indexKeys(Set.of("userId"));
+        store.script = mock(RedisScript.class);
+        when(store.script.eval(eq(RedisSessionStore.GET_AND_REFRESH_SCRIPT), any(String[].class), eq("1800000"), eq("userId")))
+                .thenReturn(new Object[]{Strings.bytes("userId"), Strings.bytes("user1")});
+
+        assertThat(store.getAndRefresh("sessionId", "localhost", Duration.ofMinutes(30))).containsExactly(Map.entry("userId", "user1"));
+    }
+
+    @Test
+    void indexKeysWithoutRedisImpl() {
+        assertThatThrownBy(() -> store.indexKeys(Set.of("userId")))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("requires RedisImpl");
+    }
+
+    @Test
+    void saveWithIndex() {
+        RedisImpl redis = mock(RedisImpl.class);
+        store = new RedisSessionStore(redis);
+        store.indexKeys(Set.of("userId"));
+        when(redis.pipeline()).thenReturn(pipeline);
+
+        store.save("sessionId", "localhost", Map.of("userId", "user1"), Set.of("userId", "deleted"), Duration.ofMinutes(30));
+
+        String sessionKey = store.sessionKey("sessionId", "localhost");
+        String indexKey = store.indexKey("userId", "user1");
+        verify(pipeline).hashDel(sessionKey, "deleted");
+        verify(pipeline).hashMultiSet(sessionKey, Map.of("userId", "user1"));
+        verify(pipeline).addToSet(indexKey, sessionKey);
+        verify(pipeline).expire(indexKey, Duration.ofMinutes(30));
+        verify(pipeline).execute();
+    }
+
+    @Test
+    void invalidateByKeyWithIndex() {
+        RedisImpl redis = mock(RedisImpl.class);
+        store = new RedisSessionStore(redis);
+        store.indexKeys(Set.of("userId"));
+        RedisSet redisSet = mock(RedisSet.class);
+        when(redis.set()).thenReturn(redisSet);
+        String indexKey = store.indexKey("userId", "user1");
+        when(redisSet.members(indexKey)).thenReturn(Set.of("session:1", "session:2"));
+        when(redis.pipeline()).thenReturn(pipeline);
+        when(pipeline.hashGet("session:1", "userId")).thenReturn(CompletableFuture.completedFuture("user1"));
+        when(pipeline.hashGet("session:2", "userId")).thenReturn(CompletableFuture.completedFuture("user2"));     // stale index
+
+        store.invalidateByKey("userId", "user1");
+
+        verify(pipeline).del("session:1");
+        verify(pipeline).removeFromSet(eq(indexKey), any());
+        verify(redis, never()).forEach(anyString(), any());
+    }
 }
@@ -35,6 +35,7 @@ class ActionLogContextTest {
 
         assertThat(ActionLogContext.track("db", 100)).isEqualTo(1);
         assertThat(ActionLogContext.track("db", 100)).isEqualTo(2);
+        assertThat(ActionLogContext.track("redis", 100, 0, 0, 3)).isEqualTo(3);
 
         logManager.end("end");
     }
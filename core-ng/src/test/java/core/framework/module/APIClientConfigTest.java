@@ -1,6 +1,8 @@
 package core.framework.module;
 
+import core.framework.internal.web.service.TestWebService;
 import core.framework.internal.web.service.TestWebServiceClientInterceptor;
+import core.framework.internal.web.service.WebServiceClient;
 import core.framework.web.service.WebServiceClientProxy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -17,11 +23,13 @@ import static org.mockito.Mockito.verify;
 class APIClientConfigTest {
     @Mock
     WebServiceClientProxy proxy;
+    private WebServiceClient webServiceClient;
     private APIClientConfig config;
 
     @BeforeEach
     void createAPIClientConfig() {
-        config = new APIClientConfig(proxy);
+        webServiceClient = new WebServiceClient("http://localhost", null, null, null);
+        config = new APIClientConfig(TestWebService.class, proxy, webServiceClient);
     }
 
     @Test
@@ -30,4 +38,24 @@ class APIClientConfigTest {
         config.intercept(interceptor);
         verify(proxy).intercept(interceptor);
     }
+
+    @Test
+    void httpClient() {
+        config.httpClient(builder -> builder.maxConnections(16).enableHTTP2());
+        assertThat(webServiceClient.httpClient).isNotNull();
+
+        assertThatThrownBy(() -> config.httpClient(builder -> builder.maxConnections(32)))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("already configured");
+    }
+
+    @Test
+    void circuitBreaker() {
+        config.circuitBreaker(0.5, Duration.ofSeconds(10));
+        assertThat(webServiceClient.circuitBreaker).isNotNull();
+
+        assertThatThrownBy(() -> config.circuitBreaker(0, Duration.ofSeconds(10)))
+                .isInstanceOf(Error.class)
+                .hasMessageContaining("failureRateThreshold");
+    }
 }
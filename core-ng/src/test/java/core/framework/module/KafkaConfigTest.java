@@ -30,4 +30,10 @@ class KafkaConfigTest {
         assertThatThrownBy(() -> config.validate())
                 .hasMessageContaining("no producer/consumer added");
     }
+
+    @Test
+    void concurrency() {
+        assertThatThrownBy(() -> config.concurrency(0))
+                .hasMessageContaining("concurrency must be greater than 0");
+    }
 }
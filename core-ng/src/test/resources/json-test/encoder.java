@@ -0,0 +1,185 @@
+public class JSONEncoder$TestBean implements core.framework.internal.json.JSONEncoder {
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName1 = new com.fasterxml.jackson.core.io.SerializedString("string");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName2 = new com.fasterxml.jackson.core.io.SerializedString("boolean");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName3 = new com.fasterxml.jackson.core.io.SerializedString("int");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName4 = new com.fasterxml.jackson.core.io.SerializedString("long");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName5 = new com.fasterxml.jackson.core.io.SerializedString("double");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName6 = new com.fasterxml.jackson.core.io.SerializedString("big_decimal");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName7 = new com.fasterxml.jackson.core.io.SerializedString("date");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName8 = new com.fasterxml.jackson.core.io.SerializedString("date_time");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName9 = new com.fasterxml.jackson.core.io.SerializedString("time");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName10 = new com.fasterxml.jackson.core.io.SerializedString("zoned_date_time");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName11 = new com.fasterxml.jackson.core.io.SerializedString("instant");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName12 = new com.fasterxml.jackson.core.io.SerializedString("enum");
+
+    private final com.fasterxml.jackson.core.io.SerializedString[] enumValuesTestEnum13 = core.framework.internal.json.JSONEncoderHelper.enumValues(core.framework.internal.json.TestBean.TestEnum.class);
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName14 = new com.fasterxml.jackson.core.io.SerializedString("list");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName16 = new com.fasterxml.jackson.core.io.SerializedString("map");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName18 = new com.fasterxml.jackson.core.io.SerializedString("enum_map");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName20 = new com.fasterxml.jackson.core.io.SerializedString("list_map");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName22 = new com.fasterxml.jackson.core.io.SerializedString("child");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName24 = new com.fasterxml.jackson.core.io.SerializedString("enum_list");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName26 = new com.fasterxml.jackson.core.io.SerializedString("children");
+
+    private final com.fasterxml.jackson.core.io.SerializedString fieldName28 = new com.fasterxml.jackson.core.io.SerializedString("child_map");
+
+    private void encodeListString15(com.fasterxml.jackson.core.JsonGenerator generator, java.util.List list) throws java.io.IOException {
+        generator.writeStartArray();
+        for (java.util.Iterator iterator = list.iterator(); iterator.hasNext(); ) {
+            java.lang.String value = (java.lang.String) iterator.next();
+            core.framework.internal.json.JSONEncoderHelper.write(generator, value);
+        }
+        generator.writeEndArray();
+    }
+
+    private void encodeMapStringString17(com.fasterxml.jackson.core.JsonGenerator generator, java.util.Map map) throws java.io.IOException {
+        generator.writeStartObject();
+        for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();
+            generator.writeFieldName((String) entry.getKey());
+            java.lang.String value = (java.lang.String) entry.getValue();
+            core.framework.internal.json.JSONEncoderHelper.write(generator, value);
+        }
+        generator.writeEndObject();
+    }
+
+    private void encodeMapTestEnumInteger19(com.fasterxml.jackson.core.JsonGenerator generator, java.util.Map map) throws java.io.IOException {
+        generator.writeStartObject();
+        for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();
+            generator.writeFieldName(this.enumValuesTestEnum13[((core.framework.internal.json.TestBean.TestEnum) entry.getKey()).ordinal()]);
+            java.lang.Integer value = (java.lang.Integer) entry.getValue();
+            core.framework.internal.json.JSONEncoderHelper.write(generator, value);
+        }
+        generator.writeEndObject();
+    }
+
+    private void encodeMapStringList21(com.fasterxml.jackson.core.JsonGenerator generator, java.util.Map map) throws java.io.IOException {
+        generator.writeStartObject();
+        for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();
+            generator.writeFieldName((String) entry.getKey());
+            java.util.List value = (java.util.List) entry.getValue();
+            if (value == null) generator.writeNull();
+            else encodeListString15(generator, value);
+        }
+        generator.writeEndObject();
+    }
+
+    private void encodeListTestEnum25(com.fasterxml.jackson.core.JsonGenerator generator, java.util.List list) throws java.io.IOException {
+        generator.writeStartArray();
+        for (java.util.Iterator iterator = list.iterator(); iterator.hasNext(); ) {
+            core.framework.internal.json.TestBean.TestEnum value = (core.framework.internal.json.TestBean.TestEnum) iterator.next();
+            if (value == null) generator.writeNull();
+            else generator.writeString(this.enumValuesTestEnum13[value.ordinal()]);
+        }
+        generator.writeEndArray();
+    }
+
+    private void encodeChild23(com.fasterxml.jackson.core.JsonGenerator generator, core.framework.internal.json.TestBean.Child bean) throws java.io.IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(this.fieldName1);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.stringField);
+        generator.writeFieldName(this.fieldName24);
+        if (bean.enumListField == null) generator.writeNull();
+        else encodeListTestEnum25(generator, bean.enumListField);
+        generator.writeEndObject();
+    }
+
+    private void encodeListChild27(com.fasterxml.jackson.core.JsonGenerator generator, java.util.List list) throws java.io.IOException {
+        generator.writeStartArray();
+        for (java.util.Iterator iterator = list.iterator(); iterator.hasNext(); ) {
+            core.framework.internal.json.TestBean.Child value = (core.framework.internal.json.TestBean.Child) iterator.next();
+            if (value == null) generator.writeNull();
+            else encodeChild23(generator, value);
+        }
+        generator.writeEndArray();
+    }
+
+    private void encodeMapStringChild29(com.fasterxml.jackson.core.JsonGenerator generator, java.util.Map map) throws java.io.IOException {
+        generator.writeStartObject();
+        for (java.util.Iterator iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iterator.next();
+            generator.writeFieldName((String) entry.getKey());
+            core.framework.internal.json.TestBean.Child value = (core.framework.internal.json.TestBean.Child) entry.getValue();
+            if (value == null) generator.writeNull();
+            else encodeChild23(generator, value);
+        }
+        generator.writeEndObject();
+    }
+
+    private void encodeTestBean0(com.fasterxml.jackson.core.JsonGenerator generator, core.framework.internal.json.TestBean bean) throws java.io.IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(this.fieldName1);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.stringField);
+        generator.writeFieldName(this.fieldName2);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.booleanField);
+        generator.writeFieldName(this.fieldName3);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.intField);
+        generator.writeFieldName(this.fieldName4);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.longField);
+        generator.writeFieldName(this.fieldName5);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.doubleField);
+        generator.writeFieldName(this.fieldName6);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.bigDecimalField);
+        generator.writeFieldName(this.fieldName7);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.dateField);
+        generator.writeFieldName(this.fieldName8);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.dateTimeField);
+        generator.writeFieldName(this.fieldName9);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.timeField);
+        generator.writeFieldName(this.fieldName10);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.zonedDateTimeField);
+        generator.writeFieldName(this.fieldName11);
+        core.framework.internal.json.JSONEncoderHelper.write(generator, bean.instantField);
+        generator.writeFieldName(this.fieldName12);
+        if (bean.enumField == null) generator.writeNull();
+        else generator.writeString(this.enumValuesTestEnum13[bean.enumField.ordinal()]);
+        generator.writeFieldName(this.fieldName14);
+        if (bean.listField == null) generator.writeNull();
+        else encodeListString15(generator, bean.listField);
+        generator.writeFieldName(this.fieldName16);
+        if (bean.mapField == null) generator.writeNull();
+        else encodeMapStringString17(generator, bean.mapField);
+        generator.writeFieldName(this.fieldName18);
+        if (bean.enumMapField == null) generator.writeNull();
+        else encodeMapTestEnumInteger19(generator, bean.enumMapField);
+        generator.writeFieldName(this.fieldName20);
+        if (bean.listMapField == null) generator.writeNull();
+        else encodeMapStringList21(generator, bean.listMapField);
+        generator.writeFieldName(this.fieldName22);
+        if (bean.child == null) generator.writeNull();
+        else encodeChild23(generator, bean.child);
+        generator.writeFieldName(this.fieldName26);
+        if (bean.children == null) generator.writeNull();
+        else encodeListChild27(generator, bean.children);
+        generator.writeFieldName(this.fieldName28);
+        if (bean.childMap == null) generator.writeNull();
+        else encodeMapStringChild29(generator, bean.childMap);
+        generator.writeEndObject();
+    }
+
+    public void encode(com.fasterxml.jackson.core.JsonGenerator generator, Object bean) throws java.io.IOException {
+        if (bean == null) generator.writeNull();
+        else encodeTestBean0(generator, (core.framework.internal.json.TestBean) bean);
+    }
+
+}
@@ -49,6 +49,17 @@ public class TestWebService$Client implements core.framework.internal.web.servic
         return (java.util.Optional) client.execute(core.framework.http.HTTPMethod.GET, path, requestBeanClass, requestBean, core.framework.util.Types.optional(core.framework.internal.web.service.TestWebService.TestResponse.class));
     }
 
+    public java.util.concurrent.CompletableFuture getAsync(java.lang.Integer param0) {
+        client.logCallWebService("core.framework.internal.web.service.TestWebService.getAsync(Integer)");
+        if (param0 == null) throw new Error("path param must not be null, name=id");
+        StringBuilder builder = new StringBuilder();
+        builder.append("/async/test/").append(core.framework.internal.web.service.PathParamHelper.toString(param0));
+        String path = builder.toString();
+        Class requestBeanClass = null;
+        Object requestBean = null;
+        return client.executeAsync(core.framework.http.HTTPMethod.GET, path, requestBeanClass, requestBean, core.framework.internal.web.service.TestWebService.TestResponse.class);
+    }
+
     public core.framework.internal.web.service.TestWebService.TestResponse getEnum(java.lang.Long param0, core.framework.internal.web.service.TestWebService.TestEnum param1) {
         client.logCallWebService("core.framework.internal.web.service.TestWebService.getEnum(Long, core.framework.internal.web.service.TestWebService$TestEnum)");
         if (param0 == null) throw new Error("path param must not be null, name=id");
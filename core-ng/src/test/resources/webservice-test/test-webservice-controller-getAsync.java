@@ -0,0 +1,15 @@
+public class TestWebServiceImpl$getAsync implements core.framework.web.Controller {
+    private final core.framework.internal.web.service.TestWebService delegate;
+
+    public TestWebServiceImpl$getAsync(core.framework.internal.web.service.TestWebService $1) {
+        this.delegate = $1;
+    }
+
+    public core.framework.web.Response execute(core.framework.web.Request request) throws Exception {
+        Integer $id = core.framework.internal.web.service.PathParamHelper.toInt(request.pathParam("id"));
+        java.util.concurrent.CompletableFuture future = delegate.getAsync($id);
+        Object response = core.framework.internal.web.service.WebServiceController.join(future);
+        return core.framework.web.Response.bean(response);
+    }
+
+}
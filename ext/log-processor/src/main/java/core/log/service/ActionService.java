@@ -2,16 +2,15 @@ package core.log.service;
 
 import core.framework.inject.Inject;
 import core.framework.log.message.ActionLogMessage;
-import core.framework.search.BulkIndexRequest;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
 import core.framework.search.ElasticSearchType;
 import core.framework.search.IndexRequest;
-import core.framework.util.Maps;
 import core.log.domain.ActionDocument;
 import core.log.domain.TraceDocument;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author neo
@@ -38,18 +37,15 @@ public class ActionService {
                 index(message, now);
             }
         } else {
-            Map<String, ActionDocument> actions = Maps.newHashMapWithExpectedSize(messages.size());
-            Map<String, TraceDocument> traces = Maps.newHashMap();
-            for (ActionLogMessage message : messages) {
-                actions.put(message.id, action(message));
-                if (message.traceLog != null) {
-                    traces.put(message.id, trace(message));
+            try (BulkIndexer<ActionDocument> actions = actionType.bulkIndexer(options("action", now));
+                 BulkIndexer<TraceDocument> traces = traceType.bulkIndexer(options("trace", now))) {
+                for (ActionLogMessage message : messages) {
+                    actions.index(message.id, action(message));
+                    if (message.traceLog != null) {
+                        traces.index(message.id, trace(message));
+                    }
                 }
             }
-            indexActions(actions, now);
-            if (!traces.isEmpty()) {
-                indexTraces(traces, now);
-            }
         }
     }
 
@@ -76,18 +72,10 @@ public class ActionService {
         traceType.index(request);
     }
 
-    private void indexActions(Map<String, ActionDocument> actions, LocalDate now) {
-        BulkIndexRequest<ActionDocument> request = new BulkIndexRequest<>();
-        request.index = indexService.indexName("action", now);
-        request.sources = actions;
-        actionType.bulkIndex(request);
-    }
-
-    private void indexTraces(Map<String, TraceDocument> traces, LocalDate now) {
-        BulkIndexRequest<TraceDocument> request = new BulkIndexRequest<>();
-        request.index = indexService.indexName("trace", now);
-        request.sources = traces;
-        traceType.bulkIndex(request);
+    private BulkIndexerOptions options(String name, LocalDate now) {
+        var options = new BulkIndexerOptions();
+        options.index = indexService.indexName(name, now);
+        return options;
     }
 
     private ActionDocument action(ActionLogMessage message) {
@@ -2,15 +2,14 @@ package core.log.service;
 
 import core.framework.inject.Inject;
 import core.framework.log.message.EventMessage;
-import core.framework.search.BulkIndexRequest;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
 import core.framework.search.ElasticSearchType;
 import core.framework.search.IndexRequest;
-import core.framework.util.Maps;
 import core.log.domain.EventDocument;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author neo
@@ -31,11 +30,13 @@ public class EventService {
                 index(message.id, event(message), now);
             }
         } else {
-            Map<String, EventDocument> events = Maps.newHashMapWithExpectedSize(messages.size());
-            for (EventMessage message : messages) {
-                events.put(message.id, event(message));
+            var options = new BulkIndexerOptions();
+            options.index = indexService.indexName("event", now);
+            try (BulkIndexer<EventDocument> indexer = eventType.bulkIndexer(options)) {
+                for (EventMessage message : messages) {
+                    indexer.index(message.id, event(message));
+                }
             }
-            index(events, now);
         }
     }
 
@@ -47,13 +48,6 @@ public class EventService {
         eventType.index(request);
     }
 
-    private void index(Map<String, EventDocument> events, LocalDate now) {
-        BulkIndexRequest<EventDocument> request = new BulkIndexRequest<>();
-        request.index = indexService.indexName("event", now);
-        request.sources = events;
-        eventType.bulkIndex(request);
-    }
-
     private EventDocument event(EventMessage message) {
         var document = new EventDocument();
         document.timestamp = message.date;
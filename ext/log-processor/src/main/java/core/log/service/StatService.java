@@ -2,15 +2,14 @@ package core.log.service;
 
 import core.framework.inject.Inject;
 import core.framework.log.message.StatMessage;
-import core.framework.search.BulkIndexRequest;
+import core.framework.search.BulkIndexer;
+import core.framework.search.BulkIndexerOptions;
 import core.framework.search.ElasticSearchType;
 import core.framework.search.IndexRequest;
-import core.framework.util.Maps;
 import core.log.domain.StatDocument;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author neo
@@ -35,21 +34,16 @@ public class StatService {
                 index(message.id, stat(message), now);
             }
         } else {
-            Map<String, StatDocument> stats = Maps.newHashMapWithExpectedSize(messages.size());
-            for (StatMessage message : messages) {
-                stats.put(message.id, stat(message));
+            var options = new BulkIndexerOptions();
+            options.index = indexService.indexName("stat", now);
+            try (BulkIndexer<StatDocument> indexer = statType.bulkIndexer(options)) {
+                for (StatMessage message : messages) {
+                    indexer.index(message.id, stat(message));
+                }
             }
-            index(stats, now);
         }
     }
 
-    private void index(Map<String, StatDocument> stats, LocalDate now) {
-        BulkIndexRequest<StatDocument> request = new BulkIndexRequest<>();
-        request.index = indexService.indexName("stat", now);
-        request.sources = stats;
-        statType.bulkIndex(request);
-    }
-
     private void index(String id, StatDocument stat, LocalDate now) {
         IndexRequest<StatDocument> request = new IndexRequest<>();
         request.index = indexService.indexName("stat", now);